@@ -20,13 +20,27 @@ function showMessage(message, isError = false) {
     outputDiv.className = isError ? 'message error' : 'message success';
 }
 
-async function apiCall(endpoint, method, data = null) {
+// Requisições com 'Idempotency-Key' podem ser reenviadas com segurança após uma falha de conexão:
+// o servidor devolve o resultado da primeira em vez de executá-la de novo.
+const TENTATIVAS_IDEMPOTENTES = 3;
+
+async function apiCall(endpoint, method, data = null, headers = {}) {
     try {
-        const response = await fetch(`${API_URL}${endpoint}`, {
-            method: method,
-            headers: { 'Content-Type': 'application/json' },
-            body: data ? JSON.stringify(data) : null
-        });
+        const tentativas = headers['Idempotency-Key'] ? TENTATIVAS_IDEMPOTENTES : 1;
+        let response;
+        for (let tentativa = 1; ; tentativa++) {
+            try {
+                response = await fetch(`${API_URL}${endpoint}`, {
+                    method: method,
+                    headers: { 'Content-Type': 'application/json', ...headers },
+                    body: data ? JSON.stringify(data) : null
+                });
+                break;
+            } catch (error) {
+                if (tentativa >= tentativas) throw error;
+                await new Promise(resolve => setTimeout(resolve, 500 * tentativa));
+            }
+        }
 
         if (response.status >= 500) {
             const errorData = await response.json();
@@ -52,7 +66,14 @@ async function loadMesas() {
     const mesasTableBody = document.querySelector('#mesasTable tbody');
     mesasTableBody.innerHTML = '<tr><td colspan="3">Buscando dados da API...</td></tr>';
 
-    const response = await apiCall('/mesas', 'GET');
+    // Com data e pessoas preenchidas, lista apenas as mesas livres (melhor encaixe primeiro).
+    const inicio = document.getElementById('dataHoraInicio').value;
+    const pessoas = document.getElementById('numPessoas').value;
+    const endpoint = inicio && pessoas
+        ? `/mesas/disponiveis?inicio=${encodeURIComponent(inicio + ':00')}&pessoas=${pessoas}`
+        : '/mesas';
+
+    const response = await apiCall(endpoint, 'GET');
     if (!response) return;
 
     if (response.ok) {
@@ -60,7 +81,9 @@ async function loadMesas() {
         mesasTableBody.innerHTML = '';
 
         if (mesas.length === 0) {
-            mesasTableBody.innerHTML = '<tr><td colspan="3">Nenhuma mesa cadastrada. Use o Painel Admin.</td></tr>';
+            mesasTableBody.innerHTML = endpoint === '/mesas'
+                ? '<tr><td colspan="3">Nenhuma mesa cadastrada. Use o Painel Admin.</td></tr>'
+                : '<tr><td colspan="3">Nenhuma mesa livre neste horário.</td></tr>';
         }
 
         mesas.forEach(mesa => {
@@ -76,6 +99,43 @@ async function loadMesas() {
     }
 }
 
+// -----------------------------------------------------------------
+// PAINEL AO VIVO DAS RESERVAS DE HOJE (Usado na página Admin)
+// -----------------------------------------------------------------
+
+function adicionarReservaDeHoje(tbody, reserva) {
+    // Mantém a tabela ordenada pelo horário de início.
+    const row = tbody.insertRow(Array.from(tbody.rows)
+        .filter(linha => linha.dataset.inicio && linha.dataset.inicio <= reserva.dataHoraInicio).length);
+    row.dataset.inicio = reserva.dataHoraInicio;
+    row.insertCell().textContent = `${reserva.dataHoraInicio.substring(11, 16)} - ${reserva.dataHoraFim.substring(11, 16)}`;
+    row.insertCell().textContent = `Mesa ${reserva.numeroMesa}`;
+    row.insertCell().textContent = `${reserva.nomeCliente} (${reserva.emailCliente})`;
+    row.insertCell().textContent = reserva.numeroPessoas;
+}
+
+function acompanharReservasDeHoje() {
+    const tbody = document.querySelector('#reservasHojeTable tbody');
+
+    // O EventSource reconecta sozinho; cada conexão começa com um snapshot completo do dia.
+    const stream = new EventSource(`${API_URL}/reservas/hoje/stream`);
+
+    stream.addEventListener('snapshot', event => {
+        const reservas = JSON.parse(event.data);
+        tbody.innerHTML = reservas.length === 0
+            ? '<tr><td colspan="4">Nenhuma reserva para hoje.</td></tr>'
+            : '';
+        reservas.forEach(reserva => adicionarReservaDeHoje(tbody, reserva));
+    });
+
+    stream.addEventListener('reserva', event => {
+        if (!tbody.rows[0] || !tbody.rows[0].dataset.inicio) {
+            tbody.innerHTML = '';
+        }
+        adicionarReservaDeHoje(tbody, JSON.parse(event.data));
+    });
+}
+
 // -----------------------------------------------------------------
 // LÓGICA DE INICIALIZAÇÃO DE PÁGINAS
 // -----------------------------------------------------------------
@@ -85,6 +145,8 @@ document.addEventListener('DOMContentLoaded', function() {
     // --- LÓGICA PARA A PÁGINA ADMIN (admin.html) ---
     if (currentPath.includes('admin.html')) {
 
+        acompanharReservasDeHoje(); // Painel ao vivo (Server-Sent Events)
+
         // [EVENTO 1]: Cadastrar Usuário (POST /api/usuarios)
         document.getElementById('usuarioForm').addEventListener('submit', async function(e) {
             e.preventDefault();
@@ -122,6 +184,9 @@ document.addEventListener('DOMContentLoaded', function() {
 
         loadMesas(); // Carregamento inicial das mesas
 
+        // Corpo e Idempotency-Key da última reserva enviada.
+        let ultimaReserva = { corpo: null, chave: null };
+
         document.getElementById('reservaForm').addEventListener('submit', async function(e) {
             e.preventDefault();
 
@@ -132,13 +197,28 @@ document.addEventListener('DOMContentLoaded', function() {
                 numeroPessoas: parseInt(document.getElementById('numPessoas').value)
             };
 
-            const response = await apiCall('/reservas', 'POST', reservaData);
+            // A mesma chave é reutilizada enquanto o formulário não mudar (reenvios após falha de conexão).
+            const corpo = JSON.stringify(reservaData);
+            if (corpo !== ultimaReserva.corpo) {
+                ultimaReserva = { corpo: corpo, chave: crypto.randomUUID() };
+            }
+
+            const response = await apiCall('/reservas', 'POST', reservaData, { 'Idempotency-Key': ultimaReserva.chave });
             if (!response) return;
 
             if (response.status === 201) {
                 const data = await response.json();
-                const successMsg = `RESERVA SUCESSO! <br>ID da Reserva: ${data.id}. <br>Mesa: ${data.mesa.numeroMesa}. <br>Início: ${data.dataHoraInicio.substring(11, 16)} | Fim: ${data.dataHoraFim.substring(11, 16)}`;
+                const successMsg = `RESERVA SUCESSO! <br>Código da Reserva: ${data.codigo} (ID ${data.id}). <br>Mesa: ${data.numeroMesa}. <br>Início: ${data.dataHoraInicio.substring(11, 16)} | Fim: ${data.dataHoraFim.substring(11, 16)}`;
                 showMessage(successMsg, false);
+            } else if (response.status === 409 && response.headers.has('Retry-After')) {
+                // A reserva original (mesma Idempotency-Key) ainda está sendo processada.
+                showMessage(`Sua reserva ainda está sendo processada. Tente novamente em ${response.headers.get('Retry-After')} segundos.`, true);
+            } else if (response.status === 409) {
+                // Conflito: mostra as alternativas livres devolvidas pela API, sem novas tentativas às cegas.
+                const conflito = await response.json();
+                const horarios = conflito.horariosLivres.map(h => h.substring(11, 16)).join(', ') || 'nenhum';
+                const outrasMesas = conflito.mesasLivres.map(m => `${m.numeroMesa} (${m.capacidade} lugares)`).join(', ') || 'nenhuma';
+                showMessage(`${conflito.mensagem} <br>Horários livres nesta mesa: ${horarios}. <br>Mesas livres neste horário: ${outrasMesas}.`, true);
             }
         });
 
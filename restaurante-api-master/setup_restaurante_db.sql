@@ -8,8 +8,59 @@
 CREATE DATABASE IF NOT EXISTS restaurante_db;
 USE restaurante_db;
 
--- 2. DDL DE TABELAS MANUAIS
--- Tabela de Auditoria: Criada manualmente para ser usada pelo Trigger de auditoria.
+-- 2. DDL DAS TABELAS
+-- Tabelas das entidades JPA: no perfil 'prod' (ddl-auto=none) o esquema é mantido apenas por este
+-- script, e a aplicação não o inspeciona nem altera na subida. Os tipos seguem o mapeamento das
+-- classes @Entity (o perfil padrão, com ddl-auto=update, gera as mesmas tabelas).
+CREATE TABLE IF NOT EXISTS grupos_usuarios (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nome VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nome VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    senha VARCHAR(255) NOT NULL,
+    grupo_id BIGINT NOT NULL,
+    CONSTRAINT fk_usuarios_grupo FOREIGN KEY (grupo_id) REFERENCES grupos_usuarios (id)
+);
+
+CREATE TABLE IF NOT EXISTS mesas (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    numero_mesa INT NOT NULL UNIQUE,
+    capacidade INT NOT NULL,
+    zona VARCHAR(50) -- Mesas da mesma zona podem ser unidas (NULL: não combinável).
+);
+
+-- ID atribuído pela API a partir de reservas_seq (sem AUTO_INCREMENT, ver abaixo).
+CREATE TABLE IF NOT EXISTS reservas (
+    id BIGINT NOT NULL PRIMARY KEY,
+    codigo INT,
+    usuario_id BIGINT NOT NULL,
+    mesa_id BIGINT NOT NULL,
+    data_hora_inicio DATETIME(6) NOT NULL,
+    data_hora_fim DATETIME(6) NOT NULL,
+    numero_pessoas INT NOT NULL,
+    CONSTRAINT fk_reservas_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id),
+    CONSTRAINT fk_reservas_mesa FOREIGN KEY (mesa_id) REFERENCES mesas (id)
+);
+
+-- Arquivo de reservas antigas (movidas de 'reservas' em lotes pela API, ver reserva.arquivamento.*).
+-- Sem chaves estrangeiras: o histórico não depende de usuários e mesas ainda existirem.
+CREATE TABLE IF NOT EXISTS reservas_arquivo (
+    id BIGINT NOT NULL PRIMARY KEY,
+    codigo INT,
+    usuario_id BIGINT NOT NULL,
+    mesa_id BIGINT NOT NULL,
+    data_hora_inicio DATETIME(6) NOT NULL,
+    data_hora_fim DATETIME(6) NOT NULL,
+    numero_pessoas INT NOT NULL,
+    arquivada_em DATETIME(6) NOT NULL
+);
+
+-- Tabelas auxiliares (auditoria, sequência de IDs e contador de códigos).
+-- Tabela de Auditoria: Histórico do antigo trigger de auditoria (novas alterações vão para o log da API).
 CREATE TABLE IF NOT EXISTS auditoria_usuarios (
                                                   id INT AUTO_INCREMENT PRIMARY KEY,
                                                   id_usuario_afetado INT,
@@ -20,6 +71,28 @@ CREATE TABLE IF NOT EXISTS auditoria_usuarios (
     alterado_por VARCHAR(100)
     );
 
+-- Sequência de IDs de reservas (emulada em tabela, pois o MySQL não possui SEQUENCE).
+-- Justificativa: A entidade Reserva deixou o AUTO_INCREMENT para permitir INSERTs em lote
+-- (JDBC batching); a API reserva blocos de 50 IDs por leitura (otimizador pooled-lo).
+-- O valor é realinhado acima do maior ID existente, sem nunca retroceder.
+CREATE TABLE IF NOT EXISTS reservas_seq (
+    next_val BIGINT
+);
+INSERT INTO reservas_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM reservas
+WHERE NOT EXISTS (SELECT 1 FROM reservas_seq);
+UPDATE reservas_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM reservas),
+                        (SELECT COALESCE(MAX(id), 0) + 1 FROM reservas_arquivo));
+
+-- Contador do código de reserva por dia (usado pela API e por func_gerar_proximo_id_reserva).
+-- Justificativa: Substitui o COUNT(*) por dia; a API reserva blocos de códigos por vez
+-- (reserva.codigo.tamanho-bloco) e os entrega em memória, sem ir ao banco a cada reserva.
+CREATE TABLE IF NOT EXISTS contadores_codigo_reserva (
+    dia DATE PRIMARY KEY,
+    proximo INT NOT NULL
+);
+
 -- 3. CRIAÇÃO DE ÍNDICES PARA OTIMIZAÇÃO (Requisito: Mínimo 1 Índice)
 -- Justificativa: Aumentam a velocidade de busca (SELECT) nas colunas críticas.
 -- O "IF EXISTS" evita o erro de duplicação que ocorreu no console.
@@ -33,12 +106,21 @@ CREATE INDEX IF NOT EXISTS idx_usuario_email ON usuarios (email);
 -- Índice para Busca: Otimiza a busca de mesas pelo seu número.
 CREATE INDEX IF NOT EXISTS idx_mesa_numero ON mesas (numero_mesa);
 
+-- Índice por Data: Otimiza a consulta das reservas do dia (faixa em data_hora_inicio).
+CREATE INDEX IF NOT EXISTS idx_reserva_data_inicio ON reservas (data_hora_inicio);
+
+-- Índices do arquivo: histórico por período e por mesa (GET /api/reservas/historico).
+CREATE INDEX IF NOT EXISTS idx_arquivo_data_inicio ON reservas_arquivo (data_hora_inicio);
+CREATE INDEX IF NOT EXISTS idx_arquivo_mesa_data ON reservas_arquivo (mesa_id, data_hora_inicio);
+
 
 -- 4. CRIAÇÃO DE VIEWS (Requisito: Mínimo 2 Views)
 
 -- View 1: vw_reservas_de_hoje (Painel Gerencial)
 -- Justificativa: Simplifica a consulta de reservas do dia, unindo dados de 3 tabelas
 -- para permitir que o Backend consuma um relatório simples.
+-- Na API, o painel é servido ao vivo por GET /api/reservas/hoje/stream (Server-Sent Events):
+-- uma consulta por faixa (sargable, usa idx_reserva_data_inicio) e, depois, só as novas reservas.
 CREATE OR REPLACE VIEW vw_reservas_de_hoje AS
 SELECT
     r.id AS reserva_id,
@@ -62,6 +144,9 @@ ORDER BY
 -- View 2: vw_relatorio_ocupacao_mesas (Relatório Analítico)
 -- Justificativa: Agrega dados para fornecer o total de reservas por mesa,
 -- sendo essencial para a tomada de decisão sobre o layout do restaurante.
+-- Na API, o relatório é servido por GET /api/relatorios/ocupacao a partir de agregados
+-- mantidos em memória (OcupacaoService), sem reprocessar o histórico a cada consulta.
+-- O total inclui as reservas já arquivadas (reservas_arquivo).
 CREATE OR REPLACE VIEW vw_relatorio_ocupacao_mesas AS
 SELECT
     m.numero_mesa,
@@ -70,7 +155,9 @@ SELECT
 FROM
     mesas m
         LEFT JOIN
-    reservas r ON m.id = r.mesa_id
+    (SELECT id, mesa_id FROM reservas
+     UNION ALL
+     SELECT id, mesa_id FROM reservas_arquivo) r ON m.id = r.mesa_id
 GROUP BY
     m.id, m.numero_mesa, m.capacidade
 ORDER BY
@@ -86,29 +173,28 @@ DELIMITER $$
 -- FUNCTION 1: func_gerar_proximo_id_reserva (Requisito: Geração de ID Customizada)
 -- Justificativa: Gera IDs sequenciais por dia, em vez de um AUTO_INCREMENT global,
 -- oferecendo um código de reserva mais amigável ao cliente.
-CREATE FUNCTION IF NOT EXISTS func_gerar_proximo_id_reserva(p_data DATE)
+-- O código sai do contador do dia (1 linha, alteração atômica): sem varrer 'reservas' e sem
+-- repetir códigos entre chamadas simultâneas. Compartilha a sequência com os blocos da API.
+DROP FUNCTION IF EXISTS func_gerar_proximo_id_reserva$$
+CREATE FUNCTION func_gerar_proximo_id_reserva(p_data DATE)
 RETURNS INT
-DETERMINISTIC
+NOT DETERMINISTIC
+MODIFIES SQL DATA
 BEGIN
-    DECLARE proximo_id INT;
-
-SELECT
-    COUNT(*) + 1
-INTO
-    proximo_id
-FROM
-    reservas
-WHERE
-    DATE(data_hora_inicio) = p_data;
+    -- Primeiro código do dia: cria o contador. Demais: avança e devolve o valor anterior.
+INSERT INTO contadores_codigo_reserva (dia, proximo)
+VALUES (p_data, 2)
+ON DUPLICATE KEY UPDATE proximo = LAST_INSERT_ID(proximo) + 1;
 
-RETURN proximo_id;
+RETURN IF(ROW_COUNT() = 1, 1, LAST_INSERT_ID());
 END$$
 
 -- PROCEDURE 1: sp_fazer_reserva
 -- Justificativa: A procedure executa a validação crítica (conflito e capacidade)
 -- no SGBD, garantindo atomicidade, segurança (SELECT FOR UPDATE) e integridade total
 -- dos dados, sendo a principal rotina do sistema.
-CREATE PROCEDURE IF NOT EXISTS sp_fazer_reserva(
+DROP PROCEDURE IF EXISTS sp_fazer_reserva$$
+CREATE PROCEDURE sp_fazer_reserva(
     IN p_usuario_id INT,
     IN p_mesa_id INT,
     IN p_data_hora_inicio DATETIME,
@@ -119,6 +205,7 @@ BEGIN
     DECLARE v_capacidade_mesa INT;
     DECLARE v_data_hora_fim DATETIME;
     DECLARE v_conflitos INT;
+    DECLARE v_id BIGINT;
 
     SET v_data_hora_fim = p_data_hora_inicio + INTERVAL p_duracao_horas HOUR;
 
@@ -145,11 +232,16 @@ IF v_conflitos > 0 THEN
         SET MESSAGE_TEXT = 'Horário indisponível. Conflito de reserva detectado.';
 END IF;
 
+    -- Reserva o próximo ID da sequência compartilhada com a API (reservas_seq)
+SELECT next_val INTO v_id FROM reservas_seq FOR UPDATE;
+UPDATE reservas_seq SET next_val = v_id + 1;
+
     -- Inserção da reserva
-INSERT INTO reservas (usuario_id, mesa_id, data_hora_inicio, data_hora_fim, numero_pessoas)
-VALUES (p_usuario_id, p_mesa_id, p_data_hora_inicio, v_data_hora_fim, p_numero_pessoas);
+INSERT INTO reservas (id, codigo, usuario_id, mesa_id, data_hora_inicio, data_hora_fim, numero_pessoas)
+VALUES (v_id, func_gerar_proximo_id_reserva(DATE(p_data_hora_inicio)), p_usuario_id, p_mesa_id,
+        p_data_hora_inicio, v_data_hora_fim, p_numero_pessoas);
 
-SELECT * FROM reservas WHERE id = LAST_INSERT_ID();
+SELECT * FROM reservas WHERE id = v_id;
 
 END$$
 
@@ -158,32 +250,12 @@ END$$
 -- # TRIGGERS (GATILHOS) - Requisito: Mínimo 2 Triggers
 -- ####################################################################
 
--- TRIGGER 1: trg_after_update_usuarios (Auditoria)
--- Justificativa: Dispara APÓS qualquer alteração na tabela 'usuarios',
--- registrando quem alterou (CURRENT_USER()), o quê (campo) e os valores OLD/NEW
--- para fins de auditoria e segurança.
-CREATE TRIGGER IF NOT EXISTS trg_after_update_usuarios
-AFTER UPDATE ON usuarios
-                            FOR EACH ROW
-BEGIN
-    DECLARE usuario_modificador VARCHAR(100);
-    SET usuario_modificador = CURRENT_USER();
-
-    IF OLD.nome <> NEW.nome THEN
-        INSERT INTO auditoria_usuarios
-            (id_usuario_afetado, campo_alterado, valor_antigo, valor_novo, alterado_por)
-        VALUES
-            (OLD.id, 'nome', OLD.nome, NEW.nome, usuario_modificador);
-END IF;
-
-    IF OLD.email <> NEW.email THEN
-        INSERT INTO auditoria_usuarios
-            (id_usuario_afetado, campo_alterado, valor_antigo, valor_novo, alterado_por)
-        VALUES
-            (OLD.id, 'email', OLD.email, NEW.email, usuario_modificador);
-END IF;
-
-END$$
+-- TRIGGER 1: trg_after_update_usuarios (Auditoria) - REMOVIDO
+-- Justificativa: O trigger fazia INSERTs em 'auditoria_usuarios' dentro de cada transação de
+-- alteração de usuário. A trilha agora é gravada pela API em segundo plano (AuditoriaUsuarioService),
+-- em um log em arquivo segmentado; consulta em GET /api/usuarios/{id}/auditoria.
+-- A tabela 'auditoria_usuarios' permanece apenas com o histórico anterior.
+DROP TRIGGER IF EXISTS trg_after_update_usuarios$$
 
 -- TRIGGER 2: trg_before_insert_reservas (Restrição de Integridade Final)
 -- Justificativa: Atua como a ÚLTIMA barreira de segurança. Impede inserções diretas
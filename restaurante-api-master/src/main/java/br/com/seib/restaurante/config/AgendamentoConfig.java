@@ -0,0 +1,14 @@
+package br.com.seib.restaurante.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (@Scheduled), como o arquivamento diário das reservas antigas.
+ * Sempre ativa: com Spring AOT as condições são fixadas no build, então 'agendamento.habilitado'
+ * é verificado pelas próprias tarefas a cada execução (vale também no pacote do perfil 'prod').
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -0,0 +1,33 @@
+package br.com.seib.restaurante.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração aplicada apenas quando 'spring.threads.virtual.enabled=true' (Java 21+).
+ * O próprio Spring Boot passa o Tomcat, o executor de tarefas assíncronas e o agendador
+ * para threads virtuais; aqui é registrado o limite de concorrência que protege o pool de conexões.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ExecucaoVirtualConfig {
+
+    @Bean
+    public FilterRegistrationBean<LimiteConcorrenciaFilter> limiteConcorrenciaFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int conexoes,
+            @Value("${execucao.virtual.requisicoes-por-conexao:2}") int requisicoesPorConexao,
+            @Value("${execucao.virtual.espera-maxima:1s}") Duration esperaMaxima) {
+        // Limite derivado do pool: no máximo 'requisicoes-por-conexao' requisições por conexão em processamento.
+        int requisicoesSimultaneas = conexoes * requisicoesPorConexao;
+        FilterRegistrationBean<LimiteConcorrenciaFilter> registro =
+                new FilterRegistrationBean<>(new LimiteConcorrenciaFilter(requisicoesSimultaneas, esperaMaxima));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.seib.restaurante.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita o número de requisições da API em processamento ao mesmo tempo.
+ * * Justificativa: Com threads virtuais, cada requisição ganha sua própria thread e deixa de existir
+ * o teto natural do pool do Tomcat. Sem um limite, um pico de acessos vira milhares de threads
+ * disputando as poucas conexões do HikariCP. Requisições acima do limite aguardam uma vaga
+ * por pouco tempo e, se não houver, recebem 503 (o cliente pode tentar novamente).
+ */
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private final Semaphore vagas;
+    private final long esperaMaximaNanos;
+
+    public LimiteConcorrenciaFilter(int requisicoesSimultaneas, Duration esperaMaxima) {
+        this.vagas = new Semaphore(requisicoesSimultaneas);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean adquirida;
+        try {
+            adquirida = vagas.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            adquirida = false;
+        }
+        if (!adquirida) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor ocupado, tente novamente.");
+            return;
+        }
+
+        // Respostas assíncronas (streaming) liberam a vaga quando o processamento inicial retorna.
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            vagas.release();
+        }
+    }
+}
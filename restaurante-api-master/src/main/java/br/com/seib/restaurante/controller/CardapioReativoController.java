@@ -0,0 +1,57 @@
+package br.com.seib.restaurante.controller;
+
+import br.com.seib.restaurante.model.ItemCardapio;
+import br.com.seib.restaurante.service.CardapioReativoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leitura não bloqueante do cardápio (driver reativo do MongoDB).
+ * O Spring MVC assina o Flux/Mono retornado e libera a thread da requisição; as listas são
+ * transmitidas em NDJSON (um item por linha), pedindo ao cursor o próximo item apenas após
+ * escrever o anterior (contrapressão até a resposta HTTP).
+ */
+@RestController // Define a classe como um controlador REST.
+@RequestMapping("/api/cardapio/reativo") // Mapeamento da URI base (http://localhost:8080/api/cardapio/reativo)
+public class CardapioReativoController {
+
+    private final CardapioReativoService service;
+
+    @Autowired // Realiza a Injeção de Dependência (DI) do Service.
+    public CardapioReativoController(CardapioReativoService service) {
+        this.service = service;
+    }
+
+    /**
+     * Lista todos os itens do cardápio.
+     * Mapeia para: GET /api/cardapio/reativo
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ItemCardapio> buscarTodos() {
+        return service.buscarTodos();
+    }
+
+    /**
+     * Lista os itens de uma categoria.
+     * Mapeia para: GET /api/cardapio/reativo/categoria/{nomeCategoria}
+     */
+    @GetMapping(path = "/categoria/{nomeCategoria}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ItemCardapio> buscarPorCategoria(@PathVariable String nomeCategoria) {
+        return service.buscarPorCategoria(nomeCategoria);
+    }
+
+    /**
+     * Busca um item pelo ID: 200 com o item ou 404 se não existir.
+     * Mapeia para: GET /api/cardapio/reativo/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ItemCardapio>> buscarPorId(@PathVariable String id) {
+        return service.buscarPorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -1,12 +1,17 @@
 package br.com.seib.restaurante.controller;
 
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
 import br.com.seib.restaurante.model.Mesa;
 import br.com.seib.restaurante.service.MesaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -20,9 +25,13 @@ public class MesaController {
     // Injeta a dependência do Service (a camada de lógica de negócio).
     private final MesaService mesaService;
 
+    // Serializador JSON do Spring, usado na resposta em streaming (NDJSON).
+    private final ObjectMapper objectMapper;
+
     @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
-    public MesaController(MesaService mesaService) {
+    public MesaController(MesaService mesaService, ObjectMapper objectMapper) {
         this.mesaService = mesaService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -47,4 +56,40 @@ public class MesaController {
         // Retorna o status HTTP 200 (OK) e a lista de objetos.
         return ResponseEntity.ok(mesas);
     }
+
+    /**
+     * Lista as mesas com paginação por cursor (keyset).
+     * A primeira página omite 'apos'; as seguintes enviam o 'proximoCursor' da página anterior.
+     * Mapeia para: GET /api/mesas?limite=50&apos=120
+     */
+    @GetMapping(params = "limite")
+    public ResponseEntity<PaginaCursorDTO<Mesa>> listarPagina(
+            @RequestParam int limite,
+            @RequestParam(required = false) Long apos
+    ) {
+        return ResponseEntity.ok(mesaService.buscarPagina(apos, limite));
+    }
+
+    /**
+     * Transmite todas as mesas em NDJSON (uma mesa por linha), lidas do cursor do banco.
+     * Mapeia para: GET /api/mesas/stream
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> transmitirMesas() {
+        return RespostaNdjson.transmitir(objectMapper, mesaService::percorrerTodas);
+    }
+
+    /**
+     * Lista apenas as mesas livres no horário solicitado e com capacidade suficiente,
+     * ordenadas pelo melhor encaixe (menor capacidade primeiro).
+     * Mapeia para: GET /api/mesas/disponiveis?inicio=2025-11-17T19:00:00&pessoas=2
+     */
+    @GetMapping("/disponiveis")
+    public ResponseEntity<List<Mesa>> listarDisponiveis(
+            // @DateTimeFormat: Converte o parâmetro ISO (yyyy-MM-ddTHH:mm:ss) para LocalDateTime.
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam int pessoas
+    ) {
+        return ResponseEntity.ok(mesaService.buscarDisponiveis(inicio, pessoas));
+    }
 }
\ No newline at end of file
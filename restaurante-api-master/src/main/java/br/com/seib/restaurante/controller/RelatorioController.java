@@ -0,0 +1,45 @@
+package br.com.seib.restaurante.controller;
+
+import br.com.seib.restaurante.dto.RelatorioOcupacaoDTO;
+import br.com.seib.restaurante.service.OcupacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST dos relatórios gerenciais.
+ * Substitui a consulta à view vw_relatorio_ocupacao_mesas pelos agregados mantidos em memória.
+ */
+@RestController
+@RequestMapping("/api/relatorios") // Mapeamento da URI base (http://localhost:8080/api/relatorios)
+public class RelatorioController {
+
+    private final OcupacaoService ocupacaoService;
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public RelatorioController(OcupacaoService ocupacaoService) {
+        this.ocupacaoService = ocupacaoService;
+    }
+
+    /**
+     * Ocupação por mesa: total de reservas, pessoas e taxa de ocupação por faixa horária.
+     * Mapeia para: GET /api/relatorios/ocupacao
+     */
+    @GetMapping("/ocupacao")
+    public ResponseEntity<RelatorioOcupacaoDTO> relatorioOcupacao() {
+        return ResponseEntity.ok(ocupacaoService.gerarRelatorio());
+    }
+
+    /**
+     * Reconcilia os agregados com a tabela 'reservas' (ex.: após alterações feitas direto no banco)
+     * e retorna o relatório recalculado.
+     * Mapeia para: POST /api/relatorios/ocupacao/reconstrucao
+     */
+    @PostMapping("/ocupacao/reconstrucao")
+    public ResponseEntity<RelatorioOcupacaoDTO> reconstruirOcupacao() {
+        return ResponseEntity.ok(ocupacaoService.reconstruir());
+    }
+}
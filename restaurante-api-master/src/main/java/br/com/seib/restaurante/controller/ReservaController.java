@@ -1,12 +1,33 @@
 package br.com.seib.restaurante.controller;
 
+import br.com.seib.restaurante.dto.AlternativasReservaDTO;
+import br.com.seib.restaurante.dto.FatiaDTO;
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
+import br.com.seib.restaurante.dto.ReservaCombinadaRequestDTO;
 import br.com.seib.restaurante.dto.ReservaRequestDTO;
+import br.com.seib.restaurante.dto.ReservaResumoDTO;
+import br.com.seib.restaurante.dto.ResultadoItemLoteDTO;
+import br.com.seib.restaurante.exception.ConflitoReservaException;
+import br.com.seib.restaurante.exception.RequisicaoEmAndamentoException;
 import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.service.ArquivamentoReservaService;
+import br.com.seib.restaurante.service.IdempotenciaService;
+import br.com.seib.restaurante.service.PainelReservasService;
+import br.com.seib.restaurante.service.ReservaLoteService;
 import br.com.seib.restaurante.service.ReservaService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Controller responsável por receber as requisições HTTP e gerenciar a criação de reservas.
@@ -18,26 +39,144 @@ public class ReservaController {
 
     // Injeta a dependência do Service (a camada de lógica).
     private final ReservaService reservaService;
+    private final ObjectProvider<ReservaLoteService> reservaLoteService;
+    private final PainelReservasService painelReservasService;
+    private final IdempotenciaService idempotenciaService;
+    private final ArquivamentoReservaService arquivamentoService;
 
+    // ObjectProvider: o serviço de lote só é criado na primeira importação em lote, não na subida.
     @Autowired // Realiza a Injeção de Dependência (DI) do Service.
-    public ReservaController(ReservaService reservaService) {
+    public ReservaController(ReservaService reservaService, ObjectProvider<ReservaLoteService> reservaLoteService,
+                             PainelReservasService painelReservasService, IdempotenciaService idempotenciaService,
+                             ArquivamentoReservaService arquivamentoService) {
         this.reservaService = reservaService;
+        this.reservaLoteService = reservaLoteService;
+        this.painelReservasService = painelReservasService;
+        this.idempotenciaService = idempotenciaService;
+        this.arquivamentoService = arquivamentoService;
     }
 
     /**
      * Cria uma nova reserva, delegando as validações para a camada Service.
+     * Com o cabeçalho Idempotency-Key, reenvios da mesma requisição (ex.: após um timeout no cliente)
+     * recebem a reserva criada pela primeira, em vez de um conflito de horário.
      * Mapeia para: POST /api/reservas
      */
     @PostMapping
-    public ResponseEntity<Reserva> criarReserva(@RequestBody ReservaRequestDTO dto) {
+    public ResponseEntity<ReservaResumoDTO> criarReserva(
+            @RequestBody ReservaRequestDTO dto,
+            @RequestHeader(name = "Idempotency-Key", required = false) String chaveIdempotencia
+    ) {
         // @RequestBody: Deserializa o JSON do corpo da requisição para o Objeto de Transferência (DTO).
 
         // 1. Delega a lógica de validação de conflito e persistência ao Service.
-        Reserva novaReserva = reservaService.criarReserva(dto);
+        // O corpo é a projeção da reserva (sem o grafo Usuario/GrupoUsuario e sem a senha).
+        ReservaResumoDTO novaReserva = chaveIdempotencia == null
+                ? ReservaResumoDTO.de(reservaService.criarReserva(dto))
+                : idempotenciaService.executar(chaveIdempotencia, dto,
+                        () -> ReservaResumoDTO.de(reservaService.criarReserva(dto)));
 
         // 2. Retorna a resposta HTTP.
         // ResponseEntity: Permite controlar o código de status.
         // HttpStatus.CREATED (201): Código padrão para indicar que um novo recurso foi criado com sucesso.
         return ResponseEntity.status(HttpStatus.CREATED).body(novaReserva);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reserva para grupos sem mesa definida (inclusive maiores que qualquer mesa): a API escolhe
+     * as mesas livres da mesma zona que comportam o grupo e reserva todas de uma vez.
+     * Aceita Idempotency-Key, como POST /api/reservas.
+     * Mapeia para: POST /api/reservas/combinada
+     */
+    @PostMapping("/combinada")
+    public ResponseEntity<List<ReservaResumoDTO>> criarReservaCombinada(
+            @RequestBody ReservaCombinadaRequestDTO dto,
+            @RequestHeader(name = "Idempotency-Key", required = false) String chaveIdempotencia
+    ) {
+        List<ReservaResumoDTO> reservas = chaveIdempotencia == null
+                ? resumir(reservaService.criarReservaCombinada(dto))
+                : idempotenciaService.executar(chaveIdempotencia, dto,
+                        () -> resumir(reservaService.criarReservaCombinada(dto)));
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservas);
+    }
+
+    /**
+     * Recusa por conflito de horário: HTTP 409 com os horários e as mesas alternativas no corpo.
+     */
+    @ExceptionHandler(ConflitoReservaException.class)
+    public ResponseEntity<AlternativasReservaDTO> tratarConflito(ConflitoReservaException e) {
+        AlternativasReservaDTO corpo = e.getAlternativas() != null
+                ? e.getAlternativas()
+                : new AlternativasReservaDTO(e.getMessage(), List.of(), List.of());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(corpo);
+    }
+
+    /**
+     * Reenvio com Idempotency-Key enquanto a requisição original ainda executa: HTTP 409 com
+     * Retry-After (segundos); a nova tentativa recebe o resultado da original.
+     */
+    @ExceptionHandler(RequisicaoEmAndamentoException.class)
+    public ResponseEntity<ProblemDetail> tratarEmAndamento(RequisicaoEmAndamentoException e) {
+        long segundos = Math.max(1, e.getTenteNovamenteEm().toSeconds());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(segundos))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage()));
+    }
+
+    private static List<ReservaResumoDTO> resumir(List<Reserva> reservas) {
+        return reservas.stream().map(ReservaResumoDTO::de).toList();
+    }
+
+    /**
+     * Lista as reservas de um dia (padrão: hoje), opcionalmente de uma mesa, paginadas.
+     * Mapeia para: GET /api/reservas?data=2025-11-17&mesaId=5&pagina=0&tamanho=50
+     */
+    @GetMapping
+    public ResponseEntity<FatiaDTO<ReservaResumoDTO>> listarReservas(
+            @RequestParam(required = false) Long mesaId,
+            // @DateTimeFormat: Converte o parâmetro ISO (yyyy-MM-dd) para LocalDate.
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "50") int tamanho
+    ) {
+        LocalDate dia = data == null ? LocalDate.now() : data;
+        return ResponseEntity.ok(reservaService.buscarPorDia(mesaId, dia, pagina, tamanho));
+    }
+
+    /**
+     * Histórico de reservas por período [de, ate), opcionalmente de uma mesa, incluindo as já arquivadas.
+     * Paginado por cursor: envie o 'proximoCursor' da resposta em 'apos' para a página seguinte.
+     * Mapeia para: GET /api/reservas/historico?de=2025-01-01&ate=2025-02-01&mesaId=5&limite=50
+     */
+    @GetMapping("/historico")
+    public ResponseEntity<PaginaCursorDTO<ReservaResumoDTO>> listarHistorico(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) Long mesaId,
+            @RequestParam(required = false) String apos,
+            @RequestParam(defaultValue = "50") int limite
+    ) {
+        return ResponseEntity.ok(arquivamentoService.buscarHistorico(mesaId, de, ate, apos, limite));
+    }
+
+    /**
+     * Importa várias reservas de uma vez (eventos e sistemas parceiros).
+     * Cada item é aceito ou rejeitado individualmente; o corpo da resposta traz o resultado
+     * de cada posição da lista enviada.
+     * Mapeia para: POST /api/reservas/lote
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoItemLoteDTO>> criarReservasEmLote(@RequestBody List<ReservaRequestDTO> lote) {
+        return ResponseEntity.ok(reservaLoteService.getObject().criarReservas(lote));
+    }
+
+    /**
+     * Painel ao vivo das reservas de hoje (Server-Sent Events).
+     * Evento 'snapshot': lista inicial do dia. Evento 'reserva': cada nova reserva do dia.
+     * Mapeia para: GET /api/reservas/hoje/stream
+     */
+    @GetMapping(path = "/hoje/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharReservasDeHoje() {
+        return painelReservasService.assinar();
+    }
+}
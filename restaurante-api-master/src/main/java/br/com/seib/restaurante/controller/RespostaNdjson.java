@@ -0,0 +1,41 @@
+package br.com.seib.restaurante.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Utilitário para respostas NDJSON (um objeto JSON por linha), escritas à medida que
+ * os registros são lidos do cursor do banco.
+ * * Justificativa: A memória por requisição fica constante, independente do tamanho da coleção,
+ * pois nenhum registro é acumulado em uma List antes da serialização.
+ */
+final class RespostaNdjson {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private RespostaNdjson() {
+    }
+
+    /**
+     * Cria a resposta: 'fonte' recebe um consumidor e o chama para cada registro lido.
+     * A escrita ocorre na thread assíncrona do Spring MVC, após o retorno do Controller.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> transmitir(ObjectMapper objectMapper, Consumer<Consumer<T>> fonte) {
+        StreamingResponseBody corpo = saida -> fonte.accept(item -> {
+            try {
+                saida.write(objectMapper.writeValueAsBytes(item));
+                saida.write('\n');
+            } catch (IOException e) {
+                // Cliente desconectado: interrompe a leitura do cursor.
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(corpo);
+    }
+}
@@ -1,11 +1,25 @@
 package br.com.seib.restaurante.controller;
 
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
+import br.com.seib.restaurante.dto.RegistroAuditoriaDTO;
+import br.com.seib.restaurante.dto.ResultadoItemLoteDTO;
 import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.service.AuditoriaUsuarioService;
+import br.com.seib.restaurante.service.UsuarioImportacaoService;
 import br.com.seib.restaurante.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
 
 // @RestController: Combinação de @Controller + @ResponseBody.
 // Diz ao Spring que esta classe é um controlador e que os métodos
@@ -19,10 +33,19 @@ public class UsuarioController {
     // --- Injeção de Dependências ---
     // Pedimos ao Spring o nosso "cérebro" (o Service)
     private final UsuarioService usuarioService;
+    private final ObjectProvider<UsuarioImportacaoService> usuarioImportacaoService;
+    private final AuditoriaUsuarioService auditoriaUsuarioService;
+    private final ObjectMapper objectMapper;
 
+    // ObjectProvider: o serviço de importação só é criado na primeira importação, não na subida.
     @Autowired
-    public UsuarioController(UsuarioService usuarioService) {
+    public UsuarioController(UsuarioService usuarioService,
+                             ObjectProvider<UsuarioImportacaoService> usuarioImportacaoService,
+                             AuditoriaUsuarioService auditoriaUsuarioService, ObjectMapper objectMapper) {
         this.usuarioService = usuarioService;
+        this.usuarioImportacaoService = usuarioImportacaoService;
+        this.auditoriaUsuarioService = auditoriaUsuarioService;
+        this.objectMapper = objectMapper;
     }
 
     // --- Nosso Primeiro Endpoint (Porta de Entrada) ---
@@ -45,4 +68,55 @@ public class UsuarioController {
         // da resposta como JSON.
         return ResponseEntity.status(HttpStatus.CREATED).body(novoUsuario);
     }
-}
\ No newline at end of file
+
+    // --- Importação em Massa (Programa de Fidelidade) ---
+
+    // POST http://localhost:8080/api/usuarios/importacao
+    // Corpo em CSV (Content-Type: text/csv) ou NDJSON (application/x-ndjson), lido em streaming.
+    // A resposta é NDJSON: um ResultadoItemLoteDTO por linha de dados, escrito a cada bloco gravado.
+    @PostMapping(path = "/importacao", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<StreamingResponseBody> importarUsuarios(
+            InputStream corpo,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipo
+    ) {
+        UsuarioImportacaoService.Formato formato = RespostaNdjson.NDJSON.isCompatibleWith(tipo)
+                ? UsuarioImportacaoService.Formato.NDJSON
+                : UsuarioImportacaoService.Formato.CSV;
+        return RespostaNdjson.<ResultadoItemLoteDTO>transmitir(objectMapper,
+                consumidor -> usuarioImportacaoService.getObject().importar(corpo, formato, consumidor));
+    }
+
+    // --- Alteração e Auditoria ---
+
+    // PUT http://localhost:8080/api/usuarios/1
+    // Altera nome e e-mail. O cabeçalho opcional X-Alterado-Por identifica o autor na auditoria.
+    @PutMapping("/{id}")
+    public ResponseEntity<Usuario> atualizarUsuario(
+            @PathVariable Long id,
+            @RequestBody Usuario dados,
+            @RequestHeader(name = "X-Alterado-Por", defaultValue = "api") String alteradoPor
+    ) {
+        return ResponseEntity.ok(usuarioService.atualizarUsuario(id, dados, alteradoPor));
+    }
+
+    // GET http://localhost:8080/api/usuarios/1/auditoria?desde=2025-11-01T00:00:00Z&limite=100
+    // Alterações do usuário lidas do log de auditoria (mais recentes, em ordem cronológica).
+    @GetMapping("/{id}/auditoria")
+    public ResponseEntity<List<RegistroAuditoriaDTO>> auditoriaDoUsuario(
+            @PathVariable Long id,
+            @RequestParam(required = false) Instant desde,
+            @RequestParam(defaultValue = "100") int limite
+    ) {
+        return ResponseEntity.ok(auditoriaUsuarioService.consultar(id, desde, PaginaCursorDTO.limitar(limite)));
+    }
+
+    // GET http://localhost:8080/api/usuarios/auditoria?limite=100
+    // Alterações de todos os usuários.
+    @GetMapping("/auditoria")
+    public ResponseEntity<List<RegistroAuditoriaDTO>> auditoria(
+            @RequestParam(required = false) Instant desde,
+            @RequestParam(defaultValue = "100") int limite
+    ) {
+        return ResponseEntity.ok(auditoriaUsuarioService.consultar(null, desde, PaginaCursorDTO.limitar(limite)));
+    }
+}
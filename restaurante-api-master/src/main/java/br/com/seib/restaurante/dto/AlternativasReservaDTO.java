@@ -0,0 +1,28 @@
+package br.com.seib.restaurante.dto;
+
+import br.com.seib.restaurante.model.Mesa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de saída de uma reserva recusada por conflito de horário (HTTP 409): além do motivo,
+ * traz as alternativas livres para que o cliente escolha uma sem novas tentativas às cegas.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio (desserialização JSON).
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class AlternativasReservaDTO {
+
+    // Motivo da recusa.
+    private String mensagem;
+
+    // Horários de início livres na mesma mesa e no mesmo dia, os mais próximos do solicitado (em ordem).
+    private List<LocalDateTime> horariosLivres;
+
+    // Outras mesas com capacidade suficiente e livres no horário solicitado (melhor encaixe primeiro).
+    private List<Mesa> mesasLivres;
+}
@@ -0,0 +1,23 @@
+package br.com.seib.restaurante.dto;
+
+import br.com.seib.restaurante.model.ItemCardapio;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * DTO de saída da busca textual do cardápio (GET /api/cardapio/busca).
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class BuscaCardapioDTO {
+
+    // Quantidade de itens que contêm todos os termos (os 'itens' são apenas os mais relevantes).
+    private int total;
+
+    // Itens encontrados, do mais relevante para o menos relevante.
+    private List<ItemCardapio> itens;
+
+    // Palavras que completam o último termo digitado (autocompletar), das mais frequentes às menos.
+    private List<String> sugestoes;
+}
@@ -0,0 +1,22 @@
+package br.com.seib.restaurante.dto;
+
+import br.com.seib.restaurante.model.ItemCardapio;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Resultado de uma consulta ao cardápio acompanhado da sua versão (ETag).
+ * * Justificativa: O ETag é calculado uma única vez, quando a consulta entra no cache;
+ * requisições condicionais (If-None-Match) são respondidas com 304 sem serializar a lista.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class CardapioVersionadoDTO {
+
+    // Itens retornados pela consulta.
+    private List<ItemCardapio> itens;
+
+    // Identificador do conteúdo (entre aspas, no formato exigido pelo cabeçalho HTTP ETag).
+    private String etag;
+}
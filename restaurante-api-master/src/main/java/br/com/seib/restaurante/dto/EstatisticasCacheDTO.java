@@ -0,0 +1,28 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO de saída com os contadores do cache de leitura do cardápio,
+ * utilizado para confirmar a redução de consultas ao MongoDB.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class EstatisticasCacheDTO {
+
+    // Consultas atendidas pelo cache (sem acesso ao MongoDB).
+    private long acertos;
+
+    // Consultas que precisaram ir ao MongoDB.
+    private long falhas;
+
+    // acertos / (acertos + falhas).
+    private double taxaAcerto;
+
+    // Entradas removidas por tamanho máximo ou expiração (TTL).
+    private long remocoes;
+
+    // Quantidade atual de consultas armazenadas.
+    private long tamanho;
+}
@@ -0,0 +1,30 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por número, sem total de registros.
+ * * Justificativa: Diferente de Page, uma Slice não executa o SELECT COUNT(*) adicional;
+ * para saber se há próxima página, a consulta busca apenas uma linha a mais.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class FatiaDTO<T> {
+
+    // Itens da página.
+    private List<T> itens;
+
+    // Número da página (a partir de 0).
+    private int pagina;
+
+    // Indica se existe uma próxima página.
+    private boolean temProxima;
+
+    public static <T> FatiaDTO<T> de(Slice<T> fatia) {
+        return new FatiaDTO<>(fatia.getContent(), fatia.getNumber(), fatia.hasNext());
+    }
+}
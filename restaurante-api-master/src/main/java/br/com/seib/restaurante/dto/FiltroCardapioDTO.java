@@ -0,0 +1,29 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de entrada do filtro do cardápio. Campos nulos (ou listas vazias) não restringem a busca.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class FiltroCardapioDTO {
+
+    private String categoria;
+
+    // Faixa de preço, inclusiva nas duas pontas.
+    private BigDecimal precoMinimo;
+    private BigDecimal precoMaximo;
+
+    // O item deve conter todos estes ingredientes.
+    private List<String> comIngredientes;
+
+    // O item não pode conter nenhum destes ingredientes (ex.: alergias).
+    private List<String> semIngredientes;
+}
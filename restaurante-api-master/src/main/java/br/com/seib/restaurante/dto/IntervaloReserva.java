@@ -0,0 +1,28 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção enxuta de uma Reserva contendo apenas o necessário para a detecção de conflitos
+ * (mesa e intervalo de horário).
+ * * Justificativa: O aquecimento do índice de disponibilidade não precisa carregar as entidades
+ * completas (Usuario, Mesa), apenas os horários ocupados de cada mesa.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@AllArgsConstructor // (Lombok) Construtor utilizado pela Constructor Expression do JPQL.
+public class IntervaloReserva {
+
+    // Chave Primária (PK) da reserva que ocupa o intervalo.
+    private Long reservaId;
+
+    // Chave Estrangeira (FK) da mesa ocupada.
+    private Long mesaId;
+
+    // Início do período ocupado (inclusivo).
+    private LocalDateTime inicio;
+
+    // Fim do período ocupado (exclusivo).
+    private LocalDateTime fim;
+}
@@ -0,0 +1,23 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção de leitura de um item do cardápio (GET /api/cardapio/filtro).
+ * * Justificativa: Apenas os campos exibidos na listagem são lidos do MongoDB
+ * (descrição e ingredientes ficam de fora), reduzindo o tráfego e a desserialização.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio, usado pelo mapeamento do MongoDB.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class ItemCardapioResumoDTO {
+
+    private String id;
+    private String nome;
+    private String categoria;
+    private BigDecimal preco;
+}
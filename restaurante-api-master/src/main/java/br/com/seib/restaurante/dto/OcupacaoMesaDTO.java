@@ -0,0 +1,30 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de saída do relatório de ocupação: totais de uma mesa e a taxa de ocupação
+ * por faixa horária (24 posições, de 00h a 23h).
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio (desserialização JSON).
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class OcupacaoMesaDTO {
+
+    private Long mesaId;
+    private int numeroMesa;
+    private int capacidade;
+
+    // Quantidade de reservas da mesa (equivalente a 'total_de_reservas' da view).
+    private long totalReservas;
+
+    // Soma de 'numeroPessoas' das reservas (covers).
+    private long totalPessoas;
+
+    // Fração do tempo ocupado em cada hora do dia, no período observado (0.0 a 1.0).
+    private List<Double> ocupacaoPorHora;
+}
@@ -0,0 +1,31 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Página de uma listagem com paginação por cursor (keyset pagination).
+ * * Justificativa: Diferente de OFFSET, o cursor (último ID da página) permite buscar a próxima
+ * página pelo índice da chave primária, com custo constante em qualquer ponto da coleção.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class PaginaCursorDTO<T> {
+
+    // Tamanho máximo de página aceito pelas listagens.
+    public static final int LIMITE_MAXIMO = 500;
+
+    // Itens da página, ordenados pelo ID.
+    private List<T> itens;
+
+    // Valor a ser enviado em 'apos' para obter a próxima página (null na última página).
+    private String proximoCursor;
+
+    /**
+     * Restringe o tamanho de página solicitado ao intervalo [1, LIMITE_MAXIMO].
+     */
+    public static int limitar(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO de uma alteração de usuário registrada na trilha de auditoria (uma linha NDJSON do log).
+ * Mesmos campos da antiga tabela 'auditoria_usuarios', preenchida pelo trigger trg_after_update_usuarios.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio (leitura do log).
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class RegistroAuditoriaDTO {
+
+    private Instant alteradoEm;
+    private Long usuarioId;
+
+    // Campo alterado: "nome" ou "email".
+    private String campo;
+    private String valorAntigo;
+    private String valorNovo;
+
+    // Quem fez a alteração (cabeçalho X-Alterado-Por da requisição).
+    private String alteradoPor;
+}
@@ -0,0 +1,24 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de saída de GET /api/relatorios/ocupacao: período coberto pelas reservas
+ * e a ocupação de cada mesa, ordenada pelo total de reservas (maior primeiro).
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio (desserialização JSON).
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class RelatorioOcupacaoDTO {
+
+    // Primeiro e último dia com reservas (nulos se não houver reservas).
+    private LocalDate primeiroDia;
+    private LocalDate ultimoDia;
+
+    private List<OcupacaoMesaDTO> mesas;
+}
@@ -0,0 +1,24 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de entrada de uma reserva para grupos grandes, sem mesa definida pelo cliente:
+ * a API escolhe as mesas (uma ou várias unidas, da mesma zona) que comportam o grupo.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+public class ReservaCombinadaRequestDTO {
+
+    // Chave Estrangeira (FK) do usuário que está fazendo a reserva.
+    private Long usuarioId;
+
+    // Zona preferida (opcional). Nula: qualquer zona com mesas combináveis.
+    private String zona;
+
+    // Horário de início solicitado para a reserva.
+    private LocalDateTime dataHoraInicio;
+
+    // Tamanho do grupo (distribuído entre as mesas escolhidas).
+    private int numeroPessoas;
+}
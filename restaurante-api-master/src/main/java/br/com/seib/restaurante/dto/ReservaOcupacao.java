@@ -0,0 +1,21 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma Reserva com os campos usados nas estatísticas de ocupação
+ * (mesa, horários e número de pessoas), lida sem JOIN com usuarios/mesas.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@AllArgsConstructor // (Lombok) Construtor utilizado pela Constructor Expression do JPQL.
+public class ReservaOcupacao {
+
+    private Long reservaId;
+    private Long mesaId;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private int numeroPessoas;
+}
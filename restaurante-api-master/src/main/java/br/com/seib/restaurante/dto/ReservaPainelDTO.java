@@ -0,0 +1,25 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do painel da recepção (mesmas colunas da view vw_reservas_de_hoje).
+ * Enviada no snapshot inicial e a cada nova reserva do dia (Server-Sent Events).
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio (desserialização JSON).
+@AllArgsConstructor // (Lombok) Construtor utilizado pela Constructor Expression do JPQL.
+public class ReservaPainelDTO {
+
+    private Long reservaId;
+    private LocalDateTime dataHoraInicio;
+    private LocalDateTime dataHoraFim;
+    private String nomeCliente;
+    private String emailCliente;
+    private int numeroMesa;
+    private int numeroPessoas;
+}
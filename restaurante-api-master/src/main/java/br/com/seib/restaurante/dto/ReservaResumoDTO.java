@@ -0,0 +1,41 @@
+package br.com.seib.restaurante.dto;
+
+import br.com.seib.restaurante.model.Reserva;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Representação de leitura de uma reserva (respostas de GET e POST /api/reservas).
+ * * Justificativa: Serializar a entidade expunha o grafo Reserva -> Usuario (inclusive a senha)
+ * -> GrupoUsuario / Mesa. Aqui vão apenas as colunas exibidas, lidas em uma única consulta.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio (desserialização JSON).
+@AllArgsConstructor // (Lombok) Construtor utilizado pela Constructor Expression do JPQL.
+public class ReservaResumoDTO {
+
+    private Long id;
+
+    // Código amigável, sequencial dentro do dia de início (null em reservas anteriores a ele).
+    private Integer codigo;
+
+    private LocalDateTime dataHoraInicio;
+    private LocalDateTime dataHoraFim;
+    private int numeroPessoas;
+    private Long mesaId;
+    private int numeroMesa;
+    private Long usuarioId;
+    private String nomeCliente;
+
+    /**
+     * Converte uma reserva recém-criada (usuário e mesa já carregados pelo Service).
+     */
+    public static ReservaResumoDTO de(Reserva reserva) {
+        return new ReservaResumoDTO(reserva.getId(), reserva.getCodigo(), reserva.getDataHoraInicio(),
+                reserva.getDataHoraFim(), reserva.getNumeroPessoas(), reserva.getMesa().getId(), reserva.getMesa().getNumeroMesa(),
+                reserva.getUsuario().getId(), reserva.getUsuario().getNome());
+    }
+}
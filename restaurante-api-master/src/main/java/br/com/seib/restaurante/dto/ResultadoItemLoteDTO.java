@@ -0,0 +1,38 @@
+package br.com.seib.restaurante.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de saída da importação em lote: informa, para cada item enviado (pela sua posição na lista),
+ * se a operação foi concluída ou rejeitada e o motivo da rejeição.
+ */
+@Data // (Lombok) Gera getters, setters, equals, e hashCode.
+@NoArgsConstructor // (Lombok) Construtor vazio (desserialização JSON).
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class ResultadoItemLoteDTO {
+
+    public static final String CRIADO = "CRIADO";
+    public static final String REJEITADO = "REJEITADO";
+
+    // Posição do item na lista enviada (começando em 0).
+    private int indice;
+
+    // CRIADO ou REJEITADO.
+    private String status;
+
+    // ID gerado (apenas quando CRIADO).
+    private Long id;
+
+    // Motivo da rejeição (apenas quando REJEITADO).
+    private String motivo;
+
+    public static ResultadoItemLoteDTO criado(int indice, Long id) {
+        return new ResultadoItemLoteDTO(indice, CRIADO, id, null);
+    }
+
+    public static ResultadoItemLoteDTO rejeitado(int indice, String motivo) {
+        return new ResultadoItemLoteDTO(indice, REJEITADO, null, motivo);
+    }
+}
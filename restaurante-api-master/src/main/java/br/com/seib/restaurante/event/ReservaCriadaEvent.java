@@ -0,0 +1,18 @@
+package br.com.seib.restaurante.event;
+
+import br.com.seib.restaurante.model.Reserva;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Evento publicado (ApplicationEventPublisher) após o COMMIT de cada nova reserva,
+ * individual ou em lote. Permite que agregados e visões em memória se atualizem
+ * sem acoplar o ReservaService a cada um deles.
+ */
+@Data // (Lombok) Gera getters, equals e hashCode.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class ReservaCriadaEvent {
+
+    // Reserva já persistida (com ID gerado).
+    private Reserva reserva;
+}
@@ -0,0 +1,18 @@
+package br.com.seib.restaurante.event;
+
+import br.com.seib.restaurante.dto.RegistroAuditoriaDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Evento publicado (ApplicationEventPublisher) após o COMMIT de cada alteração de usuário,
+ * com um registro por campo efetivamente alterado. Consumido pela trilha de auditoria.
+ */
+@Data // (Lombok) Gera getters, equals e hashCode.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+public class UsuarioAlteradoEvent {
+
+    private List<RegistroAuditoriaDTO> alteracoes;
+}
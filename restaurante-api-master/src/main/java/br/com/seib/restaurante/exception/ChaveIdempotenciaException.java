@@ -0,0 +1,16 @@
+package br.com.seib.restaurante.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Lançada quando uma Idempotency-Key já utilizada é reenviada com um corpo diferente.
+ * Respondida como HTTP 422: o cliente deve gerar uma nova chave para uma nova requisição.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY) // Mapeia a exceção para o status 422 (Unprocessable Entity).
+public class ChaveIdempotenciaException extends RuntimeException {
+
+    public ChaveIdempotenciaException(String message) {
+        super(message);
+    }
+}
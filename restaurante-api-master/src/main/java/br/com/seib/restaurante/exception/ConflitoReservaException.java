@@ -0,0 +1,28 @@
+package br.com.seib.restaurante.exception;
+
+import br.com.seib.restaurante.dto.AlternativasReservaDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Lançada quando a mesa já está reservada no período solicitado.
+ * Respondida como HTTP 409, com as alternativas livres no corpo (quando calculadas).
+ */
+@ResponseStatus(HttpStatus.CONFLICT) // Mapeia a exceção para o status 409 (Conflict).
+public class ConflitoReservaException extends RuntimeException {
+
+    private final transient AlternativasReservaDTO alternativas;
+
+    public ConflitoReservaException(String message) {
+        this(message, null);
+    }
+
+    public ConflitoReservaException(String message, AlternativasReservaDTO alternativas) {
+        super(message);
+        this.alternativas = alternativas;
+    }
+
+    public AlternativasReservaDTO getAlternativas() {
+        return alternativas;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.seib.restaurante.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/**
+ * Lançada quando uma repetição (mesma Idempotency-Key) esperou o tempo máximo e a requisição
+ * original ainda não terminou. Respondida como HTTP 409, com o cabeçalho Retry-After.
+ */
+@ResponseStatus(HttpStatus.CONFLICT) // Mapeia a exceção para o status 409 (Conflict).
+public class RequisicaoEmAndamentoException extends RuntimeException {
+
+    private final Duration tenteNovamenteEm;
+
+    public RequisicaoEmAndamentoException(String message, Duration tenteNovamenteEm) {
+        super(message);
+        this.tenteNovamenteEm = tenteNovamenteEm;
+    }
+
+    public Duration getTenteNovamenteEm() {
+        return tenteNovamenteEm;
+    }
+}
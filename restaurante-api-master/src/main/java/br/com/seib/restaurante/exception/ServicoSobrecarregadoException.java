@@ -0,0 +1,16 @@
+package br.com.seib.restaurante.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Lançada quando um recurso limitado (ex.: o pool de hash de senhas) está com a fila cheia.
+ * Respondida como HTTP 503: o cliente pode tentar novamente em instantes.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // Mapeia a exceção para o status 503 (Service Unavailable).
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    public ServicoSobrecarregadoException(String message) {
+        super(message);
+    }
+}
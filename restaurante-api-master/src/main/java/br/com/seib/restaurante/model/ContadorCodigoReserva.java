@@ -0,0 +1,31 @@
+package br.com.seib.restaurante.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Entidade que representa a tabela 'contadores_codigo_reserva': um contador por dia
+ * para o código amigável das reservas (1, 2, 3... a cada dia).
+ * A API reserva blocos de códigos por vez (CodigoReservaService); a procedure sp_fazer_reserva
+ * usa a mesma tabela, código a código (func_gerar_proximo_id_reserva).
+ */
+@Data // (Lombok) Gera getters, setters, etc.
+@NoArgsConstructor // (Lombok) Construtor vazio, exigido pelo JPA.
+@AllArgsConstructor // (Lombok) Construtor com todos os campos.
+@Entity(name = "contadores_codigo_reserva") // Mapeia a classe para a tabela no MySQL.
+public class ContadorCodigoReserva {
+
+    // Chave Primária: o dia de início das reservas.
+    @Id
+    private LocalDate dia;
+
+    // Próximo código ainda não entregue a ninguém.
+    @Column(nullable = false)
+    private int proximo;
+}
@@ -2,18 +2,33 @@ package br.com.seib.restaurante.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 import java.math.BigDecimal;
 import java.util.List;
 
 /**
  * Representa um Documento na coleção 'cardapio' do MongoDB.
  * A estrutura flexível do NoSQL é ideal para dados complexos como um menu.
+ * * Índices compostos (criados na subida, spring.data.mongodb.auto-index-creation) atendem o filtro
+ * GET /api/cardapio/filtro: igualdade (categoria ou ingrediente), depois ordenação e faixa de preço,
+ * e o _id como desempate da paginação, sem etapa de ordenação em memória.
  */
 @Data // (Lombok) Gera getters e setters.
 @Document(collection = "cardapio") // Mapeia a classe para a coleção "cardapio" no MongoDB.
+@CompoundIndex(name = "cardapio_categoria_preco", def = "{'categoria': 1, 'preco': 1, '_id': 1}", collation = ItemCardapio.COLACAO)
+@CompoundIndex(name = "cardapio_ingredientes_preco", def = "{'ingredientes': 1, 'preco': 1, '_id': 1}", collation = ItemCardapio.COLACAO)
+@CompoundIndex(name = "cardapio_preco", def = "{'preco': 1, '_id': 1}", collation = ItemCardapio.COLACAO)
 public class ItemCardapio {
 
+    /**
+     * Comparação de textos dos índices e do filtro: português, sem diferenciar maiúsculas
+     * ("amendoim" exclui "Amendoim"). Consultas só usam um índice com a mesma colação.
+     */
+    public static final String COLACAO = "{'locale': 'pt', 'strength': 2}";
+
     // @Id: Define a Chave Primária, que é gerenciada pelo MongoDB e é do tipo String.
     @Id
     private String id;
@@ -23,6 +38,8 @@ public class ItemCardapio {
     private String categoria; // Utilizado para consultas de listagem (ex: 'Bebida', 'Lanche').
 
     // BigDecimal é usado para garantir a precisão de valores monetários.
+    // Gravado como Decimal128 (e não como texto): faixas de preço comparam valores numéricos.
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal preco;
 
     /**
@@ -30,4 +47,4 @@ public class ItemCardapio {
      * Campos podem ser arrays ou listas de dados sem precisar de tabelas de junção.
      */
     private List<String> ingredientes;
-}
\ No newline at end of file
+}
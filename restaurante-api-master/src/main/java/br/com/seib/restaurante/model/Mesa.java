@@ -34,4 +34,11 @@ public class Mesa {
      */
     @Column(nullable = false)
     private int capacidade;
+
+    /**
+     * Zona do salão (ex.: "Varanda"). Mesas da mesma zona podem ser unidas para grupos
+     * maiores que a capacidade de cada uma (CombinacaoMesasService). Nula: mesa não combinável.
+     */
+    @Column(length = 50)
+    private String zona;
 }
\ No newline at end of file
@@ -2,13 +2,17 @@ package br.com.seib.restaurante.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDateTime;
 
 /**
@@ -20,23 +24,43 @@ import java.time.LocalDateTime;
 @Entity(name = "reservas") // Mapeia a classe para a tabela 'reservas'.
 public class Reserva {
 
-    @Id // Chave Primária.
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Valor gerado por AUTO_INCREMENT.
+    /**
+     * Chave Primária gerada por sequência (no MySQL, emulada pela tabela 'reservas_seq').
+     * Justificativa: Com IDENTITY o Hibernate precisa executar cada INSERT imediatamente para obter o ID,
+     * o que desativa o JDBC batching. A sequência reserva blocos de 50 IDs em memória (otimizador pooled-lo),
+     * permitindo inserções em lote (POST /api/reservas/lote).
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservas_seq")
+    @SequenceGenerator(name = "reservas_seq", sequenceName = "reservas_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * Código amigável da reserva, sequencial dentro do dia de início (1, 2, 3...).
+     * Gerado pelo CodigoReservaService (substitui a função func_gerar_proximo_id_reserva).
+     */
+    @Column(name = "codigo")
+    private Integer codigo;
+
     /**
      * RELACIONAMENTO N:1 (Chave Estrangeira 1): O usuário que fez a reserva.
      * Coluna FK gerada: 'usuario_id' (NOT NULL).
+     * LAZY: o usuário só é lido quando acessado (listagens usam projeções com JOIN).
      */
-    @ManyToOne
+    @ToString.Exclude // Não dispara a carga da associação em logs e comparações.
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     private Usuario usuario;
 
     /**
      * RELACIONAMENTO N:1 (Chave Estrangeira 2): A mesa reservada.
      * Coluna FK gerada: 'mesa_id' (NOT NULL).
+     * LAZY: getMesa().getId() lê a própria FK, sem consultar a tabela 'mesas'.
      */
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mesa_id", nullable = false)
     private Mesa mesa;
 
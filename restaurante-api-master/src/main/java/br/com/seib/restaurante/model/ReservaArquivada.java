@@ -0,0 +1,54 @@
+package br.com.seib.restaurante.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa a tabela 'reservas_arquivo': reservas antigas movidas da tabela 'reservas'
+ * pelo ArquivamentoReservaService.
+ * * Justificativa: A tabela 'reservas' (e os seus índices) fica restrita às reservas recentes e futuras,
+ * as únicas relevantes para a checagem de conflito. O histórico continua consultável aqui.
+ * Sem chaves estrangeiras: usuário e mesa são guardados apenas pelo ID (o arquivo não trava
+ * nem depende das linhas de 'usuarios' e 'mesas').
+ */
+@Data // (Lombok) Gera getters e setters.
+@NoArgsConstructor // (Lombok) Construtor vazio.
+@Entity(name = "reservas_arquivo")
+@Table(indexes = {
+        @Index(name = "idx_arquivo_data_inicio", columnList = "data_hora_inicio"),
+        @Index(name = "idx_arquivo_mesa_data", columnList = "mesa_id, data_hora_inicio")})
+public class ReservaArquivada {
+
+    // Mesmo ID da reserva original (não gerado).
+    @Id
+    private Long id;
+
+    @Column(name = "codigo")
+    private Integer codigo;
+
+    @Column(nullable = false, name = "usuario_id")
+    private Long usuarioId;
+
+    @Column(nullable = false, name = "mesa_id")
+    private Long mesaId;
+
+    @Column(nullable = false, name = "data_hora_inicio")
+    private LocalDateTime dataHoraInicio;
+
+    @Column(nullable = false, name = "data_hora_fim")
+    private LocalDateTime dataHoraFim;
+
+    @Column(nullable = false)
+    private int numeroPessoas;
+
+    // Momento em que a reserva foi movida para o arquivo.
+    @Column(nullable = false, name = "arquivada_em")
+    private LocalDateTime arquivadaEm;
+}
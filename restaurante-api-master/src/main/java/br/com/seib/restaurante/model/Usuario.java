@@ -1,7 +1,10 @@
 package br.com.seib.restaurante.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -9,7 +12,9 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Entidade que representa a tabela 'usuarios', contendo as informações básicas
@@ -31,6 +36,8 @@ public class Usuario {
     @Column(nullable = false, unique = true)
     private String email; // Restrição UNIQUE para o login
 
+    // WRITE_ONLY: aceita a senha no cadastro, mas nunca a devolve nas respostas JSON.
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String senha;
 
@@ -38,8 +45,13 @@ public class Usuario {
      * RELACIONAMENTO CHAVE ESTRANGEIRA (Foreign Key):
      * Mapeia o relacionamento N:1 (Muitos Usuários para Um Grupo).
      * Essa é a coluna 'grupo_id' que liga esta tabela à tabela 'grupos_usuarios'.
+     * LAZY: o grupo não é lido a cada busca de usuário (ex.: na criação de reservas).
+     * Uso interno (permissões): não é serializado nas respostas JSON.
      */
-    @ManyToOne // (JPA) Muitos Usuários para Um GrupoUsuario
+    @JsonIgnore
+    @ToString.Exclude // Não dispara a carga da associação em logs e comparações.
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY) // (JPA) Muitos Usuários para Um GrupoUsuario
     @JoinColumn(name = "grupo_id", nullable = false) // Coluna 'grupo_id' com restrição NOT NULL
     private GrupoUsuario grupo;
 
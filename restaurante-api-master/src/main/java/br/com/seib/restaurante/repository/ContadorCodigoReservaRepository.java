@@ -0,0 +1,36 @@
+package br.com.seib.restaurante.repository;
+
+import br.com.seib.restaurante.model.ContadorCodigoReserva;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Interface Repository para a Entidade ContadorCodigoReserva.
+ */
+@Repository // Identifica a interface como um repositório gerenciado pelo Spring.
+public interface ContadorCodigoReservaRepository extends JpaRepository<ContadorCodigoReserva, LocalDate> {
+
+    /**
+     * Busca o contador do dia travando a linha até o fim da transação (SELECT ... FOR UPDATE).
+     * Garante que duas instâncias da API nunca recebam o mesmo bloco de códigos.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM contadores_codigo_reserva c WHERE c.dia = :dia")
+    Optional<ContadorCodigoReserva> findParaAlocacao(@Param("dia") LocalDate dia);
+
+    /**
+     * Cria o contador do dia com INSERT explícito (um save() faria merge e poderia sobrescrever
+     * o contador criado ao mesmo tempo por outra instância). A chave primária recusa o segundo.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO contadores_codigo_reserva (dia, proximo) VALUES (:dia, 1)", nativeQuery = true)
+    void criar(@Param("dia") LocalDate dia);
+}
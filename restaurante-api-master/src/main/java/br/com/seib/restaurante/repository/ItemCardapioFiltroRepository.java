@@ -0,0 +1,23 @@
+package br.com.seib.restaurante.repository;
+
+import br.com.seib.restaurante.dto.FiltroCardapioDTO;
+import br.com.seib.restaurante.dto.ItemCardapioResumoDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Consultas do cardápio montadas com MongoTemplate (fragmento do ItemCardapioRepository).
+ */
+public interface ItemCardapioFiltroRepository {
+
+    /**
+     * Itens que atendem ao filtro, ordenados por preço (e _id), apenas com os campos do resumo.
+     */
+    Slice<ItemCardapioResumoDTO> filtrar(FiltroCardapioDTO filtro, Pageable pageable);
+
+    /**
+     * Converte para Decimal128 os preços gravados como texto (mapeamento anterior do BigDecimal).
+     * Retorna a quantidade de itens convertidos.
+     */
+    long converterPrecosEmTexto();
+}
@@ -0,0 +1,126 @@
+package br.com.seib.restaurante.repository;
+
+import br.com.seib.restaurante.dto.FiltroCardapioDTO;
+import br.com.seib.restaurante.dto.ItemCardapioResumoDTO;
+import br.com.seib.restaurante.model.ItemCardapio;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementação do fragmento ItemCardapioFiltroRepository (MongoTemplate + Criteria).
+ * * Justificativa: Os filtros são opcionais e combináveis, o que multiplicaria os métodos derivados.
+ * A consulta segue a ordem dos índices compostos de ItemCardapio (igualdade, ordenação por preço
+ * e _id, faixa de preço) e usa a mesma colação deles; a exclusão de ingredientes ($nin) é aplicada
+ * sobre os documentos já selecionados pelo índice.
+ */
+public class ItemCardapioFiltroRepositoryImpl implements ItemCardapioFiltroRepository {
+
+    private static final Collation COLACAO = Collation.parse(ItemCardapio.COLACAO);
+
+    private final MongoTemplate mongoTemplate;
+
+    public ItemCardapioFiltroRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Slice<ItemCardapioResumoDTO> filtrar(FiltroCardapioDTO filtro, Pageable pageable) {
+        Query query = consulta(filtro)
+                .with(Sort.by(Sort.Order.asc("preco"), Sort.Order.asc("id")))
+                .skip(pageable.getOffset())
+                // Um item a mais indica se existe a próxima página (sem count).
+                .limit(pageable.getPageSize() + 1);
+        query.fields().include("nome", "categoria", "preco");
+
+        // Consulta mapeada pela entidade (preço como Decimal128), resultado lido como resumo.
+        List<ItemCardapioResumoDTO> itens = mongoTemplate.query(ItemCardapio.class)
+                .as(ItemCardapioResumoDTO.class)
+                .matching(query)
+                .all();
+
+        boolean temProxima = itens.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? itens.subList(0, pageable.getPageSize()) : itens, pageable, temProxima);
+    }
+
+    /**
+     * Filtro (sem ordenação nem paginação) com a colação dos índices.
+     */
+    static Query consulta(FiltroCardapioDTO filtro) {
+        Criteria criteria = new Criteria();
+        if (StringUtils.hasText(filtro.getCategoria())) {
+            criteria.and("categoria").is(filtro.getCategoria().strip());
+        }
+        if (filtro.getPrecoMinimo() != null || filtro.getPrecoMaximo() != null) {
+            Criteria preco = criteria.and("preco");
+            if (filtro.getPrecoMinimo() != null) {
+                preco.gte(filtro.getPrecoMinimo());
+            }
+            if (filtro.getPrecoMaximo() != null) {
+                preco.lte(filtro.getPrecoMaximo());
+            }
+        }
+
+        List<String> com = valores(filtro.getComIngredientes());
+        List<String> sem = valores(filtro.getSemIngredientes());
+        if (!com.isEmpty() || !sem.isEmpty()) {
+            Criteria ingredientes = criteria.and("ingredientes");
+            if (!com.isEmpty()) {
+                ingredientes.all(com);
+            }
+            if (!sem.isEmpty()) {
+                ingredientes.nin(sem);
+            }
+        }
+        return new Query(criteria).collation(COLACAO);
+    }
+
+    @Override
+    public long converterPrecosEmTexto() {
+        Query emTexto = new Query(Criteria.where("preco").type(JsonSchemaObject.Type.stringType()));
+        emTexto.fields().include("preco");
+
+        BulkOperations conversoes = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ItemCardapio.class);
+        long convertidos = 0;
+        try (Stream<Document> documentos = mongoTemplate.stream(emTexto, Document.class,
+                mongoTemplate.getCollectionName(ItemCardapio.class))) {
+            for (Document documento : (Iterable<Document>) documentos::iterator) {
+                BigDecimal preco;
+                try {
+                    preco = new BigDecimal(documento.getString("preco"));
+                } catch (NumberFormatException e) {
+                    continue; // Valor inválido: mantido como está.
+                }
+                conversoes.updateOne(Query.query(Criteria.where("_id").is(documento.get("_id"))),
+                        Update.update("preco", new Decimal128(preco)));
+                convertidos++;
+            }
+        }
+        if (convertidos > 0) {
+            conversoes.execute();
+        }
+        return convertidos;
+    }
+
+    private static List<String> valores(List<String> lista) {
+        return lista == null ? List.of() : lista.stream()
+                .filter(StringUtils::hasText)
+                .map(String::strip)
+                .toList();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.seib.restaurante.repository;
+
+import br.com.seib.restaurante.model.ItemCardapio;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Variante reativa do ItemCardapioRepository (driver Reactive Streams do MongoDB), para a leitura
+ * do cardápio sem bloquear threads. As consultas retornam Flux/Mono: os documentos são pedidos ao
+ * cursor conforme o assinante (a resposta HTTP) consome, com contrapressão.
+ * A escrita continua no repositório bloqueante (invalida o cache e o índice de busca).
+ */
+@Repository // Identifica a interface como um repositório gerenciado pelo Spring.
+public interface ItemCardapioReativoRepository extends ReactiveMongoRepository<ItemCardapio, String> {
+
+    /**
+     * Mesma Query Derivation do repositório bloqueante, emitindo os itens à medida que chegam.
+     */
+    Flux<ItemCardapio> findByCategoria(String categoria);
+}
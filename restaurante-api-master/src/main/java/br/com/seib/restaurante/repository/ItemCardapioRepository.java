@@ -1,17 +1,20 @@
 package br.com.seib.restaurante.repository;
 
 import br.com.seib.restaurante.model.ItemCardapio;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface Repository para o Documento ItemCardapio.
  * Estende MongoRepository, o que permite o acesso a dados no MongoDB.
+ * O filtro por múltiplos critérios vem do fragmento ItemCardapioFiltroRepository.
  */
 @Repository // Identifica a interface como um repositório gerenciado pelo Spring.
-public interface ItemCardapioRepository extends MongoRepository<ItemCardapio, String> {
+public interface ItemCardapioRepository extends MongoRepository<ItemCardapio, String>, ItemCardapioFiltroRepository {
 
     // MongoRepository<ItemCardapio, String>
     // 1. ItemCardapio: Define o Documento (coleção) gerenciado.
@@ -22,4 +25,20 @@ public interface ItemCardapioRepository extends MongoRepository<ItemCardapio, St
      * (query) que busca todos os documentos com base no campo 'categoria'.
      */
     List<ItemCardapio> findByCategoria(String categoria);
+
+    /**
+     * Paginação por cursor (keyset): primeira página, ordenada pelo _id.
+     */
+    List<ItemCardapio> findAllByOrderByIdAsc(Limit limite);
+
+    /**
+     * Paginação por cursor (keyset): próxima página a partir do último _id visto (usa o índice de _id).
+     */
+    List<ItemCardapio> findByIdGreaterThanOrderByIdAsc(String id, Limit limite);
+
+    /**
+     * Leitura em streaming sobre o cursor do MongoDB: os documentos chegam em lotes,
+     * sem materializar a coleção inteira. O Stream deve ser fechado após o uso.
+     */
+    Stream<ItemCardapio> streamAllBy();
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package br.com.seib.restaurante.repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Leitura em streaming de consultas JPQL (fragmento compartilhado pelos repositórios JPA).
+ */
+public interface LeituraEmStreaming {
+
+    /**
+     * Executa a consulta lendo as linhas à medida que o Stream é consumido, sem carregar o resultado
+     * inteiro na memória. Deve ser consumido (e fechado) dentro de uma transação.
+     */
+    <T> Stream<T> lerEmStreaming(String jpql, Class<T> tipo);
+}
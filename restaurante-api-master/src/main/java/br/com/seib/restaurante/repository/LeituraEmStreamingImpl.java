@@ -0,0 +1,40 @@
+package br.com.seib.restaurante.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * Implementação do fragmento LeituraEmStreaming.
+ * * Justificativa: O driver do MySQL carrega o resultado inteiro na memória, a menos que o fetch size
+ * seja Integer.MIN_VALUE (streaming linha a linha) ou que 'useCursorFetch=true' esteja na URL.
+ * A opção da URL vale para todas as consultas (prepared statements no servidor, inclusive nos INSERTs
+ * em lote); o fetch size aplicado aqui vale só para estas leituras. Outros bancos (H2 nos testes)
+ * recusam o valor negativo e leem em blocos de TAMANHO_BLOCO linhas.
+ */
+public class LeituraEmStreamingImpl implements LeituraEmStreaming {
+
+    static final int TAMANHO_BLOCO = 500;
+
+    private final EntityManager entityManager;
+
+    public LeituraEmStreamingImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public <T> Stream<T> lerEmStreaming(String jpql, Class<T> tipo) {
+        return entityManager.createQuery(jpql, tipo)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, tamanhoDoBloco())
+                .getResultStream();
+    }
+
+    private int tamanhoDoBloco() {
+        boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+        return mysql ? Integer.MIN_VALUE : TAMANHO_BLOCO;
+    }
+}
@@ -1,16 +1,26 @@
 package br.com.seib.restaurante.repository;
 
 import br.com.seib.restaurante.model.Mesa;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository; // Adicionamos a anotação padrão
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Interface Repository para a Entidade Mesa.
  * Herda funcionalidades CRUD básicas (Create, Read, Update, Delete)
  * através da convenção do Spring Data JPA.
  */
 @Repository // Identifica a interface como um repositório gerenciado pelo Spring.
-public interface MesaRepository extends JpaRepository<Mesa, Long> {
+public interface MesaRepository extends JpaRepository<Mesa, Long>, LeituraEmStreaming {
 
     // JpaRepository<Mesa, Long>
     // 1. Mesa: Define a Entidade que será gerenciada (a tabela).
@@ -18,4 +28,34 @@ public interface MesaRepository extends JpaRepository<Mesa, Long> {
 
     // NOTA: Todos os métodos de CRUD (save, findById, findAll, delete)
     // são fornecidos automaticamente pelo Spring, sem necessidade de implementação manual.
+
+    /**
+     * Busca a mesa travando a linha até o fim da transação (SELECT ... FOR UPDATE),
+     * a mesma exclusão utilizada pela procedure sp_fazer_reserva.
+     * Garante a serialização das reservas da mesma mesa também entre instâncias da API.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM mesas m WHERE m.id = :id")
+    Optional<Mesa> findByIdParaReserva(@Param("id") Long id);
+
+    /**
+     * Versão em lote da busca com trava: trava as linhas de várias mesas em uma única consulta.
+     * A ordenação por ID mantém a mesma ordem de travamento entre transações concorrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM mesas m WHERE m.id IN :ids ORDER BY m.id")
+    List<Mesa> findAllByIdParaReserva(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Paginação por cursor (keyset): próxima página a partir do último ID visto.
+     * SQL: SELECT * FROM mesas WHERE id > ? ORDER BY id ASC LIMIT ?
+     */
+    List<Mesa> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Leitura em streaming de todas as mesas, por ID (deve ser consumida dentro de uma transação).
+     */
+    default Stream<Mesa> streamAllByOrderByIdAsc() {
+        return lerEmStreaming("SELECT m FROM mesas m ORDER BY m.id", Mesa.class);
+    }
 }
\ No newline at end of file
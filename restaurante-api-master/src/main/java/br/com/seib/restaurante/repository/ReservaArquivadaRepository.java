@@ -0,0 +1,63 @@
+package br.com.seib.restaurante.repository;
+
+import br.com.seib.restaurante.dto.ReservaOcupacao;
+import br.com.seib.restaurante.dto.ReservaResumoDTO;
+import br.com.seib.restaurante.model.ReservaArquivada;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Interface Repository do arquivo de reservas (tabela 'reservas_arquivo').
+ */
+@Repository
+public interface ReservaArquivadaRepository extends JpaRepository<ReservaArquivada, Long>, LeituraEmStreaming {
+
+    /**
+     * Copia as reservas informadas para o arquivo em uma única instrução (INSERT ... SELECT),
+     * sem trazer as linhas para a aplicação. Executada na mesma transação que as remove de 'reservas'.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO reservas_arquivo " +
+            "(id, codigo, usuario_id, mesa_id, data_hora_inicio, data_hora_fim, numero_pessoas, arquivada_em) " +
+            "SELECT id, codigo, usuario_id, mesa_id, data_hora_inicio, data_hora_fim, numero_pessoas, :agora " +
+            "FROM reservas WHERE id IN :ids", nativeQuery = true)
+    int copiarDeReservas(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Histórico arquivado no período [de, ate), na mesma ordem e projeção da listagem de reservas,
+     * a partir da posição (inicio, id) do cursor. LEFT JOIN: usuário ou mesa podem ter sido removidos.
+     */
+    @Query("SELECT new br.com.seib.restaurante.dto.ReservaResumoDTO(" +
+            "a.id, a.codigo, a.dataHoraInicio, a.dataHoraFim, a.numeroPessoas, a.mesaId, COALESCE(m.numeroMesa, 0), " +
+            "a.usuarioId, u.nome) " +
+            "FROM reservas_arquivo a LEFT JOIN mesas m ON m.id = a.mesaId LEFT JOIN usuarios u ON u.id = a.usuarioId " +
+            "WHERE a.dataHoraInicio >= :de AND a.dataHoraInicio < :ate " +
+            "AND (:mesaId IS NULL OR a.mesaId = :mesaId) " +
+            "AND (a.dataHoraInicio > :aposInicio OR (a.dataHoraInicio = :aposInicio AND a.id > :aposId)) " +
+            "ORDER BY a.dataHoraInicio ASC, a.id ASC")
+    List<ReservaResumoDTO> findHistorico(
+            @Param("mesaId") Long mesaId,
+            @Param("de") LocalDateTime de,
+            @Param("ate") LocalDateTime ate,
+            @Param("aposInicio") LocalDateTime aposInicio,
+            @Param("aposId") Long aposId,
+            Limit limite
+    );
+
+    /**
+     * Leitura em streaming do arquivo como projeção (reconstrução das estatísticas de ocupação).
+     */
+    default Stream<ReservaOcupacao> streamOcupacao() {
+        return lerEmStreaming("SELECT new br.com.seib.restaurante.dto.ReservaOcupacao(a.id, a.mesaId, a.dataHoraInicio, " +
+                "a.dataHoraFim, a.numeroPessoas) FROM reservas_arquivo a", ReservaOcupacao.class);
+    }
+}
@@ -1,20 +1,29 @@
 package br.com.seib.restaurante.repository;
 
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.dto.ReservaOcupacao;
+import br.com.seib.restaurante.dto.ReservaPainelDTO;
+import br.com.seib.restaurante.dto.ReservaResumoDTO;
 import br.com.seib.restaurante.model.Reserva;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface Repository para a Entidade Reserva.
  * Contém a lógica personalizada para detecção de conflito de horários.
  */
 @Repository // Identifica a interface como um repositório gerenciado pelo Spring.
-public interface ReservaRepository extends JpaRepository<Reserva, Long> {
+public interface ReservaRepository extends JpaRepository<Reserva, Long>, LeituraEmStreaming {
 
     /**
      * Consulta personalizada para detectar qualquer sobreposição de horários
@@ -38,4 +47,126 @@ public interface ReservaRepository extends JpaRepository<Reserva, Long> {
      * SQL: SELECT * FROM reservas WHERE mesa_id = ? ORDER BY data_hora_inicio ASC
      */
     List<Reserva> findByMesaIdOrderByDataHoraInicioAsc(Long mesaId);
-}
\ No newline at end of file
+
+    /**
+     * Query Derivation com prefixo 'exists': o Spring gera um SELECT limitado a 1 linha,
+     * sem carregar as entidades conflitantes.
+     * Mesmo princípio de conflito de intervalos: (Inicio Antigo < Fim Novo) E (Fim Antigo > Inicio Novo).
+     */
+    boolean existsByMesaIdAndDataHoraInicioBeforeAndDataHoraFimAfter(
+            Long mesaId,
+            LocalDateTime fimNovoPeriodo,
+            LocalDateTime inicioNovoPeriodo
+    );
+
+    /**
+     * Atalho legível para a checagem de conflito acima.
+     * Utilizado pelo ReservaService como guarda final de consistência após o índice em memória.
+     */
+    default boolean existeConflito(Long mesaId, LocalDateTime inicio, LocalDateTime fim) {
+        return existsByMesaIdAndDataHoraInicioBeforeAndDataHoraFimAfter(mesaId, fim, inicio);
+    }
+
+    /**
+     * Constructor Expression (JPQL): retorna apenas mesa e horários das reservas que terminam
+     * após o instante informado, sem JOIN com usuarios/mesas (r.mesa.id lê a própria FK).
+     * Utilizada para aquecer o índice de disponibilidade na inicialização.
+     */
+    @Query("SELECT new br.com.seib.restaurante.dto.IntervaloReserva(r.id, r.mesa.id, r.dataHoraInicio, r.dataHoraFim) " +
+            "FROM reservas r " +
+            "WHERE r.dataHoraFim > :desde")
+    List<IntervaloReserva> findIntervalosTerminandoApos(@Param("desde") LocalDateTime desde);
+
+    /**
+     * Versão em lote da checagem de conflito: retorna, em uma única consulta, os horários ocupados
+     * de várias mesas que se sobrepõem à janela [inicio, fim) (usa o índice idx_reserva_mesa_data).
+     */
+    @Query("SELECT new br.com.seib.restaurante.dto.IntervaloReserva(r.id, r.mesa.id, r.dataHoraInicio, r.dataHoraFim) " +
+            "FROM reservas r " +
+            "WHERE r.mesa.id IN :mesaIds " +
+            "AND r.dataHoraInicio < :fim " +
+            "AND r.dataHoraFim > :inicio")
+    List<IntervaloReserva> findIntervalosConflitantes(
+            @Param("mesaIds") Collection<Long> mesaIds,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim
+    );
+
+    /**
+     * Leitura em streaming de todas as reservas como projeção (deve ser consumida dentro de uma transação).
+     * Utilizada apenas para reconstruir as estatísticas de ocupação a partir da tabela base.
+     */
+    default Stream<ReservaOcupacao> streamOcupacao() {
+        return lerEmStreaming("SELECT new br.com.seib.restaurante.dto.ReservaOcupacao(r.id, r.mesa.id, r.dataHoraInicio, " +
+                "r.dataHoraFim, r.numeroPessoas) FROM reservas r", ReservaOcupacao.class);
+    }
+
+    /**
+     * Reservas que começam em [inicio, fim), já com os dados exibidos no painel (1 consulta com JOIN).
+     * Diferente de DATE(data_hora_inicio) = CURDATE() na view, o intervalo é sargable
+     * (usa o índice idx_reserva_data_inicio).
+     */
+    @Query("SELECT new br.com.seib.restaurante.dto.ReservaPainelDTO(" +
+            "r.id, r.dataHoraInicio, r.dataHoraFim, u.nome, u.email, m.numeroMesa, r.numeroPessoas) " +
+            "FROM reservas r JOIN r.usuario u JOIN r.mesa m " +
+            "WHERE r.dataHoraInicio >= :inicio AND r.dataHoraInicio < :fim " +
+            "ORDER BY r.dataHoraInicio ASC")
+    List<ReservaPainelDTO> findPainelEntre(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Listagem de leitura das reservas que começam em [inicio, fim): projeção com JOIN em mesas
+     * e usuarios, sem carregar entidades. Uma consulta por página (Slice: sem SELECT COUNT).
+     */
+    @Query("SELECT new br.com.seib.restaurante.dto.ReservaResumoDTO(" +
+            "r.id, r.codigo, r.dataHoraInicio, r.dataHoraFim, r.numeroPessoas, m.id, m.numeroMesa, u.id, u.nome) " +
+            "FROM reservas r JOIN r.mesa m JOIN r.usuario u " +
+            "WHERE r.dataHoraInicio >= :inicio AND r.dataHoraInicio < :fim " +
+            "ORDER BY r.dataHoraInicio ASC, r.id ASC")
+    Slice<ReservaResumoDTO> findResumoEntre(
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            Pageable pagina
+    );
+
+    /**
+     * Mesma listagem, restrita a uma mesa (usa o índice idx_reserva_mesa_data).
+     */
+    @Query("SELECT new br.com.seib.restaurante.dto.ReservaResumoDTO(" +
+            "r.id, r.codigo, r.dataHoraInicio, r.dataHoraFim, r.numeroPessoas, m.id, m.numeroMesa, u.id, u.nome) " +
+            "FROM reservas r JOIN r.mesa m JOIN r.usuario u " +
+            "WHERE r.mesa.id = :mesaId AND r.dataHoraInicio >= :inicio AND r.dataHoraInicio < :fim " +
+            "ORDER BY r.dataHoraInicio ASC, r.id ASC")
+    Slice<ReservaResumoDTO> findResumoPorMesaEntre(
+            @Param("mesaId") Long mesaId,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            Pageable pagina
+    );
+
+    /**
+     * Próximo lote de reservas a arquivar: as mais antigas que começaram antes de 'limite'
+     * (lê apenas o índice idx_reserva_data_inicio).
+     */
+    @Query("SELECT r.id FROM reservas r WHERE r.dataHoraInicio < :limite ORDER BY r.dataHoraInicio ASC")
+    List<Long> findIdsParaArquivar(@Param("limite") LocalDateTime limite, Limit tamanho);
+
+    /**
+     * Histórico ainda não arquivado no período [de, ate), opcionalmente de uma mesa, a partir da
+     * posição (inicio, id) do cursor. Complementa ReservaArquivadaRepository.findHistorico.
+     */
+    @Query("SELECT new br.com.seib.restaurante.dto.ReservaResumoDTO(" +
+            "r.id, r.codigo, r.dataHoraInicio, r.dataHoraFim, r.numeroPessoas, m.id, m.numeroMesa, u.id, u.nome) " +
+            "FROM reservas r JOIN r.mesa m JOIN r.usuario u " +
+            "WHERE r.dataHoraInicio >= :de AND r.dataHoraInicio < :ate " +
+            "AND (:mesaId IS NULL OR m.id = :mesaId) " +
+            "AND (r.dataHoraInicio > :aposInicio OR (r.dataHoraInicio = :aposInicio AND r.id > :aposId)) " +
+            "ORDER BY r.dataHoraInicio ASC, r.id ASC")
+    List<ReservaResumoDTO> findHistorico(
+            @Param("mesaId") Long mesaId,
+            @Param("de") LocalDateTime de,
+            @Param("ate") LocalDateTime ate,
+            @Param("aposInicio") LocalDateTime aposInicio,
+            @Param("aposId") Long aposId,
+            Limit limite
+    );
+}
@@ -0,0 +1,191 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
+import br.com.seib.restaurante.dto.ReservaResumoDTO;
+import br.com.seib.restaurante.repository.ReservaArquivadaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Arquivamento das reservas antigas: move da tabela 'reservas' para 'reservas_arquivo' as reservas
+ * que começaram antes do horizonte configurado, e responde o histórico a partir das duas tabelas.
+ * * Justificativa: A checagem de conflito, o índice idx_reserva_mesa_data e as views só precisam das
+ * reservas recentes e futuras; com a tabela quente pequena, os índices cabem em memória.
+ * Cada lote (INSERT ... SELECT + DELETE de poucas linhas) é uma transação curta, com uma pausa entre
+ * lotes: as travas duram milissegundos e as reservas em andamento não ficam esperando.
+ */
+@Service
+public class ArquivamentoReservaService {
+
+    private static final Comparator<ReservaResumoDTO> POR_INICIO_E_ID =
+            Comparator.comparing(ReservaResumoDTO::getDataHoraInicio).thenComparing(ReservaResumoDTO::getId);
+
+    private final ReservaRepository reservaRepository;
+    private final ReservaArquivadaRepository arquivoRepository;
+    private final DisponibilidadeService disponibilidadeService;
+    private final TransactionTemplate transacao;
+
+    // Reservas que começaram há mais que 'horizonte' (contado a partir do início do dia) são arquivadas.
+    private final Duration horizonte;
+    private final int tamanhoLote;
+    private final Duration pausa;
+    private final int maximoLotes;
+
+    // 'false' em todas as instâncias menos uma: o arquivamento roda em uma única instância do cluster.
+    private final boolean agendamentoHabilitado;
+
+    private final Counter arquivadas;
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public ArquivamentoReservaService(ReservaRepository reservaRepository,
+                                      ReservaArquivadaRepository arquivoRepository,
+                                      DisponibilidadeService disponibilidadeService,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${reserva.arquivamento.horizonte:90d}") Duration horizonte,
+                                      @Value("${reserva.arquivamento.tamanho-lote:500}") int tamanhoLote,
+                                      @Value("${reserva.arquivamento.pausa:200ms}") Duration pausa,
+                                      @Value("${reserva.arquivamento.maximo-lotes:2000}") int maximoLotes,
+                                      @Value("${agendamento.habilitado:true}") boolean agendamentoHabilitado) {
+        this.reservaRepository = reservaRepository;
+        this.arquivoRepository = arquivoRepository;
+        this.disponibilidadeService = disponibilidadeService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.horizonte = horizonte;
+        this.tamanhoLote = tamanhoLote;
+        this.pausa = pausa;
+        this.maximoLotes = maximoLotes;
+        this.agendamentoHabilitado = agendamentoHabilitado;
+        this.arquivadas = Counter.builder("restaurante.reservas.arquivadas")
+                .description("Reservas movidas para a tabela reservas_arquivo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Execução agendada (padrão: de madrugada, fora do horário de atendimento).
+     * Verificada a cada disparo (e não por uma condição de configuração), para valer também com AOT.
+     */
+    @Scheduled(cron = "${reserva.arquivamento.cron:0 30 4 * * *}")
+    public void executarAgendado() {
+        if (agendamentoHabilitado) {
+            arquivar();
+        }
+    }
+
+    /**
+     * Arquiva em lotes até não restarem reservas anteriores ao horizonte (ou até 'maximo-lotes'),
+     * e descarta do índice de disponibilidade as reservas que já terminaram. Uma execução por vez.
+     * Retorna o número de reservas arquivadas.
+     */
+    public synchronized int arquivar() {
+        LocalDateTime inicioDoDia = LocalDate.now().atStartOfDay();
+        LocalDateTime limite = inicioDoDia.minus(horizonte);
+
+        int total = 0;
+        for (int lote = 0; lote < maximoLotes; lote++) {
+            int movidas = transacao.execute(status -> arquivarLote(limite));
+            total += movidas;
+            arquivadas.increment(movidas);
+            if (movidas < tamanhoLote || !pausar()) {
+                break;
+            }
+        }
+
+        disponibilidadeService.descartarTerminadasAntes(inicioDoDia);
+        return total;
+    }
+
+    /**
+     * Um lote: copia para o arquivo e remove da tabela quente, na mesma transação.
+     */
+    private int arquivarLote(LocalDateTime limite) {
+        List<Long> ids = reservaRepository.findIdsParaArquivar(limite, Limit.of(tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        arquivoRepository.copiarDeReservas(ids, LocalDateTime.now());
+        reservaRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausa);
+            return true;
+        } catch (InterruptedException e) {
+            // Encerramento da aplicação: o restante fica para a próxima execução.
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Histórico de reservas que começaram em [de, ate), opcionalmente de uma mesa, reunindo a tabela
+     * quente e o arquivo em uma única ordem (início, ID), paginado por cursor ("inicio_id").
+     * A tabela quente é lida antes do arquivo: uma reserva arquivada entre as duas leituras aparece
+     * nas duas (e é contada uma vez), nunca em nenhuma.
+     */
+    public PaginaCursorDTO<ReservaResumoDTO> buscarHistorico(Long mesaId, LocalDate de, LocalDate ate,
+                                                             String apos, int limite) {
+        limite = PaginaCursorDTO.limitar(limite);
+        LocalDateTime inicio = de.atStartOfDay();
+        LocalDateTime fim = ate.atStartOfDay();
+        LocalDateTime aposInicio = inicio;
+        long aposId = 0;
+        if (apos != null) {
+            int separador = apos.lastIndexOf('_');
+            try {
+                aposInicio = LocalDateTime.parse(apos.substring(0, Math.max(separador, 0)));
+                aposId = Long.parseLong(apos.substring(separador + 1));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new RuntimeException("Cursor inválido: " + apos);
+            }
+        }
+
+        List<ReservaResumoDTO> recentes = reservaRepository.findHistorico(mesaId, inicio, fim, aposInicio, aposId,
+                Limit.of(limite));
+        List<ReservaResumoDTO> arquivadas = arquivoRepository.findHistorico(mesaId, inicio, fim, aposInicio, aposId,
+                Limit.of(limite));
+
+        List<ReservaResumoDTO> todas = new ArrayList<>(recentes.size() + arquivadas.size());
+        Set<Long> vistas = new HashSet<>();
+        for (ReservaResumoDTO reserva : recentes) {
+            vistas.add(reserva.getId());
+            todas.add(reserva);
+        }
+        for (ReservaResumoDTO reserva : arquivadas) {
+            if (vistas.add(reserva.getId())) {
+                todas.add(reserva);
+            }
+        }
+        todas.sort(POR_INICIO_E_ID);
+
+        // Há mais itens se a junção passou do limite ou se alguma das leituras veio cheia.
+        boolean haMais = todas.size() > limite || recentes.size() == limite || arquivadas.size() == limite;
+        List<ReservaResumoDTO> pagina = todas.subList(0, Math.min(limite, todas.size()));
+        String proximoCursor = null;
+        if (haMais && !pagina.isEmpty()) {
+            ReservaResumoDTO ultima = pagina.get(pagina.size() - 1);
+            proximoCursor = ultima.getDataHoraInicio() + "_" + ultima.getId();
+        }
+        return new PaginaCursorDTO<>(List.copyOf(pagina), proximoCursor);
+    }
+}
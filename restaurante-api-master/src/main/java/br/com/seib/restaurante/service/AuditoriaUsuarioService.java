@@ -0,0 +1,373 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.RegistroAuditoriaDTO;
+import br.com.seib.restaurante.event.UsuarioAlteradoEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trilha de auditoria das alterações de usuários, gravada em segundo plano (write-behind).
+ * Substitui o trigger trg_after_update_usuarios e a tabela 'auditoria_usuarios'.
+ * * Justificativa: O trigger fazia até 2 INSERTs dentro de cada transação de alteração. Aqui a
+ * alteração apenas enfileira os registros (fila sem travas) e responde; uma única thread grava
+ * os registros em lotes, em um log NDJSON somente de acréscimo, dividido em segmentos de tamanho
+ * limitado. Segmentos antigos são apagados pela retenção, sem DELETE em tabela. A durabilidade
+ * (fsync) é configurável: a cada lote, em intervalos ou a critério do sistema operacional.
+ * Com a fila cheia (disco lento ou indisponível), novos registros são descartados e contados,
+ * em vez de atrasar as alterações.
+ */
+@Service
+public class AuditoriaUsuarioService {
+
+    /**
+     * Quando os dados gravados são forçados ao disco (fsync): a cada lote gravado, no máximo uma vez
+     * por 'auditoria.intervalo-sincronizacao' (registros dos últimos instantes podem se perder em
+     * uma queda do servidor) ou apenas quando o sistema operacional decidir.
+     */
+    public enum Sincronizacao { SEMPRE, INTERVALO, NUNCA }
+
+    private static final String PREFIXO_SEGMENTO = "auditoria-";
+    private static final String SUFIXO_SEGMENTO = ".log";
+
+    private final ObjectMapper objectMapper;
+    private final Path diretorio;
+    private final long tamanhoSegmento;
+    private final Sincronizacao sincronizacao;
+    private final long intervaloSincronizacaoNs;
+    private final Duration retencao;
+    private final int tamanhoLote;
+    private final long intervaloGravacaoNs;
+    private final int filaMaxima;
+
+    // Fila sem travas: quem altera um usuário nunca espera pela gravação.
+    private final ConcurrentLinkedQueue<RegistroAuditoriaDTO> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanhoFila = new AtomicInteger();
+
+    private final Counter descartados;
+    private final Counter falhas;
+
+    private final Thread gravador;
+    private volatile boolean ativo = true;
+
+    // Estado da thread de gravação (acessado apenas por ela).
+    private final List<RegistroAuditoriaDTO> lote = new ArrayList<>();
+    private FileChannel segmento;
+    private Path caminhoSegmento;
+    private long tamanhoAtual;
+    private long ultimoSegmento;
+    private long ultimaSincronizacao = System.nanoTime();
+    private boolean pendenteSincronizar;
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public AuditoriaUsuarioService(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auditoria.diretorio:auditoria}") Path diretorio,
+                                   @Value("${auditoria.tamanho-segmento:16MB}") DataSize tamanhoSegmento,
+                                   @Value("${auditoria.sincronizacao:INTERVALO}") Sincronizacao sincronizacao,
+                                   @Value("${auditoria.intervalo-sincronizacao:1s}") Duration intervaloSincronizacao,
+                                   @Value("${auditoria.retencao:90d}") Duration retencao,
+                                   @Value("${auditoria.tamanho-lote:256}") int tamanhoLote,
+                                   @Value("${auditoria.intervalo-gravacao:200ms}") Duration intervaloGravacao,
+                                   @Value("${auditoria.fila-maxima:100000}") int filaMaxima) {
+        this.objectMapper = objectMapper;
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento.toBytes();
+        this.sincronizacao = sincronizacao;
+        this.intervaloSincronizacaoNs = intervaloSincronizacao.toNanos();
+        this.retencao = retencao;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloGravacaoNs = intervaloGravacao.toNanos();
+        this.filaMaxima = filaMaxima;
+
+        try {
+            Files.createDirectories(diretorio);
+            aplicarRetencao();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Gauge.builder("restaurante.auditoria.pendentes", tamanhoFila, AtomicInteger::get)
+                .description("Registros de auditoria aguardando gravação")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("restaurante.auditoria.descartados")
+                .description("Registros de auditoria descartados com a fila cheia")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("restaurante.auditoria.falhas")
+                .description("Lotes de auditoria não gravados (tentados novamente no ciclo seguinte)")
+                .register(meterRegistry);
+
+        // Thread de plataforma dedicada: escreve e sincroniza o arquivo, sem disputar com as requisições.
+        this.gravador = Thread.ofPlatform().name("auditoria-usuarios").daemon().start(this::gravarContinuamente);
+    }
+
+    /**
+     * Enfileira os registros da alteração (chamado após o commit, na thread da requisição).
+     */
+    @EventListener
+    public void aoAlterarUsuario(UsuarioAlteradoEvent evento) {
+        evento.getAlteracoes().forEach(this::registrar);
+    }
+
+    /**
+     * Enfileira um registro sem bloquear. Retorna false se a fila estiver cheia (registro descartado).
+     */
+    public boolean registrar(RegistroAuditoriaDTO registro) {
+        int pendentes = tamanhoFila.incrementAndGet();
+        if (pendentes > filaMaxima) {
+            tamanhoFila.decrementAndGet();
+            descartados.increment();
+            return false;
+        }
+        fila.offer(registro);
+        if (pendentes == tamanhoLote) {
+            // Lote completo: não espera o fim do intervalo de gravação.
+            LockSupport.unpark(gravador);
+        }
+        return true;
+    }
+
+    /**
+     * Lê o log de volta: os 'limite' registros mais recentes (do usuário, ou de todos se 'usuarioId'
+     * for null) alterados a partir de 'desde' (opcional), em ordem cronológica. Percorre os segmentos
+     * do mais novo para o mais antigo e para assim que o limite é atingido. Registros ainda na fila
+     * aparecem após a próxima gravação (em até 'auditoria.intervalo-gravacao').
+     */
+    public List<RegistroAuditoriaDTO> consultar(Long usuarioId, Instant desde, int limite) {
+        ArrayDeque<RegistroAuditoriaDTO> resultado = new ArrayDeque<>(Math.min(limite, 1024));
+        try {
+            List<Path> segmentos = listarSegmentos();
+            for (int i = segmentos.size() - 1; i >= 0 && resultado.size() < limite; i--) {
+                Path caminho = segmentos.get(i);
+                try {
+                    // Segmentos em ordem cronológica: os anteriores a este também são antigos demais.
+                    if (desde != null && Files.getLastModifiedTime(caminho).toInstant().isBefore(desde)) {
+                        break;
+                    }
+                    List<RegistroAuditoriaDTO> doSegmento = lerSegmento(caminho, usuarioId, desde);
+                    for (int j = doSegmento.size() - 1; j >= 0 && resultado.size() < limite; j--) {
+                        resultado.addFirst(doSegmento.get(j));
+                    }
+                } catch (NoSuchFileException e) {
+                    // Apagado pela retenção durante a leitura.
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ArrayList<>(resultado);
+    }
+
+    /**
+     * Grava o que ainda está na fila, sincroniza e fecha o segmento atual.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        LockSupport.unpark(gravador);
+        gravador.join();
+    }
+
+    /**
+     * Laço da thread de gravação: aguarda um lote completo (ou o intervalo) e grava os pendentes.
+     */
+    private void gravarContinuamente() {
+        while (ativo) {
+            if (tamanhoFila.get() < tamanhoLote) {
+                LockSupport.parkNanos(this, intervaloGravacaoNs);
+            }
+            gravarPendentes();
+        }
+        gravarPendentes();
+        fecharSegmento();
+    }
+
+    /**
+     * Esvazia a fila em lotes de até 'tamanhoLote' registros (uma escrita por lote). Se a gravação
+     * falhar, o lote é mantido e tentado novamente no ciclo seguinte; enquanto isso a fila cresce
+     * até 'auditoria.fila-maxima'.
+     */
+    private void gravarPendentes() {
+        while (true) {
+            RegistroAuditoriaDTO registro;
+            while (lote.size() < tamanhoLote && (registro = fila.poll()) != null) {
+                tamanhoFila.decrementAndGet();
+                lote.add(registro);
+            }
+            if (lote.isEmpty()) {
+                break;
+            }
+            try {
+                gravar(lote);
+                lote.clear();
+            } catch (IOException e) {
+                falhas.increment();
+                // Reabre o segmento no próximo ciclo (a linha parcial, se houver, é ignorada na leitura).
+                fecharSegmento();
+                return;
+            }
+        }
+
+        if (sincronizacao == Sincronizacao.INTERVALO && pendenteSincronizar
+                && System.nanoTime() - ultimaSincronizacao >= intervaloSincronizacaoNs) {
+            sincronizar();
+        }
+    }
+
+    private void gravar(List<RegistroAuditoriaDTO> registros) throws IOException {
+        ByteArrayOutputStream linhas = new ByteArrayOutputStream(registros.size() * 160);
+        for (RegistroAuditoriaDTO registro : registros) {
+            objectMapper.writeValue(linhas, registro);
+            linhas.write('\n');
+        }
+
+        if (segmento != null && tamanhoAtual > 0 && tamanhoAtual + linhas.size() > tamanhoSegmento) {
+            fecharSegmento();
+            aplicarRetencao();
+        }
+        if (segmento == null) {
+            abrirSegmento();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(linhas.toByteArray());
+        while (buffer.hasRemaining()) {
+            tamanhoAtual += segmento.write(buffer);
+        }
+
+        if (sincronizacao == Sincronizacao.SEMPRE) {
+            segmento.force(false);
+        } else {
+            pendenteSincronizar = true;
+        }
+    }
+
+    /**
+     * Um novo segmento a cada abertura (subida da aplicação, rotação ou falha): nunca se acrescenta
+     * a um arquivo que pode terminar em uma linha parcial. O nome (milissegundos com zeros à esquerda)
+     * mantém a ordem cronológica na ordem alfabética.
+     */
+    private void abrirSegmento() throws IOException {
+        long marca = Math.max(System.currentTimeMillis(), ultimoSegmento + 1);
+        Path caminho = diretorio.resolve(String.format("%s%020d%s", PREFIXO_SEGMENTO, marca, SUFIXO_SEGMENTO));
+        segmento = FileChannel.open(caminho, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        caminhoSegmento = caminho;
+        ultimoSegmento = marca;
+        tamanhoAtual = 0;
+    }
+
+    private void sincronizar() {
+        try {
+            if (segmento != null) {
+                segmento.force(false);
+            }
+            pendenteSincronizar = false;
+            ultimaSincronizacao = System.nanoTime();
+        } catch (IOException e) {
+            falhas.increment();
+        }
+    }
+
+    private void fecharSegmento() {
+        if (segmento == null) {
+            return;
+        }
+        if (sincronizacao != Sincronizacao.NUNCA) {
+            sincronizar();
+        }
+        try {
+            segmento.close();
+        } catch (IOException e) {
+            falhas.increment();
+        }
+        segmento = null;
+        caminhoSegmento = null;
+    }
+
+    /**
+     * Apaga os segmentos fechados cuja última gravação é anterior à janela de retenção.
+     */
+    private void aplicarRetencao() throws IOException {
+        Instant limite = Instant.now().minus(retencao);
+        for (Path caminho : listarSegmentos()) {
+            if (caminho.equals(caminhoSegmento)) {
+                continue;
+            }
+            try {
+                if (Files.getLastModifiedTime(caminho).toInstant().isBefore(limite)) {
+                    Files.deleteIfExists(caminho);
+                }
+            } catch (NoSuchFileException e) {
+                // Já removido.
+            }
+        }
+    }
+
+    /**
+     * Segmentos do diretório, do mais antigo para o mais novo.
+     */
+    private List<Path> listarSegmentos() throws IOException {
+        List<Path> segmentos = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio,
+                PREFIXO_SEGMENTO + "*" + SUFIXO_SEGMENTO)) {
+            arquivos.forEach(segmentos::add);
+        }
+        segmentos.sort(Comparator.comparing(caminho -> caminho.getFileName().toString()));
+        return segmentos;
+    }
+
+    /**
+     * Registros do segmento que atendem ao filtro, na ordem do arquivo. Linhas inválidas
+     * (como a última linha de um segmento interrompido por uma queda) são ignoradas.
+     */
+    private List<RegistroAuditoriaDTO> lerSegmento(Path caminho, Long usuarioId, Instant desde) throws IOException {
+        List<RegistroAuditoriaDTO> registros = new ArrayList<>();
+        try (BufferedReader leitor = Files.newBufferedReader(caminho, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                RegistroAuditoriaDTO registro;
+                try {
+                    registro = objectMapper.readValue(linha, RegistroAuditoriaDTO.class);
+                } catch (JsonProcessingException e) {
+                    continue;
+                }
+                if ((usuarioId == null || Objects.equals(usuarioId, registro.getUsuarioId()))
+                        && (desde == null || !registro.getAlteradoEm().isBefore(desde))) {
+                    registros.add(registro);
+                }
+            }
+        }
+        return registros;
+    }
+}
@@ -0,0 +1,374 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.BuscaCardapioDTO;
+import br.com.seib.restaurante.model.ItemCardapio;
+import br.com.seib.restaurante.repository.ItemCardapioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Busca textual do cardápio (nome, descrição e ingredientes) com autocompletar.
+ * * Justificativa: O MongoDB só oferece a busca exata por categoria, e o frontend precisaria
+ * baixar o cardápio inteiro para filtrar. Aqui um índice invertido em memória (termo -> itens)
+ * responde em microssegundos: os termos ficam ordenados, e o último termo digitado é tratado
+ * como prefixo (uma faixa do índice). Acentos e maiúsculas são ignorados ("pao" encontra "Pão").
+ * O índice é carregado após a subida da aplicação e atualizado a cada item adicionado.
+ */
+@Service
+public class BuscaCardapioService {
+
+    // Relevância de cada campo: o termo no nome vale mais do que nos ingredientes e na descrição.
+    private static final int PESO_NOME = 3;
+    private static final int PESO_INGREDIENTE = 2;
+    private static final int PESO_DESCRICAO = 1;
+
+    // O termo completo vale o dobro de um termo que apenas começa com o prefixo digitado.
+    private static final int FATOR_TERMO_EXATO = 2;
+
+    private static final int MAXIMO_SUGESTOES = 5;
+
+    // Bits da chave de relevância reservados para a posição do item (até ~16 milhões de itens).
+    private static final long MASCARA_POSICAO = (1L << 24) - 1;
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    // Palavras frequentes demais para distinguir itens (não são indexadas).
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "com", "em", "no", "na", "ao", "um", "uma");
+
+    private final ItemCardapioRepository repository;
+
+    // Índice atual; substituído por inteiro ao fim de uma recarga.
+    private Indice indice = new Indice();
+
+    // Durante a recarga, itens indexados também são guardados aqui (null fora dela).
+    private List<ItemCardapio> pendentes;
+
+    // Leitura: buscas (concorrentes entre si). Escrita: itens adicionados e troca do índice.
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public BuscaCardapioService(ItemCardapioRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Carga inicial após a subida da aplicação; também reconstrói o índice (descartando
+     * versões antigas de itens alterados). Itens indexados durante a leitura não se perdem.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        trava.writeLock().lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            trava.writeLock().unlock();
+        }
+
+        Indice novo = new Indice();
+        boolean concluida = false;
+        try (Stream<ItemCardapio> itens = repository.streamAllBy()) {
+            itens.forEach(novo::adicionar);
+            concluida = true;
+        } finally {
+            trava.writeLock().lock();
+            try {
+                if (concluida) {
+                    pendentes.forEach(novo::adicionar);
+                    indice = novo;
+                }
+                pendentes = null;
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Indexa um item recém-gravado (um item com o mesmo id substitui a versão anterior).
+     */
+    public void indexar(ItemCardapio item) {
+        trava.writeLock().lock();
+        try {
+            if (pendentes != null) {
+                pendentes.add(item);
+            }
+            indice.adicionar(item);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Itens que contêm todos os termos da consulta (o último como prefixo), do mais relevante
+     * para o menos relevante, e até 5 termos do índice que completam o último termo digitado.
+     */
+    public BuscaCardapioDTO buscar(String consulta, int limite) {
+        List<Termo> termos = termos(consulta == null ? "" : consulta);
+        // Palavras vazias só são aceitas como prefixo (o cliente ainda está digitando).
+        List<String> busca = new ArrayList<>(termos.size());
+        for (int i = 0; i < termos.size(); i++) {
+            String termo = termos.get(i).normalizado;
+            if (i == termos.size() - 1 || !PALAVRAS_VAZIAS.contains(termo)) {
+                busca.add(termo);
+            }
+        }
+        if (busca.isEmpty()) {
+            return new BuscaCardapioDTO(0, List.of(), List.of());
+        }
+
+        trava.readLock().lock();
+        try {
+            return indice.buscar(busca, limite);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quebra o texto em palavras e remove acentos e maiúsculas ("Açaí" -> "acai").
+     * Mantém a forma original de cada palavra para as sugestões.
+     */
+    static List<Termo> termos(String texto) {
+        List<Termo> termos = new ArrayList<>();
+        for (String palavra : SEPARADORES.split(texto.toLowerCase(Locale.ROOT))) {
+            if (!palavra.isEmpty()) {
+                termos.add(new Termo(palavra, normalizar(palavra)));
+            }
+        }
+        return termos;
+    }
+
+    private static String normalizar(String palavra) {
+        for (int i = 0; i < palavra.length(); i++) {
+            if (palavra.charAt(i) > 127) {
+                return MARCAS.matcher(Normalizer.normalize(palavra, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return palavra;
+    }
+
+    /**
+     * Palavra do texto: forma original (minúscula) e normalizada (sem acentos).
+     */
+    record Termo(String original, String normalizado) {
+    }
+
+    /**
+     * Índice invertido: cada item recebe um número sequencial (posição em 'itens') e cada
+     * termo normalizado aponta para os itens em que aparece, com o peso acumulado dos campos.
+     * Não é thread-safe: o acesso é controlado pela trava do serviço.
+     */
+    private static class Indice {
+
+        private final List<ItemCardapio> itens = new ArrayList<>();
+        private final Map<String, Integer> posicaoPorId = new HashMap<>();
+        private final BitSet substituidos = new BitSet();
+        private final NavigableMap<String, Ocorrencias> termos = new TreeMap<>();
+
+        void adicionar(ItemCardapio item) {
+            int posicao = itens.size();
+            itens.add(item);
+            if (item.getId() != null) {
+                Integer anterior = posicaoPorId.put(item.getId(), posicao);
+                if (anterior != null) {
+                    // A versão anterior deixa de aparecer nos resultados (e some na próxima recarga).
+                    substituidos.set(anterior);
+                }
+            }
+
+            indexarCampo(item.getNome(), posicao, PESO_NOME);
+            if (item.getIngredientes() != null) {
+                item.getIngredientes().forEach(ingrediente -> indexarCampo(ingrediente, posicao, PESO_INGREDIENTE));
+            }
+            indexarCampo(item.getDescricao(), posicao, PESO_DESCRICAO);
+        }
+
+        private void indexarCampo(String texto, int posicao, int peso) {
+            if (texto == null) {
+                return;
+            }
+            for (Termo termo : termos(texto)) {
+                if (!PALAVRAS_VAZIAS.contains(termo.normalizado)) {
+                    termos.computeIfAbsent(termo.normalizado, chave -> new Ocorrencias(termo.original))
+                            .adicionar(posicao, peso);
+                }
+            }
+        }
+
+        BuscaCardapioDTO buscar(List<String> busca, int limite) {
+            int[] pontos = new int[itens.size()];
+            // Quantos termos da consulta cada item já contém (todos são obrigatórios).
+            int[] encontrados = new int[itens.size()];
+
+            for (int i = 0; i < busca.size(); i++) {
+                String termo = busca.get(i);
+                Map<String, Ocorrencias> correspondentes = i == busca.size() - 1
+                        ? termos.subMap(termo, true, termo + Character.MAX_VALUE, false)
+                        : termos.containsKey(termo) ? Map.of(termo, termos.get(termo)) : Map.of();
+
+                for (Map.Entry<String, Ocorrencias> entrada : correspondentes.entrySet()) {
+                    int fator = entrada.getKey().equals(termo) ? FATOR_TERMO_EXATO : 1;
+                    Ocorrencias ocorrencias = entrada.getValue();
+                    for (int j = 0; j < ocorrencias.tamanho; j++) {
+                        int posicao = ocorrencias.posicoes[j];
+                        if (encontrados[posicao] >= i) {
+                            encontrados[posicao] = i + 1;
+                            pontos[posicao] += ocorrencias.pesos[j] * fator;
+                        }
+                    }
+                }
+            }
+
+            // Seleção dos 'limite' mais relevantes em um heap de chaves primitivas (sem boxing).
+            MelhoresItens melhores = new MelhoresItens(limite);
+            int total = 0;
+            for (int posicao = 0; posicao < itens.size(); posicao++) {
+                if (encontrados[posicao] == busca.size() && !substituidos.get(posicao)) {
+                    total++;
+                    melhores.oferecer(relevancia(pontos[posicao], itens.get(posicao), posicao));
+                }
+            }
+
+            List<ItemCardapio> resultado = new ArrayList<>(melhores.tamanho);
+            for (long chave : melhores.ordenadas()) {
+                resultado.add(itens.get((int) (MASCARA_POSICAO - (chave & MASCARA_POSICAO))));
+            }
+            return new BuscaCardapioDTO(total, resultado, sugestoes(busca.get(busca.size() - 1)));
+        }
+
+        /**
+         * Chave de ordenação: pontos; no empate, o nome mais curto e, depois, o item mais antigo.
+         */
+        private static long relevancia(int pontos, ItemCardapio item, int posicao) {
+            int tamanhoNome = item.getNome() == null ? 0 : Math.min(item.getNome().length(), 0xFFFF);
+            return (long) pontos << 40 | (long) (0xFFFF - tamanhoNome) << 24 | (MASCARA_POSICAO - posicao);
+        }
+
+        /**
+         * Termos do índice que começam com o prefixo, dos mais frequentes para os menos frequentes.
+         */
+        private List<String> sugestoes(String prefixo) {
+            return termos.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values().stream()
+                    .sorted(Comparator.comparingInt((Ocorrencias ocorrencias) -> ocorrencias.tamanho).reversed())
+                    .limit(MAXIMO_SUGESTOES)
+                    .map(ocorrencias -> ocorrencias.forma)
+                    .toList();
+        }
+    }
+
+    /**
+     * Heap mínimo limitado às 'limite' maiores chaves de relevância vistas.
+     */
+    private static class MelhoresItens {
+
+        private final long[] chaves;
+        private int tamanho;
+
+        MelhoresItens(int limite) {
+            this.chaves = new long[limite];
+        }
+
+        void oferecer(long chave) {
+            if (tamanho < chaves.length) {
+                chaves[tamanho] = chave;
+                subir(tamanho++);
+            } else if (chave > chaves[0]) {
+                chaves[0] = chave;
+                descer(0);
+            }
+        }
+
+        // Da maior para a menor chave.
+        long[] ordenadas() {
+            long[] ordenadas = Arrays.copyOf(chaves, tamanho);
+            Arrays.sort(ordenadas);
+            for (int i = 0, j = ordenadas.length - 1; i < j; i++, j--) {
+                long troca = ordenadas[i];
+                ordenadas[i] = ordenadas[j];
+                ordenadas[j] = troca;
+            }
+            return ordenadas;
+        }
+
+        private void subir(int i) {
+            while (i > 0 && chaves[(i - 1) / 2] > chaves[i]) {
+                trocar(i, (i - 1) / 2);
+                i = (i - 1) / 2;
+            }
+        }
+
+        private void descer(int i) {
+            while (true) {
+                int menor = i;
+                for (int filho = 2 * i + 1; filho <= 2 * i + 2 && filho < tamanho; filho++) {
+                    if (chaves[filho] < chaves[menor]) {
+                        menor = filho;
+                    }
+                }
+                if (menor == i) {
+                    return;
+                }
+                trocar(i, menor);
+                i = menor;
+            }
+        }
+
+        private void trocar(int a, int b) {
+            long troca = chaves[a];
+            chaves[a] = chaves[b];
+            chaves[b] = troca;
+        }
+    }
+
+    /**
+     * Itens em que um termo aparece (posições crescentes) e o peso do termo em cada um.
+     */
+    private static class Ocorrencias {
+
+        // Forma original (com acentos) da primeira ocorrência, exibida nas sugestões.
+        private final String forma;
+        private int[] posicoes = new int[4];
+        private int[] pesos = new int[4];
+        private int tamanho;
+
+        Ocorrencias(String forma) {
+            this.forma = forma;
+        }
+
+        void adicionar(int posicao, int peso) {
+            // O mesmo termo em outro campo (ou repetido) do mesmo item soma ao peso.
+            if (tamanho > 0 && posicoes[tamanho - 1] == posicao) {
+                pesos[tamanho - 1] += peso;
+                return;
+            }
+            if (tamanho == posicoes.length) {
+                posicoes = Arrays.copyOf(posicoes, tamanho * 2);
+                pesos = Arrays.copyOf(pesos, tamanho * 2);
+            }
+            posicoes[tamanho] = posicao;
+            pesos[tamanho] = peso;
+            tamanho++;
+        }
+    }
+}
@@ -1,11 +1,23 @@
 package br.com.seib.restaurante.controller;
 
+import br.com.seib.restaurante.dto.BuscaCardapioDTO;
+import br.com.seib.restaurante.dto.CardapioVersionadoDTO;
+import br.com.seib.restaurante.dto.EstatisticasCacheDTO;
+import br.com.seib.restaurante.dto.FatiaDTO;
+import br.com.seib.restaurante.dto.FiltroCardapioDTO;
+import br.com.seib.restaurante.dto.ItemCardapioResumoDTO;
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
 import br.com.seib.restaurante.model.ItemCardapio;
 import br.com.seib.restaurante.service.CardapioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -18,9 +30,13 @@ public class CardapioController {
 
     private final CardapioService service;
 
+    // Serializador JSON do Spring, usado na resposta em streaming (NDJSON).
+    private final ObjectMapper objectMapper;
+
     @Autowired // Realiza a Injeção de Dependência (DI) do Service.
-    public CardapioController(CardapioService service) {
+    public CardapioController(CardapioService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -37,21 +53,105 @@ public class CardapioController {
 
     /**
      * Lista todos os itens do cardápio.
+     * Suporta GET condicional: com If-None-Match igual ao ETag atual, responde 304 sem corpo.
      * Mapeia para: GET /api/cardapio
      */
     @GetMapping
-    public ResponseEntity<List<ItemCardapio>> buscarTodos() {
-        return ResponseEntity.ok(service.buscarTodos());
+    public ResponseEntity<List<ItemCardapio>> buscarTodos(WebRequest request) {
+        return responderVersionado(service.buscarTodos(), request);
+    }
+
+    /**
+     * Lista os itens com paginação por cursor (keyset sobre o _id).
+     * Mapeia para: GET /api/cardapio?limite=50&apos=6571f0c2a1b2c3d4e5f60718
+     */
+    @GetMapping(params = "limite")
+    public ResponseEntity<PaginaCursorDTO<ItemCardapio>> buscarPagina(
+            @RequestParam int limite,
+            @RequestParam(required = false) String apos
+    ) {
+        return ResponseEntity.ok(service.buscarPagina(apos, limite));
+    }
+
+    /**
+     * Transmite todos os itens em NDJSON (um item por linha), lidos do cursor do MongoDB.
+     * Mapeia para: GET /api/cardapio/stream
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> transmitirItens() {
+        return RespostaNdjson.transmitir(objectMapper, service::percorrerTodos);
     }
 
     /**
      * Busca itens por uma categoria específica. Demonstra o uso de Query Derivation em Mongo.
+     * Também suporta GET condicional (ETag / If-None-Match).
      * Mapeia para: GET /api/cardapio/categoria/{nomeCategoria}
      */
     @GetMapping("/categoria/{nomeCategoria}")
     public ResponseEntity<List<ItemCardapio>> buscarPorCategoria(
-            @PathVariable String nomeCategoria // @PathVariable: Extrai o valor da URI (nomeCategoria).
+            @PathVariable String nomeCategoria, // @PathVariable: Extrai o valor da URI (nomeCategoria).
+            WebRequest request
+    ) {
+        return responderVersionado(service.buscarPorCategoria(nomeCategoria), request);
+    }
+
+    /**
+     * Busca textual por nome, descrição ou ingrediente, com autocompletar (o último termo é um prefixo).
+     * Acentos e maiúsculas são ignorados.
+     * Mapeia para: GET /api/cardapio/busca?q=pao de q&limite=10
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<BuscaCardapioDTO> buscarTexto(
+            @RequestParam("q") String consulta,
+            @RequestParam(defaultValue = "10") int limite
     ) {
-        return ResponseEntity.ok(service.buscarPorCategoria(nomeCategoria));
+        return ResponseEntity.ok(service.buscarTexto(consulta, limite));
+    }
+
+    /**
+     * Filtra por categoria, faixa de preço e ingredientes (ex.: bebidas até R$ 20 sem amendoim),
+     * do mais barato ao mais caro, paginado. Retorna apenas id, nome, categoria e preço.
+     * Mapeia para: GET /api/cardapio/filtro?categoria=Bebida&precoMaximo=20&sem=Amendoim&pagina=0&tamanho=20
+     */
+    @GetMapping("/filtro")
+    public ResponseEntity<FatiaDTO<ItemCardapioResumoDTO>> filtrar(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) BigDecimal precoMinimo,
+            @RequestParam(required = false) BigDecimal precoMaximo,
+            @RequestParam(name = "com", required = false) List<String> comIngredientes,
+            @RequestParam(name = "sem", required = false) List<String> semIngredientes,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanho
+    ) {
+        FiltroCardapioDTO filtro = new FiltroCardapioDTO(categoria, precoMinimo, precoMaximo,
+                comIngredientes, semIngredientes);
+        return ResponseEntity.ok(service.filtrar(filtro, pagina, tamanho));
+    }
+
+    /**
+     * Acertos e falhas do cache de leitura do cardápio.
+     * Mapeia para: GET /api/cardapio/cache/estatisticas
+     */
+    @GetMapping("/cache/estatisticas")
+    public ResponseEntity<EstatisticasCacheDTO> estatisticasCache() {
+        return ResponseEntity.ok(service.estatisticasCache());
+    }
+
+    /**
+     * Responde 304 (Not Modified) quando o cliente já possui a versão atual;
+     * caso contrário, 200 com a lista e o cabeçalho ETag.
+     * Cache-Control 'no-cache' faz o navegador sempre revalidar com If-None-Match.
+     */
+    private ResponseEntity<List<ItemCardapio>> responderVersionado(CardapioVersionadoDTO cardapio, WebRequest request) {
+        if (request.checkNotModified(cardapio.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(cardapio.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(cardapio.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(cardapio.getItens());
     }
 }
\ No newline at end of file
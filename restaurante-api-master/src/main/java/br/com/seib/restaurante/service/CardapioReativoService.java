@@ -0,0 +1,41 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.model.ItemCardapio;
+import br.com.seib.restaurante.repository.ItemCardapioReativoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Camada de Serviço da leitura reativa do cardápio (listagem, categoria e item).
+ * * Justificativa: O cardápio é a superfície mais lida da API. Na leitura bloqueante, cada requisição
+ * ocupa uma thread do servidor enquanto espera o MongoDB; aqui a thread é liberada assim que a consulta
+ * é iniciada, e os documentos são escritos na resposta conforme chegam (e conforme o cliente consome).
+ * Poucas threads atendem muitos leitores simultâneos. As reservas (JPA) continuam bloqueantes.
+ */
+@Service
+public class CardapioReativoService {
+
+    private final ItemCardapioReativoRepository repository;
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public CardapioReativoService(ItemCardapioReativoRepository repository) {
+        this.repository = repository;
+    }
+
+    public Flux<ItemCardapio> buscarTodos() {
+        return repository.findAll();
+    }
+
+    public Flux<ItemCardapio> buscarPorCategoria(String categoria) {
+        return repository.findByCategoria(categoria);
+    }
+
+    /**
+     * Item pelo ID; vazio (Mono.empty) se não existir.
+     */
+    public Mono<ItemCardapio> buscarPorId(String id) {
+        return repository.findById(id);
+    }
+}
@@ -1,45 +1,170 @@
 package br.com.seib.restaurante.service;
 
+import br.com.seib.restaurante.dto.BuscaCardapioDTO;
+import br.com.seib.restaurante.dto.CardapioVersionadoDTO;
+import br.com.seib.restaurante.dto.EstatisticasCacheDTO;
+import br.com.seib.restaurante.dto.FatiaDTO;
+import br.com.seib.restaurante.dto.FiltroCardapioDTO;
+import br.com.seib.restaurante.dto.ItemCardapioResumoDTO;
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
 import br.com.seib.restaurante.model.ItemCardapio;
 import br.com.seib.restaurante.repository.ItemCardapioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Camada de Serviço responsável pela lógica de negócio e pelo acesso
  * à coleção 'cardapio' no banco de dados NoSQL (MongoDB).
+ * * Leituras passam por um cache read-through limitado (tamanho máximo e TTL),
+ * invalidado a cada escrita, pois o cardápio muda poucas vezes ao dia.
+ * A busca textual usa o índice em memória do BuscaCardapioService, atualizado a cada escrita.
  */
 @Service // Define a classe como um componente de serviço gerenciado pelo Spring (IoC).
 public class CardapioService {
 
+    // Chave da consulta "todos os itens" no cache (categorias usam o próprio nome como chave).
+    private static final String CHAVE_TODOS = "*";
+    private static final String PREFIXO_CATEGORIA = "categoria:";
+
     // Injeção de Dependências (IoC): Referência ao agente de dados (Repository Mongo).
     private final ItemCardapioRepository repository;
 
+    // Índice invertido para a busca textual (nome, descrição e ingredientes).
+    private final BuscaCardapioService buscaCardapioService;
+
+    // Cache de consultas (chave da consulta -> itens + ETag).
+    private final Cache<String, CardapioVersionadoDTO> cache;
+
     @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
-    public CardapioService(ItemCardapioRepository repository) {
+    public CardapioService(ItemCardapioRepository repository,
+                           BuscaCardapioService buscaCardapioService,
+                           @Value("${cardapio.cache.tamanho-maximo:200}") long tamanhoMaximo,
+                           @Value("${cardapio.cache.ttl:10m}") Duration ttl,
+                           MeterRegistry meterRegistry) {
         this.repository = repository;
+        this.buscaCardapioService = buscaCardapioService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // Acertos, falhas e remoções do cache também em /actuator/metrics (cache.gets, cache.evictions...).
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cardapio");
     }
 
     /**
      * Persiste um novo documento ItemCardapio no MongoDB.
+     * Invalida o cache para que a próxima leitura reflita o novo item (e um novo ETag)
+     * e indexa o item para a busca textual.
      */
     public ItemCardapio adicionarItem(ItemCardapio item) {
-        return repository.save(item);
+        ItemCardapio salvo = repository.save(item);
+        cache.invalidateAll();
+        buscaCardapioService.indexar(salvo);
+        return salvo;
     }
 
     /**
-     * Retorna todos os itens da coleção 'cardapio'.
+     * Retorna todos os itens da coleção 'cardapio' (via cache).
      */
-    public List<ItemCardapio> buscarTodos() {
-        return repository.findAll();
+    @Observed(name = "restaurante.cardapio.leitura", contextualName = "buscar-cardapio")
+    public CardapioVersionadoDTO buscarTodos() {
+        return cache.get(CHAVE_TODOS, chave -> versionar(repository.findAll()));
     }
 
     /**
      * Busca itens utilizando a consulta derivada 'findByCategoria', demonstrando
-     * a funcionalidade de busca do Spring Data MongoDB.
+     * a funcionalidade de busca do Spring Data MongoDB (via cache).
+     */
+    @Observed(name = "restaurante.cardapio.leitura", contextualName = "buscar-cardapio-por-categoria")
+    public CardapioVersionadoDTO buscarPorCategoria(String categoria) {
+        return cache.get(PREFIXO_CATEGORIA + categoria, chave -> versionar(repository.findByCategoria(categoria)));
+    }
+
+    /**
+     * Busca textual com autocompletar: itens que contêm todos os termos (o último como prefixo),
+     * ordenados por relevância. Atendida pelo índice em memória, sem consultar o MongoDB.
+     */
+    @Observed(name = "restaurante.cardapio.leitura", contextualName = "buscar-cardapio-por-texto")
+    public BuscaCardapioDTO buscarTexto(String consulta, int limite) {
+        return buscaCardapioService.buscar(consulta, PaginaCursorDTO.limitar(limite));
+    }
+
+    /**
+     * Filtro por categoria, faixa de preço e ingredientes obrigatórios ou proibidos, do mais barato
+     * ao mais caro. Lido diretamente do MongoDB (consulta apoiada nos índices compostos).
+     */
+    @Observed(name = "restaurante.cardapio.leitura", contextualName = "filtrar-cardapio")
+    public FatiaDTO<ItemCardapioResumoDTO> filtrar(FiltroCardapioDTO filtro, int pagina, int tamanho) {
+        PageRequest pageRequest = PageRequest.of(Math.max(pagina, 0), PaginaCursorDTO.limitar(tamanho));
+        return FatiaDTO.de(repository.filtrar(filtro, pageRequest));
+    }
+
+    /**
+     * Converte, após a subida, os preços gravados como texto pelo mapeamento anterior:
+     * sem isso, esses itens ficariam fora das faixas de preço do filtro.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void converterPrecos() {
+        if (repository.converterPrecosEmTexto() > 0) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Retorna uma página de itens ordenada pelo _id, iniciando após o cursor informado.
+     * Lida diretamente do MongoDB (fora do cache), para cardápios grandes.
+     */
+    public PaginaCursorDTO<ItemCardapio> buscarPagina(String apos, int limite) {
+        limite = PaginaCursorDTO.limitar(limite);
+        List<ItemCardapio> itens = apos == null
+                ? repository.findAllByOrderByIdAsc(Limit.of(limite))
+                : repository.findByIdGreaterThanOrderByIdAsc(apos, Limit.of(limite));
+        String proximoCursor = itens.size() < limite ? null : itens.get(itens.size() - 1).getId();
+        return new PaginaCursorDTO<>(itens, proximoCursor);
+    }
+
+    /**
+     * Entrega cada item ao consumidor à medida que é lido do cursor do MongoDB.
+     */
+    public void percorrerTodos(Consumer<ItemCardapio> consumidor) {
+        try (Stream<ItemCardapio> itens = repository.streamAllBy()) {
+            itens.forEach(consumidor);
+        }
+    }
+
+    /**
+     * Contadores do cache, para confirmar a redução de carga no MongoDB.
+     */
+    public EstatisticasCacheDTO estatisticasCache() {
+        CacheStats stats = cache.stats();
+        return new EstatisticasCacheDTO(stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), cache.estimatedSize());
+    }
+
+    /**
+     * Calcula o ETag a partir do conteúdo (hashCode gerado pelo Lombok em cada item),
+     * uma única vez por carga: instâncias diferentes da API geram o mesmo ETag para o mesmo cardápio.
      */
-    public List<ItemCardapio> buscarPorCategoria(String categoria) {
-        return repository.findByCategoria(categoria);
+    private static CardapioVersionadoDTO versionar(List<ItemCardapio> itens) {
+        String etag = "\"" + itens.size() + "-" + Integer.toHexString(itens.hashCode()) + "\"";
+        return new CardapioVersionadoDTO(List.copyOf(itens), etag);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.model.ContadorCodigoReserva;
+import br.com.seib.restaurante.repository.ContadorCodigoReservaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gera o código amigável da reserva: uma sequência por dia (1, 2, 3...), única entre instâncias.
+ * * Justificativa: A função func_gerar_proximo_id_reserva fazia COUNT(*) com DATE(data_hora_inicio)
+ * (varredura completa, sem índice) e duas reservas simultâneas recebiam o mesmo código. Aqui cada
+ * instância reserva um bloco de códigos na tabela 'contadores_codigo_reserva' (linha travada, em
+ * transação própria) e os entrega com um incremento atômico em memória, sem trava e sem banco.
+ * Códigos de blocos não usados (ex.: reinício da aplicação) são descartados: a sequência é
+ * crescente e sem repetições, mas pode ter lacunas.
+ */
+@Service
+public class CodigoReservaService {
+
+    // Tentativas de reservar um bloco quando outra instância cria o contador do dia ao mesmo tempo.
+    private static final int TENTATIVAS = 5;
+
+    private final ContadorCodigoReservaRepository contadorRepository;
+    private final TransactionTemplate transacaoPropria;
+    private final int tamanhoBloco;
+
+    // Bloco atual de cada dia.
+    private final Map<LocalDate, Bloco> blocos = new ConcurrentHashMap<>();
+
+    // Apenas a troca de bloco é serializada (uma vez a cada 'tamanhoBloco' códigos).
+    // ReentrantLock, e não synchronized: a troca faz I/O e não deve fixar threads virtuais.
+    private final ReentrantLock trocaDeBloco = new ReentrantLock();
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public CodigoReservaService(ContadorCodigoReservaRepository contadorRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${reserva.codigo.tamanho-bloco:20}") int tamanhoBloco) {
+        this.contadorRepository = contadorRepository;
+        this.tamanhoBloco = tamanhoBloco;
+
+        // REQUIRES_NEW: o bloco é confirmado (e a linha liberada) mesmo dentro da transação da reserva.
+        this.transacaoPropria = new TransactionTemplate(transactionManager);
+        this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Próximo código do dia. Caminho comum: um getAndIncrement no bloco atual.
+     * Deve ser chamado fora de transações: a troca de bloco usa outra conexão do pool.
+     */
+    public int proximoCodigo(LocalDate dia) {
+        while (true) {
+            Bloco bloco = blocos.get(dia);
+            if (bloco != null) {
+                int codigo = bloco.proximo.getAndIncrement();
+                if (codigo < bloco.fim) {
+                    return codigo;
+                }
+            }
+            trocarBloco(dia, bloco);
+        }
+    }
+
+    /**
+     * Substitui o bloco esgotado (ou ausente) do dia, a menos que outra thread já o tenha feito.
+     */
+    private void trocarBloco(LocalDate dia, Bloco esgotado) {
+        trocaDeBloco.lock();
+        try {
+            if (blocos.get(dia) == esgotado) {
+                blocos.put(dia, reservarBloco(dia));
+                // Dias passados raramente recebem novas reservas: libera os blocos antigos.
+                LocalDate ontem = LocalDate.now().minusDays(1);
+                blocos.keySet().removeIf(outro -> outro.isBefore(ontem) && !outro.equals(dia));
+            }
+        } finally {
+            trocaDeBloco.unlock();
+        }
+    }
+
+    /**
+     * Avança o contador do dia em 'tamanhoBloco' (linha travada) e retorna o intervalo reservado.
+     */
+    private Bloco reservarBloco(LocalDate dia) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transacaoPropria.execute(status -> {
+                    ContadorCodigoReserva contador = contadorRepository.findParaAlocacao(dia).orElse(null);
+                    if (contador == null) {
+                        contadorRepository.criar(dia);
+                        contador = contadorRepository.findParaAlocacao(dia).orElseThrow();
+                    }
+                    int inicio = contador.getProximo();
+                    contador.setProximo(inicio + tamanhoBloco);
+                    contadorRepository.save(contador);
+                    return new Bloco(inicio, inicio + tamanhoBloco);
+                });
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                // Contador do dia criado ao mesmo tempo por outra instância (chave duplicada ou
+                // deadlock entre as travas de intervalo): a nova tentativa usa o contador dela.
+                if (tentativa == TENTATIVAS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Intervalo [proximo, fim) de códigos reservado por esta instância.
+     */
+    private static class Bloco {
+
+        private final AtomicInteger proximo;
+        private final int fim;
+
+        Bloco(int inicio, int fim) {
+            this.proximo = new AtomicInteger(inicio);
+            this.fim = fim;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.model.Mesa;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Alocação de grupos maiores que qualquer mesa: escolhe, entre as mesas livres de uma mesma zona,
+ * o conjunto de menor custo cuja capacidade somada comporta o grupo.
+ * * Justificativa: As mesas livres vêm do índice em memória (DisponibilidadeService), e a busca é um
+ * branch-and-bound limitado (número máximo de mesas por combinação e de nós visitados), o que mantém
+ * a resposta em milissegundos com centenas de mesas, sem uma consulta ao banco por combinação.
+ * Custo: lugares vazios e, em caso de empate, a quantidade de mesas unidas.
+ */
+@Service
+public class CombinacaoMesasService {
+
+    // Ordem da busca: maiores capacidades primeiro (as primeiras soluções já são boas e podam o resto).
+    private static final Comparator<Mesa> MAIOR_CAPACIDADE =
+            Comparator.comparingInt(Mesa::getCapacidade).reversed().thenComparingInt(Mesa::getNumeroMesa);
+
+    private final DisponibilidadeService disponibilidadeService;
+    private final int maximoMesas;
+    private final int maximoNos;
+
+    @Autowired
+    public CombinacaoMesasService(DisponibilidadeService disponibilidadeService,
+                                  @Value("${reserva.combinacao.maximo-mesas:4}") int maximoMesas,
+                                  @Value("${reserva.combinacao.maximo-nos:100000}") int maximoNos) {
+        this.disponibilidadeService = disponibilidadeService;
+        this.maximoMesas = maximoMesas;
+        this.maximoNos = maximoNos;
+    }
+
+    /**
+     * Melhor combinação de mesas livres em [inicio, fim) para o grupo, dentro de uma única zona
+     * (a informada ou, se nula, qualquer uma). Mesas sem zona não são unidas a outras.
+     * Vazio quando nenhuma combinação de até 'maximo-mesas' mesas comporta o grupo.
+     */
+    public Optional<List<Mesa>> buscarCombinacao(LocalDateTime inicio, LocalDateTime fim, int pessoas, String zona) {
+        Map<String, List<Mesa>> livresPorZona = disponibilidadeService.buscarMesasLivres(inicio, fim, 1).stream()
+                .filter(mesa -> mesa.getZona() != null && (zona == null || zona.equalsIgnoreCase(mesa.getZona())))
+                .collect(Collectors.groupingBy(Mesa::getZona));
+
+        Busca melhor = null;
+        for (List<Mesa> livres : livresPorZona.values()) {
+            Busca busca = combinar(livres, pessoas, maximoMesas, maximoNos);
+            if (busca.melhorCombinacao != null && (melhor == null || busca.melhorQue(melhor))) {
+                melhor = busca;
+            }
+        }
+        return melhor == null ? Optional.empty() : Optional.of(melhor.melhorCombinacao);
+    }
+
+    /**
+     * Branch-and-bound sobre as mesas livres de uma zona.
+     */
+    static Busca combinar(List<Mesa> livres, int pessoas, int maximoMesas, int maximoNos) {
+        List<Mesa> candidatas = new ArrayList<>(livres);
+        candidatas.sort(MAIOR_CAPACIDADE);
+        Busca busca = new Busca(candidatas, pessoas, maximoMesas, maximoNos);
+        busca.visitar(0, 0, 0);
+        return busca;
+    }
+
+    static final class Busca {
+
+        private final List<Mesa> candidatas;
+        private final int[] capacidades;
+        // somaAte[i] = soma das capacidades das 'i' primeiras candidatas (ordenadas da maior para a menor).
+        private final int[] somaAte;
+        private final int pessoas;
+        private final int maximoMesas;
+        private final int maximoNos;
+
+        private final int[] escolhidas;
+        private int nos;
+        private List<Mesa> melhorCombinacao;
+        private int melhorSobra = Integer.MAX_VALUE;
+
+        Busca(List<Mesa> candidatas, int pessoas, int maximoMesas, int maximoNos) {
+            this.candidatas = candidatas;
+            this.capacidades = candidatas.stream().mapToInt(Mesa::getCapacidade).toArray();
+            this.somaAte = new int[capacidades.length + 1];
+            for (int i = 0; i < capacidades.length; i++) {
+                somaAte[i + 1] = somaAte[i] + capacidades[i];
+            }
+            this.pessoas = pessoas;
+            this.maximoMesas = maximoMesas;
+            this.maximoNos = maximoNos;
+            this.escolhidas = new int[maximoMesas];
+        }
+
+        /**
+         * Decide a candidata 'indice' (incluir ou não), com 'quantidade' mesas já escolhidas somando 'capacidade'.
+         */
+        void visitar(int indice, int quantidade, int capacidade) {
+            if (capacidade >= pessoas) {
+                // Mais mesas só aumentariam a sobra: registra e volta.
+                registrar(quantidade, capacidade - pessoas);
+                return;
+            }
+            if (quantidade == maximoMesas || indice == capacidades.length || ++nos > maximoNos) {
+                return;
+            }
+            // Limite: nem as maiores mesas restantes completam o grupo.
+            int restantes = Math.min(maximoMesas - quantidade, capacidades.length - indice);
+            if (capacidade + somaAte[indice + restantes] - somaAte[indice] < pessoas) {
+                return;
+            }
+            // Já existe uma combinação sem sobra com no máximo uma mesa a mais: nada a melhorar aqui.
+            if (melhorSobra == 0 && melhorCombinacao.size() <= quantidade + 1) {
+                return;
+            }
+
+            escolhidas[quantidade] = indice;
+            visitar(indice + 1, quantidade + 1, capacidade + capacidades[indice]);
+
+            // Sem a candidata: mesas de mesma capacidade são equivalentes, então pula todas elas.
+            int proxima = indice + 1;
+            while (proxima < capacidades.length && capacidades[proxima] == capacidades[indice]) {
+                proxima++;
+            }
+            visitar(proxima, quantidade, capacidade);
+        }
+
+        private void registrar(int quantidade, int sobra) {
+            if (sobra < melhorSobra || (sobra == melhorSobra && quantidade < melhorCombinacao.size())) {
+                melhorSobra = sobra;
+                melhorCombinacao = new ArrayList<>(quantidade);
+                for (int i = 0; i < quantidade; i++) {
+                    melhorCombinacao.add(candidatas.get(escolhidas[i]));
+                }
+            }
+        }
+
+        boolean melhorQue(Busca outra) {
+            return melhorSobra < outra.melhorSobra
+                    || (melhorSobra == outra.melhorSobra && melhorCombinacao.size() < outra.melhorCombinacao.size());
+        }
+
+        List<Mesa> melhorCombinacao() {
+            return melhorCombinacao;
+        }
+
+        int nosVisitados() {
+            return nos;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.AlternativasReservaDTO;
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Motor de disponibilidade: mantém em memória, para cada Mesa, um índice ordenado
+ * pelo horário de início das reservas (sorted-slot index).
+ * * Justificativa: Transforma a checagem de conflito de horário em uma busca em memória
+ * (microssegundos), evitando uma consulta JPQL por requisição. A consulta no banco
+ * permanece no ReservaService apenas como guarda final de consistência.
+ * Cada agenda também mantém um bitmap diário de faixas de horário (GradeHorarios),
+ * usado na busca de mesas livres.
+ */
+@Service
+public class DisponibilidadeService {
+
+    // Ordenação do índice: início da reserva e, em caso de empate, o ID (evita descartar duplicatas).
+    private static final Comparator<IntervaloReserva> POR_INICIO =
+            Comparator.comparing(IntervaloReserva::getInicio)
+                    .thenComparing(IntervaloReserva::getReservaId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // Ordenação da busca de mesas livres: melhor encaixe (menor capacidade suficiente) primeiro.
+    private static final Comparator<Mesa> MELHOR_ENCAIXE =
+            Comparator.comparingInt(Mesa::getCapacidade).thenComparingInt(Mesa::getNumeroMesa);
+
+    private final ReservaRepository reservaRepository;
+    private final MesaRepository mesaRepository;
+
+    // Índice por mesa (mesaId -> agenda ordenada).
+    private final Map<Long, AgendaMesa> agendas = new ConcurrentHashMap<>();
+
+    // Catálogo de mesas em memória (mesaId -> Mesa), usado para filtrar por capacidade.
+    private final Map<Long, Mesa> mesas = new ConcurrentHashMap<>();
+
+    // Reservas que terminam antes deste instante não são carregadas; horários anteriores vão ao banco.
+    private volatile LocalDateTime horizonte = LocalDateTime.MAX;
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public DisponibilidadeService(ReservaRepository reservaRepository, MesaRepository mesaRepository) {
+        this.reservaRepository = reservaRepository;
+        this.mesaRepository = mesaRepository;
+    }
+
+    /**
+     * Aquece o índice após a subida com as reservas que terminam a partir de hoje.
+     * Reservas antigas não podem conflitar com novos horários e ficam apenas no banco.
+     * Fora do refresh do contexto: a subida (e a execução de treino do CDS) não depende do banco.
+     * Até o fim da carga o horizonte não cobre nenhum horário e as consultas vão ao banco;
+     * reservas registradas durante a carga foram confirmadas antes e também vêm na leitura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        LocalDateTime inicioDoDia = LocalDate.now().atStartOfDay();
+        agendas.clear();
+        mesaRepository.findAll().forEach(this::registrarMesa);
+        reservaRepository.findIntervalosTerminandoApos(inicioDoDia).forEach(this::registrar);
+        horizonte = inicioDoDia;
+    }
+
+    /**
+     * Avança o horizonte até 'limite' e descarta do índice as reservas que terminaram até ele
+     * (sem isso o índice cresceria a cada dia de funcionamento). Chamado no primeiro registro de
+     * cada dia, com ou sem agendamento na instância, e também ao fim do arquivamento.
+     * O horizonte sobe antes da remoção: consultas nesse período passam a ir ao banco.
+     */
+    public void descartarTerminadasAntes(LocalDateTime limite) {
+        LocalDateTime atual = horizonte;
+        if (atual.equals(LocalDateTime.MAX) || !atual.isBefore(limite)) {
+            // Índice ainda não aquecido ou já descartado até 'limite'.
+            return;
+        }
+        horizonte = limite;
+        agendas.values().forEach(agenda -> agenda.descartarTerminadasAntes(limite));
+    }
+
+    /**
+     * Indica se o índice possui todas as reservas relevantes para um período iniciando em 'inicio'.
+     * Qualquer reserva que conflite termina depois de 'inicio', logo foi carregada se inicio >= horizonte.
+     */
+    public boolean cobre(LocalDateTime inicio) {
+        return !inicio.isBefore(horizonte);
+    }
+
+    /**
+     * Checagem de conflito em memória: (Inicio Antigo < Fim Novo) E (Fim Antigo > Inicio Novo).
+     * Percorre apenas as reservas que começam entre (inicio - maior duração) e fim.
+     */
+    public boolean possuiConflito(Long mesaId, LocalDateTime inicio, LocalDateTime fim) {
+        AgendaMesa agenda = agendas.get(mesaId);
+        return agenda != null && agenda.possuiConflito(inicio, fim);
+    }
+
+    /**
+     * Registra uma reserva persistida no índice (chamado após cada inserção).
+     */
+    public void registrar(Reserva reserva) {
+        registrar(new IntervaloReserva(reserva.getId(), reserva.getMesa().getId(),
+                reserva.getDataHoraInicio(), reserva.getDataHoraFim()));
+    }
+
+    public void registrar(IntervaloReserva intervalo) {
+        registrar(intervalo, LocalDate.now());
+    }
+
+    /**
+     * Registra descartando antes, na virada do dia, as reservas que terminaram nos dias anteriores
+     * (no mesmo dia é só uma comparação com o horizonte). 'hoje' é parâmetro para os testes.
+     */
+    void registrar(IntervaloReserva intervalo, LocalDate hoje) {
+        descartarTerminadasAntes(hoje.atStartOfDay());
+        agendas.computeIfAbsent(intervalo.getMesaId(), id -> new AgendaMesa()).adicionar(intervalo);
+    }
+
+    /**
+     * Mesas conhecidas pelo catálogo em memória (visão somente leitura).
+     */
+    public Collection<Mesa> mesasCadastradas() {
+        return Collections.unmodifiableCollection(mesas.values());
+    }
+
+    /**
+     * Registra (ou atualiza) uma mesa no catálogo em memória.
+     */
+    public void registrarMesa(Mesa mesa) {
+        mesas.put(mesa.getId(), mesa);
+    }
+
+    /**
+     * Retorna as mesas com capacidade suficiente e livres no período [inicio, fim),
+     * ordenadas por melhor encaixe (menor capacidade primeiro).
+     * O bitmap responde o caso comum; faixas marcadas são confirmadas pelo índice exato.
+     */
+    public List<Mesa> buscarMesasLivres(LocalDateTime inicio, LocalDateTime fim, int pessoas) {
+        boolean coberto = cobre(inicio);
+        // Fora do horizonte (inclusive antes do aquecimento) o catálogo também vem do banco.
+        Collection<Mesa> catalogo = coberto ? mesas.values() : mesaRepository.findAll();
+        return catalogo.stream()
+                .filter(mesa -> mesa.getCapacidade() >= pessoas)
+                .filter(mesa -> coberto
+                        ? estaLivre(mesa.getId(), inicio, fim)
+                        // Horário anterior ao horizonte do índice: consulta o banco.
+                        : !reservaRepository.existeConflito(mesa.getId(), inicio, fim))
+                .sorted(MELHOR_ENCAIXE)
+                .toList();
+    }
+
+    /**
+     * Alternativas para uma reserva recusada por conflito, calculadas em uma única passagem pelas
+     * reservas do dia: os horários de início livres mais próximos do pedido na mesma mesa (em faixas
+     * de 15 minutos, a partir de agora) e as outras mesas com capacidade suficiente livres no horário pedido.
+     * Dia anterior ao horizonte do índice: as reservas do dia vêm do banco, em uma consulta.
+     */
+    public AlternativasReservaDTO sugerirAlternativas(Long mesaId, LocalDateTime inicio, LocalDateTime fim,
+                                                      int pessoas, int limite) {
+        Duration duracao = Duration.between(inicio, fim);
+        LocalDateTime inicioDoDia = inicio.toLocalDate().atStartOfDay();
+        LocalDateTime fimDoDia = inicioDoDia.plusDays(1);
+        boolean coberto = cobre(inicioDoDia);
+        Collection<Mesa> catalogo = coberto ? mesas.values() : mesaRepository.findAll();
+
+        // A passagem: reservas que tocam [início do dia, fim do dia + duração) afetam algum início do dia.
+        List<IntervaloReserva> daMesa = new ArrayList<>();
+        Set<Long> ocupadasNoHorario = new HashSet<>();
+        for (IntervaloReserva intervalo : intervalosEntre(catalogo, coberto, inicioDoDia, fimDoDia.plus(duracao))) {
+            if (intervalo.getMesaId().equals(mesaId)) {
+                daMesa.add(intervalo);
+            }
+            if (intervalo.getInicio().isBefore(fim) && intervalo.getFim().isAfter(inicio)) {
+                ocupadasNoHorario.add(intervalo.getMesaId());
+            }
+        }
+
+        // Horários livres da mesa: um cursor de faixas avança pelas reservas em ordem de início,
+        // acumulando as faixas cujo período inteiro termina antes da próxima reserva.
+        daMesa.sort(POR_INICIO);
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime cursor = arredondarParaFaixa(agora.isAfter(inicioDoDia) ? agora : inicioDoDia);
+        List<LocalDateTime> horariosLivres = new ArrayList<>();
+        for (IntervaloReserva ocupado : daMesa) {
+            for (; cursor.isBefore(fimDoDia) && !cursor.plus(duracao).isAfter(ocupado.getInicio());
+                 cursor = cursor.plusMinutes(GradeHorarios.MINUTOS_POR_SLOT)) {
+                horariosLivres.add(cursor);
+            }
+            LocalDateTime aposOcupado = arredondarParaFaixa(ocupado.getFim());
+            if (aposOcupado.isAfter(cursor)) {
+                cursor = aposOcupado;
+            }
+        }
+        for (; cursor.isBefore(fimDoDia); cursor = cursor.plusMinutes(GradeHorarios.MINUTOS_POR_SLOT)) {
+            horariosLivres.add(cursor);
+        }
+
+        List<Mesa> mesasLivres = catalogo.stream()
+                .filter(mesa -> !mesa.getId().equals(mesaId) && mesa.getCapacidade() >= pessoas)
+                .filter(mesa -> !ocupadasNoHorario.contains(mesa.getId()))
+                .sorted(MELHOR_ENCAIXE)
+                .limit(limite)
+                .toList();
+        return new AlternativasReservaDTO(null, maisProximos(horariosLivres, inicio, limite), mesasLivres);
+    }
+
+    /**
+     * Relê do banco, em uma consulta, as reservas de todas as mesas que afetam o dia do período pedido
+     * e as registra no índice. Usado quando o banco recusou um horário que o índice via como livre
+     * (reserva gravada por outra instância ou por sp_fazer_reserva): as alternativas e as próximas
+     * checagens passam a enxergá-la. Intervalos já conhecidos não são duplicados.
+     */
+    public void recarregarDia(LocalDateTime inicio, LocalDateTime fim) {
+        LocalDateTime inicioDoDia = inicio.toLocalDate().atStartOfDay();
+        if (!cobre(inicioDoDia) || mesas.isEmpty()) {
+            // Fora do horizonte as alternativas já são calculadas a partir do banco.
+            return;
+        }
+        LocalDateTime fimDaJanela = inicioDoDia.plusDays(1).plus(Duration.between(inicio, fim));
+        reservaRepository.findIntervalosConflitantes(List.copyOf(mesas.keySet()), inicioDoDia, fimDaJanela)
+                .forEach(this::registrar);
+    }
+
+    private List<IntervaloReserva> intervalosEntre(Collection<Mesa> catalogo, boolean coberto,
+                                                   LocalDateTime inicio, LocalDateTime fim) {
+        if (!coberto) {
+            List<Long> mesaIds = catalogo.stream().map(Mesa::getId).toList();
+            return mesaIds.isEmpty() ? List.of() : reservaRepository.findIntervalosConflitantes(mesaIds, inicio, fim);
+        }
+        List<IntervaloReserva> intervalos = new ArrayList<>();
+        agendas.values().forEach(agenda -> agenda.coletarSobrepostos(inicio, fim, intervalos));
+        return intervalos;
+    }
+
+    // Primeira faixa de 15 minutos que começa em 'instante' ou depois dele.
+    private static LocalDateTime arredondarParaFaixa(LocalDateTime instante) {
+        int minutos = instante.getMinute() / GradeHorarios.MINUTOS_POR_SLOT * GradeHorarios.MINUTOS_POR_SLOT;
+        LocalDateTime faixa = instante.truncatedTo(ChronoUnit.HOURS).plusMinutes(minutos);
+        return faixa.isBefore(instante) ? faixa.plusMinutes(GradeHorarios.MINUTOS_POR_SLOT) : faixa;
+    }
+
+    /**
+     * Os 'limite' horários (lista ordenada) mais próximos de 'alvo', em ordem cronológica.
+     */
+    static List<LocalDateTime> maisProximos(List<LocalDateTime> horarios, LocalDateTime alvo, int limite) {
+        int depois = Collections.binarySearch(horarios, alvo);
+        if (depois < 0) {
+            depois = -depois - 1;
+        }
+        int antes = depois - 1;
+        // Expande a janela (antes, depois) pelo lado mais próximo; no empate, o horário posterior.
+        while (depois - antes - 1 < limite && (antes >= 0 || depois < horarios.size())) {
+            boolean recuar = depois == horarios.size() || (antes >= 0
+                    && Duration.between(horarios.get(antes), alvo).compareTo(Duration.between(alvo, horarios.get(depois))) < 0);
+            if (recuar) {
+                antes--;
+            } else {
+                depois++;
+            }
+        }
+        return List.copyOf(horarios.subList(antes + 1, depois));
+    }
+
+    private boolean estaLivre(Long mesaId, LocalDateTime inicio, LocalDateTime fim) {
+        AgendaMesa agenda = agendas.get(mesaId);
+        return agenda == null || agenda.grade.livre(inicio, fim) || !agenda.possuiConflito(inicio, fim);
+    }
+
+    /**
+     * Agenda ordenada de uma única mesa.
+     */
+    static class AgendaMesa {
+
+        private final NavigableSet<IntervaloReserva> intervalos = new ConcurrentSkipListSet<>(POR_INICIO);
+
+        // Bitmap diário das faixas ocupadas, derivado dos mesmos intervalos.
+        private final GradeHorarios grade = new GradeHorarios();
+
+        // Maior duração registrada (em segundos): delimita o início da janela de busca.
+        private final LongAccumulator maiorDuracao = new LongAccumulator(Math::max, 0);
+
+        void adicionar(IntervaloReserva intervalo) {
+            maiorDuracao.accumulate(Duration.between(intervalo.getInicio(), intervalo.getFim()).getSeconds());
+            intervalos.add(intervalo);
+            grade.marcar(intervalo.getInicio(), intervalo.getFim());
+        }
+
+        void descartarTerminadasAntes(LocalDateTime limite) {
+            intervalos.removeIf(intervalo -> !intervalo.getFim().isAfter(limite));
+            grade.descartarAntes(limite.toLocalDate());
+        }
+
+        boolean possuiConflito(LocalDateTime inicio, LocalDateTime fim) {
+            for (IntervaloReserva existente : candidatos(inicio, fim)) {
+                if (existente.getFim().isAfter(inicio)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void coletarSobrepostos(LocalDateTime inicio, LocalDateTime fim, List<IntervaloReserva> destino) {
+            for (IntervaloReserva existente : candidatos(inicio, fim)) {
+                if (existente.getFim().isAfter(inicio)) {
+                    destino.add(existente);
+                }
+            }
+        }
+
+        // Reservas que começam entre (inicio - maior duração) e fim: as únicas que podem se sobrepor.
+        private NavigableSet<IntervaloReserva> candidatos(LocalDateTime inicio, LocalDateTime fim) {
+            LocalDateTime desde = inicio.minusSeconds(maiorDuracao.get());
+            IntervaloReserva de = new IntervaloReserva(null, null, desde, desde);
+            IntervaloReserva ate = new IntervaloReserva(null, null, fim, fim);
+            return intervalos.subSet(de, true, ate, false);
+        }
+    }
+}
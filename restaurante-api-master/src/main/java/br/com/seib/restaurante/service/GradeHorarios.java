@@ -0,0 +1,96 @@
+package br.com.seib.restaurante.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bitmap diário de faixas de horário (slots de 15 minutos) de uma única mesa.
+ * Cada dia ocupa 96 bits (2 longs): o bit 'n' indica que a faixa [n*15min, (n+1)*15min) possui reserva.
+ * * Justificativa: Permite responder "a mesa está livre nesta janela?" com algumas operações AND,
+ * sem percorrer as reservas. A marcação arredonda para fora (superconjunto do horário ocupado),
+ * então um bitmap livre garante mesa livre; um bit marcado é confirmado pelo índice exato.
+ */
+class GradeHorarios {
+
+    static final int MINUTOS_POR_SLOT = 15;
+    private static final int SLOTS_POR_DIA = 24 * 60 / MINUTOS_POR_SLOT; // 96
+    private static final int PALAVRAS_POR_DIA = (SLOTS_POR_DIA + Long.SIZE - 1) / Long.SIZE; // 2
+    private static final long SEGUNDOS_POR_SLOT = MINUTOS_POR_SLOT * 60L;
+
+    // Um bitmap por dia (data -> palavras de 64 bits), atualizado sem travas (AtomicLongArray).
+    private final Map<LocalDate, AtomicLongArray> dias = new ConcurrentHashMap<>();
+
+    /**
+     * Marca como ocupadas todas as faixas tocadas pelo intervalo [inicio, fim).
+     */
+    void marcar(LocalDateTime inicio, LocalDateTime fim) {
+        percorrer(inicio, fim, (dia, palavra, mascara) -> {
+            AtomicLongArray bits = dias.computeIfAbsent(dia, d -> new AtomicLongArray(PALAVRAS_POR_DIA));
+            bits.accumulateAndGet(palavra, mascara, (atual, m) -> atual | m);
+            return true;
+        });
+    }
+
+    /**
+     * Retorna true se nenhuma faixa tocada pelo intervalo [inicio, fim) estiver marcada.
+     */
+    boolean livre(LocalDateTime inicio, LocalDateTime fim) {
+        return percorrer(inicio, fim, (dia, palavra, mascara) -> {
+            AtomicLongArray bits = dias.get(dia);
+            return bits == null || (bits.get(palavra) & mascara) == 0;
+        });
+    }
+
+    /**
+     * Descarta os bitmaps dos dias anteriores a 'dia'.
+     */
+    void descartarAntes(LocalDate dia) {
+        dias.keySet().removeIf(d -> d.isBefore(dia));
+    }
+
+    /**
+     * Converte o intervalo em máscaras de bits por (dia, palavra) e aplica a operação em cada uma.
+     * Interrompe e retorna false assim que a operação retornar false.
+     */
+    private static boolean percorrer(LocalDateTime inicio, LocalDateTime fim, OperacaoMascara operacao) {
+        LocalDate dia = inicio.toLocalDate();
+        // Slots contados a partir do início de 'dia'; o fim é exclusivo e arredondado para cima.
+        long slot = slotDe(inicio);
+        long segundosAteFim = Duration.between(dia.atStartOfDay(), fim).getSeconds();
+        long ultimo = (segundosAteFim + SEGUNDOS_POR_SLOT - 1) / SEGUNDOS_POR_SLOT - 1;
+
+        while (slot <= ultimo) {
+            int slotNoDia = (int) (slot % SLOTS_POR_DIA);
+            int palavra = slotNoDia / Long.SIZE;
+            // Último slot desta palavra (limitado ao fim do dia e ao fim do intervalo).
+            int fimDaPalavra = Math.min((palavra + 1) * Long.SIZE, SLOTS_POR_DIA) - 1;
+            int ultimoNaPalavra = (int) Math.min(fimDaPalavra, slotNoDia + (ultimo - slot));
+
+            long mascara = mascara(slotNoDia % Long.SIZE, ultimoNaPalavra % Long.SIZE);
+            if (!operacao.aplicar(dia.plusDays(slot / SLOTS_POR_DIA), palavra, mascara)) {
+                return false;
+            }
+            slot += ultimoNaPalavra - slotNoDia + 1;
+        }
+        return true;
+    }
+
+    private static int slotDe(LocalDateTime instante) {
+        return (instante.getHour() * 60 + instante.getMinute()) / MINUTOS_POR_SLOT;
+    }
+
+    // Bits de 'de' até 'ate' (inclusivos) ligados.
+    private static long mascara(int de, int ate) {
+        long ateInclusivo = ate == Long.SIZE - 1 ? -1L : (1L << (ate + 1)) - 1;
+        return ateInclusivo & (-1L << de);
+    }
+
+    @FunctionalInterface
+    private interface OperacaoMascara {
+        boolean aplicar(LocalDate dia, int palavra, long mascara);
+    }
+}
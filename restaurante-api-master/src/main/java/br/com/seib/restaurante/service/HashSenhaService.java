@@ -0,0 +1,90 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hash de senhas (bcrypt) em um pool de threads dedicado e limitado.
+ * * Justificativa: O bcrypt é propositalmente caro em CPU (custo configurável). Executado nas threads
+ * das requisições, um pico de cadastros ocuparia todos os núcleos e atrasaria o restante da API.
+ * Aqui há no máximo uma thread por núcleo e uma fila limitada: com a fila cheia, o cadastro é
+ * recusado imediatamente com 503, em vez de a latência crescer sem limite.
+ */
+@Service
+public class HashSenhaService {
+
+    private final BCryptPasswordEncoder encoder;
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public HashSenhaService(@Value("${senha.hash.custo:10}") int custo,
+                            @Value("${senha.hash.threads:0}") int threads,
+                            @Value("${senha.hash.fila-maxima:64}") int filaMaxima,
+                            MeterRegistry meterRegistry) {
+        this.encoder = new BCryptPasswordEncoder(custo);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        // Threads de plataforma: trabalho de CPU não deve ocupar as portadoras das threads virtuais.
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(filaMaxima),
+                Thread.ofPlatform().name("hash-senha-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.active / executor.queued / executor.completed (tag name=hash-senha) em /actuator/metrics.
+        new ExecutorServiceMetrics(executor, "hash-senha", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Gera o hash aguardando a sua vez no pool.
+     * Lança ServicoSobrecarregadoException (503) se a fila estiver cheia.
+     */
+    public String gerarHash(String senha) {
+        try {
+            return gerarHashAsync(senha).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Versão assíncrona: com a fila cheia, o futuro já vem concluído com ServicoSobrecarregadoException.
+     */
+    public CompletableFuture<String> gerarHashAsync(String senha) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encoder.encode(senha), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new ServicoSobrecarregadoException("Muitos cadastros simultâneos, tente novamente."));
+        }
+    }
+
+    /**
+     * Número de threads do pool (hashes calculados em paralelo).
+     */
+    public int paralelismo() {
+        return threads;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.exception.ChaveIdempotenciaException;
+import br.com.seib.restaurante.exception.RequisicaoEmAndamentoException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Requisições idempotentes (cabeçalho Idempotency-Key) para operações que não podem ser repetidas,
+ * como a criação de reservas.
+ * * Justificativa: Clientes reenviam o POST quando a resposta demora. Sem a chave, cada reenvio
+ * refaz as consultas e falha com "Horário indisponível" contra a reserva do próprio cliente.
+ * A primeira requisição de cada chave executa a operação; as repetições recebem o mesmo resultado,
+ * sem acessar o banco, e as que chegam enquanto a primeira ainda executa aguardam o seu término
+ * por no máximo 'idempotencia.espera-maxima' (depois, HTTP 409 com Retry-After: a thread do
+ * reenvio não fica presa a uma operação travada).
+ * As chaves ficam em memória (Caffeine), com limite de tamanho e expiração. Em várias instâncias,
+ * a garantia vale por instância (repetições costumam chegar à mesma instância pelo balanceador).
+ */
+@Service
+public class IdempotenciaService {
+
+    // Chaves mais longas são recusadas (o padrão sugere UUIDs).
+    static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final Cache<String, Execucao> execucoes;
+    private final Duration esperaMaxima;
+    private final Counter repeticoes;
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public IdempotenciaService(@Value("${idempotencia.tamanho-maximo:100000}") long tamanhoMaximo,
+                               @Value("${idempotencia.ttl:24h}") Duration ttl,
+                               @Value("${idempotencia.espera-maxima:10s}") Duration esperaMaxima,
+                               MeterRegistry meterRegistry) {
+        this.esperaMaxima = esperaMaxima;
+        this.execucoes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // Tamanho e remoções (cache.size, cache.evictions, cache=idempotencia) em /actuator/metrics.
+        CaffeineCacheMetrics.monitor(meterRegistry, execucoes, "idempotencia");
+        this.repeticoes = Counter.builder("restaurante.idempotencia.repeticoes")
+                .description("Requisições repetidas respondidas com o resultado da original")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a operação uma única vez por chave. 'requisicao' (o corpo recebido) identifica a
+     * operação: a mesma chave com outro corpo lança ChaveIdempotenciaException (422).
+     * Se a operação falhar, a exceção é repassada a quem aguardava e a chave é liberada,
+     * permitindo que uma nova tentativa execute novamente. Uma repetição que esperou mais que
+     * 'esperaMaxima' recebe RequisicaoEmAndamentoException (409); a original continua executando.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String chave, Object requisicao, Supplier<T> operacao) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new ChaveIdempotenciaException(
+                    "Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+        }
+
+        Execucao nova = new Execucao(requisicao, new CompletableFuture<>());
+        Execucao existente = execucoes.asMap().putIfAbsent(chave, nova);
+        if (existente != null) {
+            if (!existente.requisicao().equals(requisicao)) {
+                throw new ChaveIdempotenciaException("Idempotency-Key já utilizada com outra requisição.");
+            }
+            repeticoes.increment();
+            return (T) aguardar(existente.resultado());
+        }
+
+        try {
+            T resultado = operacao.get();
+            nova.resultado().complete(resultado);
+            return resultado;
+        } catch (RuntimeException e) {
+            execucoes.asMap().remove(chave, nova);
+            nova.resultado().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object aguardar(CompletableFuture<Object> resultado) {
+        try {
+            // get com prazo (e não orTimeout): o futuro é compartilhado e não pode ser concluído aqui.
+            return resultado.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RequisicaoEmAndamentoException(
+                    "A requisição original com esta Idempotency-Key ainda está em andamento.", esperaMaxima);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequisicaoEmAndamentoException(
+                    "A requisição original com esta Idempotency-Key ainda está em andamento.", esperaMaxima);
+        }
+    }
+
+    /**
+     * Corpo da requisição original e o seu resultado (em andamento enquanto não concluído).
+     */
+    private record Execucao(Object requisicao, CompletableFuture<Object> resultado) {
+    }
+}
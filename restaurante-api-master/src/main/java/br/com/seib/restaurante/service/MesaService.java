@@ -1,11 +1,19 @@
 package br.com.seib.restaurante.service;
 
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
 import br.com.seib.restaurante.model.Mesa;
 import br.com.seib.restaurante.repository.MesaRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Camada de Serviço responsável pela aplicação da lógica de negócio e
@@ -17,9 +25,23 @@ public class MesaService {
     // Injeção de Dependências (IoC): Referência ao agente de dados (Repository).
     private final MesaRepository mesaRepository;
 
+    // Motor de disponibilidade em memória (catálogo de mesas e bitmaps de horários).
+    private final DisponibilidadeService disponibilidadeService;
+
+    // Leitura em streaming: transação somente leitura e desanexação das entidades já escritas.
+    private final EntityManager entityManager;
+    private final TransactionTemplate transacaoLeitura;
+
     @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
-    public MesaService(MesaRepository mesaRepository) {
+    public MesaService(MesaRepository mesaRepository,
+                       DisponibilidadeService disponibilidadeService,
+                       EntityManager entityManager,
+                       PlatformTransactionManager transactionManager) {
         this.mesaRepository = mesaRepository;
+        this.disponibilidadeService = disponibilidadeService;
+        this.entityManager = entityManager;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
     }
 
     /**
@@ -27,7 +49,10 @@ public class MesaService {
      * Esta é a camada ideal para validações de unicidade, se necessário.
      */
     public Mesa salvarMesa(Mesa mesa) {
-        return mesaRepository.save(mesa);
+        Mesa salva = mesaRepository.save(mesa);
+        // Mantém o catálogo em memória sincronizado para a busca de mesas livres.
+        disponibilidadeService.registrarMesa(salva);
+        return salva;
     }
 
     /**
@@ -37,4 +62,40 @@ public class MesaService {
     public List<Mesa> buscarTodas() {
         return mesaRepository.findAll();
     }
+
+    /**
+     * Retorna uma página de mesas ordenada pelo ID, iniciando após o cursor informado.
+     * Utiliza o índice da chave primária (keyset), sem OFFSET.
+     */
+    public PaginaCursorDTO<Mesa> buscarPagina(Long apos, int limite) {
+        limite = PaginaCursorDTO.limitar(limite);
+        List<Mesa> mesas = mesaRepository.findByIdGreaterThanOrderByIdAsc(apos == null ? 0L : apos, Limit.of(limite));
+        String proximoCursor = mesas.size() < limite ? null : String.valueOf(mesas.get(mesas.size() - 1).getId());
+        return new PaginaCursorDTO<>(mesas, proximoCursor);
+    }
+
+    /**
+     * Entrega cada mesa ao consumidor à medida que é lida do cursor do banco.
+     * Cada entidade é desanexada após o uso, mantendo o contexto de persistência vazio.
+     */
+    public void percorrerTodas(Consumer<Mesa> consumidor) {
+        transacaoLeitura.executeWithoutResult(status -> {
+            try (Stream<Mesa> mesas = mesaRepository.streamAllByOrderByIdAsc()) {
+                mesas.forEach(mesa -> {
+                    consumidor.accept(mesa);
+                    entityManager.detach(mesa);
+                });
+            }
+        });
+    }
+
+    /**
+     * Retorna as mesas livres durante toda a janela padrão de reserva
+     * (DURACAO_RESERVA_HORAS) e com capacidade para o número de pessoas, melhor encaixe primeiro.
+     * Respondido pelo índice em memória, sem uma consulta de conflito por mesa.
+     */
+    public List<Mesa> buscarDisponiveis(LocalDateTime inicio, int pessoas) {
+        LocalDateTime fim = inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS);
+        return disponibilidadeService.buscarMesasLivres(inicio, fim, pessoas);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.OcupacaoMesaDTO;
+import br.com.seib.restaurante.dto.RelatorioOcupacaoDTO;
+import br.com.seib.restaurante.dto.ReservaOcupacao;
+import br.com.seib.restaurante.event.ReservaCriadaEvent;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.repository.ReservaArquivadaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Estatísticas de ocupação das mesas mantidas de forma incremental em memória.
+ * * Justificativa: A view vw_relatorio_ocupacao_mesas faz LEFT JOIN + GROUP BY sobre todo o
+ * histórico a cada abertura do relatório. Aqui os agregados (reservas, pessoas e minutos ocupados
+ * por faixa horária) são atualizados a cada reserva criada, e o relatório custa o mesmo
+ * independentemente do tamanho do histórico. 'reconstruir' reconcilia com a tabela base.
+ */
+@Service
+public class OcupacaoService {
+
+    private static final Comparator<OcupacaoMesaDTO> MAIS_RESERVADAS_PRIMEIRO =
+            Comparator.comparingLong(OcupacaoMesaDTO::getTotalReservas).reversed()
+                    .thenComparingInt(OcupacaoMesaDTO::getNumeroMesa);
+
+    private final ReservaRepository reservaRepository;
+    private final ReservaArquivadaRepository arquivoRepository;
+    private final DisponibilidadeService disponibilidadeService;
+    private final TransactionTemplate transacaoLeitura;
+
+    // Agregados atuais; substituídos por inteiro ao fim de uma reconstrução.
+    private volatile Agregados agregados = new Agregados();
+
+    // Durante a reconstrução, eventos recebidos também são guardados aqui (null fora dela).
+    private Queue<ReservaOcupacao> pendentes;
+
+    // Leitura: registro de eventos (concorrentes entre si). Escrita: início e troca da reconstrução.
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public OcupacaoService(ReservaRepository reservaRepository,
+                           ReservaArquivadaRepository arquivoRepository,
+                           DisponibilidadeService disponibilidadeService,
+                           PlatformTransactionManager transactionManager) {
+        this.reservaRepository = reservaRepository;
+        this.arquivoRepository = arquivoRepository;
+        this.disponibilidadeService = disponibilidadeService;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    /**
+     * Carga inicial após a subida da aplicação (o servidor já aceita requisições;
+     * reservas criadas durante a carga não se perdem nem são contadas em dobro).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir();
+    }
+
+    /**
+     * Atualiza os agregados com uma reserva recém-criada (após o commit).
+     */
+    @EventListener
+    public void aoCriarReserva(ReservaCriadaEvent evento) {
+        Reserva reserva = evento.getReserva();
+        ReservaOcupacao ocupacao = new ReservaOcupacao(reserva.getId(), reserva.getMesa().getId(),
+                reserva.getDataHoraInicio(), reserva.getDataHoraFim(), reserva.getNumeroPessoas());
+
+        trava.readLock().lock();
+        try {
+            if (pendentes != null) {
+                pendentes.add(ocupacao);
+            }
+            agregados.adicionar(ocupacao);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Relatório de ocupação de todas as mesas do catálogo (inclusive as sem reservas).
+     */
+    public RelatorioOcupacaoDTO gerarRelatorio() {
+        Agregados atuais = agregados;
+        long dias = atuais.diasObservados();
+
+        List<OcupacaoMesaDTO> linhas = new ArrayList<>();
+        for (Mesa mesa : disponibilidadeService.mesasCadastradas()) {
+            OcupacaoMesa ocupacao = atuais.porMesa.get(mesa.getId());
+            List<Double> porHora = new ArrayList<>(24);
+            for (int hora = 0; hora < 24; hora++) {
+                porHora.add(ocupacao == null || dias == 0 ? 0.0 : ocupacao.minutosPorHora.get(hora) / (60.0 * dias));
+            }
+            linhas.add(new OcupacaoMesaDTO(mesa.getId(), mesa.getNumeroMesa(), mesa.getCapacidade(),
+                    ocupacao == null ? 0 : ocupacao.reservas.sum(),
+                    ocupacao == null ? 0 : ocupacao.pessoas.sum(),
+                    porHora));
+        }
+        linhas.sort(MAIS_RESERVADAS_PRIMEIRO);
+        return new RelatorioOcupacaoDTO(atuais.primeiroDia(), atuais.ultimoDia(), linhas);
+    }
+
+    /**
+     * Recalcula os agregados a partir das tabelas 'reservas' e 'reservas_arquivo' (leitura em streaming,
+     * na mesma transação) e os substitui. Uma reserva arquivada entre as duas leituras é contada uma vez.
+     * Eventos recebidos durante a leitura são aplicados ao final, exceto os de reservas
+     * que a própria leitura já encontrou. Uma reconstrução por vez.
+     */
+    public synchronized RelatorioOcupacaoDTO reconstruir() {
+        trava.writeLock().lock();
+        try {
+            pendentes = new ConcurrentLinkedQueue<>();
+        } finally {
+            trava.writeLock().unlock();
+        }
+
+        Agregados novos = new Agregados();
+        BitSet lidas = new BitSet();
+        boolean concluida = false;
+        try {
+            transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<ReservaOcupacao> reservas = reservaRepository.streamOcupacao()) {
+                    reservas.forEach(reserva -> {
+                        novos.adicionar(reserva);
+                        lidas.set(Math.toIntExact(reserva.getReservaId()));
+                    });
+                }
+                try (Stream<ReservaOcupacao> arquivadas = arquivoRepository.streamOcupacao()) {
+                    arquivadas.filter(reserva -> !lidas.get(Math.toIntExact(reserva.getReservaId())))
+                            .forEach(reserva -> {
+                                novos.adicionar(reserva);
+                                lidas.set(Math.toIntExact(reserva.getReservaId()));
+                            });
+                }
+            });
+            concluida = true;
+        } finally {
+            // Em caso de falha na leitura, os agregados atuais são mantidos.
+            trava.writeLock().lock();
+            try {
+                if (concluida) {
+                    pendentes.stream()
+                            .filter(reserva -> !lidas.get(Math.toIntExact(reserva.getReservaId())))
+                            .forEach(novos::adicionar);
+                    agregados = novos;
+                }
+                pendentes = null;
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+        return gerarRelatorio();
+    }
+
+    /**
+     * Conjunto de agregados de todas as mesas e o período observado (em dias epoch).
+     */
+    private static class Agregados {
+
+        private final Map<Long, OcupacaoMesa> porMesa = new ConcurrentHashMap<>();
+        private final LongAccumulator primeiroDia = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator ultimoDia = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        void adicionar(ReservaOcupacao reserva) {
+            porMesa.computeIfAbsent(reserva.getMesaId(), id -> new OcupacaoMesa()).adicionar(reserva);
+            long dia = reserva.getInicio().toLocalDate().toEpochDay();
+            primeiroDia.accumulate(dia);
+            ultimoDia.accumulate(dia);
+        }
+
+        long diasObservados() {
+            long primeiro = primeiroDia.get();
+            return primeiro == Long.MAX_VALUE ? 0 : ultimoDia.get() - primeiro + 1;
+        }
+
+        LocalDate primeiroDia() {
+            return diasObservados() == 0 ? null : LocalDate.ofEpochDay(primeiroDia.get());
+        }
+
+        LocalDate ultimoDia() {
+            return diasObservados() == 0 ? null : LocalDate.ofEpochDay(ultimoDia.get());
+        }
+    }
+
+    /**
+     * Agregados de uma mesa: atualizados sem trava (contadores atômicos).
+     */
+    private static class OcupacaoMesa {
+
+        private final LongAdder reservas = new LongAdder();
+        private final LongAdder pessoas = new LongAdder();
+        private final AtomicLongArray minutosPorHora = new AtomicLongArray(24);
+
+        void adicionar(ReservaOcupacao reserva) {
+            reservas.increment();
+            pessoas.add(reserva.getNumeroPessoas());
+
+            // Distribui os minutos ocupados entre as faixas horárias (inclusive após a meia-noite).
+            LocalDateTime cursor = reserva.getInicio();
+            while (cursor.isBefore(reserva.getFim())) {
+                LocalDateTime proximaHora = cursor.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                LocalDateTime limite = proximaHora.isBefore(reserva.getFim()) ? proximaHora : reserva.getFim();
+                minutosPorHora.addAndGet(cursor.getHour(), ChronoUnit.MINUTES.between(cursor, limite));
+                cursor = limite;
+            }
+        }
+    }
+}
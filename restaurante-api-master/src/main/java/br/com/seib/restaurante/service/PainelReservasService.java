@@ -0,0 +1,170 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.ReservaPainelDTO;
+import br.com.seib.restaurante.event.ReservaCriadaEvent;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Painel ao vivo das reservas do dia via Server-Sent Events (substitui o polling da view vw_reservas_de_hoje).
+ * * Justificativa: Cada assinante recebe um snapshot (1 consulta sargable por conexão) e, depois,
+ * apenas as novas reservas, publicadas após o commit. O banco deixa de ser consultado a cada atualização.
+ * Cada assinante tem uma fila limitada e uma thread virtual de envio: quem publica nunca espera
+ * por um cliente lento; se a fila de um assinante enche, ele é desconectado (o EventSource do
+ * navegador reconecta e recebe um novo snapshot).
+ */
+@Service
+public class PainelReservasService {
+
+    private final ReservaRepository reservaRepository;
+    private final long timeoutMs;
+    private final int capacidadeFila;
+
+    private final List<Assinante> assinantes = new CopyOnWriteArrayList<>();
+    private final Counter descartados;
+
+    // Uma thread virtual de envio por assinante (bloquear na escrita do socket é barato).
+    private final ThreadFactory threadsDeEnvio = Thread.ofVirtual().name("painel-reservas-", 0).factory();
+
+    @Autowired // Realiza a Injeção de Dependência (DI) via construtor.
+    public PainelReservasService(ReservaRepository reservaRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${painel.reservas.timeout:30m}") Duration timeout,
+                                 @Value("${painel.reservas.capacidade-fila:256}") int capacidadeFila) {
+        this.reservaRepository = reservaRepository;
+        this.timeoutMs = timeout.toMillis();
+        this.capacidadeFila = capacidadeFila;
+
+        Gauge.builder("restaurante.painel.assinantes", assinantes, List::size)
+                .description("Conexões abertas no painel de reservas do dia")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("restaurante.painel.descartados")
+                .description("Assinantes desconectados por não acompanharem o ritmo das reservas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre uma assinatura: o snapshot do dia e as novas reservas são enviados pela thread do assinante.
+     */
+    public SseEmitter assinar() {
+        Assinante assinante = new Assinante(new SseEmitter(timeoutMs), new ArrayBlockingQueue<>(capacidadeFila));
+        assinante.emitter.onCompletion(() -> encerrar(assinante));
+        assinante.emitter.onTimeout(() -> encerrar(assinante));
+        assinante.emitter.onError(erro -> encerrar(assinante));
+
+        // Registrado antes do snapshot: reservas criadas durante a consulta ficam na fila.
+        assinantes.add(assinante);
+        assinante.enviador = threadsDeEnvio.newThread(() -> transmitir(assinante));
+        assinante.enviador.start();
+        return assinante.emitter;
+    }
+
+    /**
+     * Encaminha a nova reserva do dia para todos os assinantes, sem bloquear (chamado após o commit).
+     */
+    @EventListener
+    public void aoCriarReserva(ReservaCriadaEvent evento) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        Reserva reserva = evento.getReserva();
+        if (!reserva.getDataHoraInicio().toLocalDate().equals(LocalDate.now())) {
+            return;
+        }
+
+        ReservaPainelDTO linha = new ReservaPainelDTO(reserva.getId(), reserva.getDataHoraInicio(),
+                reserva.getDataHoraFim(), reserva.getUsuario().getNome(), reserva.getUsuario().getEmail(),
+                reserva.getMesa().getNumeroMesa(), reserva.getNumeroPessoas());
+        for (Assinante assinante : assinantes) {
+            if (!assinante.fila.offer(linha)) {
+                descartados.increment();
+                assinante.emitter.complete();
+                encerrar(assinante);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrarTodos() {
+        assinantes.forEach(assinante -> {
+            assinante.emitter.complete();
+            encerrar(assinante);
+        });
+    }
+
+    /**
+     * Laço de envio do assinante (thread virtual): snapshot e, depois, a fila de novas reservas.
+     */
+    private void transmitir(Assinante assinante) {
+        try {
+            LocalDateTime inicioDoDia = LocalDate.now().atStartOfDay();
+            List<ReservaPainelDTO> snapshot = reservaRepository.findPainelEntre(inicioDoDia, inicioDoDia.plusDays(1));
+            Set<Long> enviadas = snapshot.stream().map(ReservaPainelDTO::getReservaId).collect(Collectors.toSet());
+            assinante.emitter.send(SseEmitter.event().name("snapshot").data(snapshot));
+
+            while (assinante.ativo.get()) {
+                ReservaPainelDTO linha = assinante.fila.take();
+                // Já incluída no snapshot (criada durante a consulta inicial).
+                if (enviadas.remove(linha.getReservaId())) {
+                    continue;
+                }
+                assinante.emitter.send(SseEmitter.event()
+                        .name("reserva")
+                        .id(String.valueOf(linha.getReservaId()))
+                        .data(linha));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            // Cliente desconectado (ou falha no snapshot): encerra a conexão.
+            assinante.emitter.completeWithError(e);
+        } finally {
+            encerrar(assinante);
+        }
+    }
+
+    private void encerrar(Assinante assinante) {
+        if (assinante.ativo.compareAndSet(true, false)) {
+            assinantes.remove(assinante);
+            Thread enviador = assinante.enviador;
+            if (enviador != null && enviador != Thread.currentThread()) {
+                enviador.interrupt();
+            }
+        }
+    }
+
+    private static class Assinante {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<ReservaPainelDTO> fila;
+        private final AtomicBoolean ativo = new AtomicBoolean(true);
+        private volatile Thread enviador;
+
+        Assinante(SseEmitter emitter, BlockingQueue<ReservaPainelDTO> fila) {
+            this.emitter = emitter;
+            this.fila = fila;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.dto.ReservaRequestDTO;
+import br.com.seib.restaurante.dto.ResultadoItemLoteDTO;
+import br.com.seib.restaurante.event.ReservaCriadaEvent;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import br.com.seib.restaurante.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Camada de Serviço da importação de reservas em lote (eventos e sistemas parceiros).
+ * * Justificativa: Em vez de 3 buscas + 1 consulta de conflito + 1 INSERT por reserva,
+ * o lote inteiro usa 1 consulta de usuários, 1 consulta (com trava) de mesas, 1 consulta de
+ * horários ocupados e INSERTs agrupados via JDBC batching. Conflitos, inclusive entre itens
+ * do próprio lote, são verificados em memória.
+ */
+@Service
+@Lazy // Uso eventual (cargas em lote): criado na primeira requisição, não na subida.
+public class ReservaLoteService {
+
+    private final ReservaRepository reservaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final MesaRepository mesaRepository;
+    private final DisponibilidadeService disponibilidadeService;
+    private final CodigoReservaService codigoReservaService;
+    private final TravasPorMesa travasPorMesa;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Limite de itens por requisição, evitando transações e travas longas demais.
+    private final int tamanhoMaximo;
+
+    // Mesmos contadores de rejeição da reserva individual (tag 'motivo').
+    private final Counter rejeicoesPorConflito;
+    private final Counter rejeicoesPorCapacidade;
+
+    @Autowired // Construtor para Injeção de Dependência (DI).
+    public ReservaLoteService(ReservaRepository reservaRepository,
+                              UsuarioRepository usuarioRepository,
+                              MesaRepository mesaRepository,
+                              DisponibilidadeService disponibilidadeService,
+                              CodigoReservaService codigoReservaService,
+                              TravasPorMesa travasPorMesa,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${reserva.lote.tamanho-maximo:1000}") int tamanhoMaximo,
+                              MeterRegistry meterRegistry) {
+        this.reservaRepository = reservaRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.mesaRepository = mesaRepository;
+        this.disponibilidadeService = disponibilidadeService;
+        this.codigoReservaService = codigoReservaService;
+        this.travasPorMesa = travasPorMesa;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.rejeicoesPorConflito = ReservaService.contadorDeRejeicoes(meterRegistry, "conflito");
+        this.rejeicoesPorCapacidade = ReservaService.contadorDeRejeicoes(meterRegistry, "capacidade");
+    }
+
+    /**
+     * Valida e persiste o lote, retornando o resultado de cada item na mesma ordem da entrada.
+     * Itens rejeitados não impedem a gravação dos demais.
+     */
+    public List<ResultadoItemLoteDTO> criarReservas(List<ReservaRequestDTO> lote) {
+        if (lote.size() > tamanhoMaximo) {
+            throw new RuntimeException("Lote excede o limite de " + tamanhoMaximo + " reservas.");
+        }
+
+        ResultadoItemLoteDTO[] resultados = new ResultadoItemLoteDTO[lote.size()];
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < lote.size(); i++) {
+            ReservaRequestDTO dto = lote.get(i);
+            if (dto == null || dto.getUsuarioId() == null || dto.getMesaId() == null || dto.getDataHoraInicio() == null) {
+                resultados[i] = ResultadoItemLoteDTO.rejeitado(i, "Campos obrigatórios ausentes.");
+            } else {
+                validos.add(i);
+            }
+        }
+        if (validos.isEmpty()) {
+            return List.of(resultados);
+        }
+
+        Set<Long> mesaIds = validos.stream().map(i -> lote.get(i).getMesaId()).collect(Collectors.toSet());
+
+        // Códigos reservados antes da transação (a troca de bloco usa uma conexão própria);
+        // itens rejeitados deixam lacunas na sequência do dia.
+        Map<Integer, Integer> codigos = new HashMap<>();
+        for (int i : validos) {
+            codigos.put(i, codigoReservaService.proximoCodigo(lote.get(i).getDataHoraInicio().toLocalDate()));
+        }
+
+        // Travas de todas as mesas do lote (ordem fixa), depois uma única transação.
+        List<Integer> indicesAceitos = new ArrayList<>();
+        List<Counter> rejeicoes = new ArrayList<>();
+        List<Reserva> salvas = travasPorMesa.executar(mesaIds, () -> {
+            List<Reserva> criadas = transactionTemplate.execute(
+                    status -> persistir(lote, validos, mesaIds, codigos, resultados, indicesAceitos, rejeicoes));
+
+            // Após o commit e ainda com as travas: o índice passa a refletir as novas reservas.
+            criadas.forEach(disponibilidadeService::registrar);
+            return criadas;
+        });
+
+        // Rejeições contadas só após o commit: um lote desfeito não conta as suas.
+        rejeicoes.forEach(Counter::increment);
+
+        // IDs gerados só são conhecidos após o salvamento (saveAll preserva a ordem).
+        for (int k = 0; k < salvas.size(); k++) {
+            int i = indicesAceitos.get(k);
+            resultados[i] = ResultadoItemLoteDTO.criado(i, salvas.get(k).getId());
+            eventPublisher.publishEvent(new ReservaCriadaEvent(salvas.get(k)));
+        }
+        return List.of(resultados);
+    }
+
+    /**
+     * Executado na transação: resolve FKs e horários ocupados com uma consulta cada,
+     * valida os itens em memória e grava os aceitos com saveAll (INSERTs em lote).
+     * Rejeições são registradas em 'resultados' (e o contador de cada uma, em 'rejeicoes');
+     * as posições dos aceitos, em 'indicesAceitos'.
+     */
+    private List<Reserva> persistir(List<ReservaRequestDTO> lote, List<Integer> validos, Set<Long> mesaIds,
+                                    Map<Integer, Integer> codigos, ResultadoItemLoteDTO[] resultados,
+                                    List<Integer> indicesAceitos, List<Counter> rejeicoes) {
+
+        // 1. Validação de Integridade em lote: 1 consulta para usuários, 1 para mesas (FOR UPDATE).
+        Set<Long> usuarioIds = validos.stream().map(i -> lote.get(i).getUsuarioId()).collect(Collectors.toSet());
+        Map<Long, Usuario> usuarios = usuarioRepository.findAllById(usuarioIds).stream()
+                .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+        Map<Long, Mesa> mesas = mesaRepository.findAllByIdParaReserva(mesaIds).stream()
+                .collect(Collectors.toMap(Mesa::getId, Function.identity()));
+
+        // 2. Horários já ocupados nas mesas do lote, dentro da janela total do lote (1 consulta).
+        LocalDateTime inicioLote = validos.stream().map(i -> lote.get(i).getDataHoraInicio())
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime fimLote = validos.stream().map(i -> lote.get(i).getDataHoraInicio())
+                .max(Comparator.naturalOrder()).orElseThrow()
+                .plusHours(ReservaService.DURACAO_RESERVA_HORAS);
+
+        Map<Long, DisponibilidadeService.AgendaMesa> agendas = new HashMap<>();
+        for (IntervaloReserva ocupado : reservaRepository.findIntervalosConflitantes(mesaIds, inicioLote, fimLote)) {
+            agendas.computeIfAbsent(ocupado.getMesaId(), id -> new DisponibilidadeService.AgendaMesa()).adicionar(ocupado);
+        }
+
+        // 3. Validação item a item em memória; aceitos entram na agenda local (conflitos dentro do lote).
+        List<Reserva> aceitas = new ArrayList<>();
+        for (int i : validos) {
+            ReservaRequestDTO dto = lote.get(i);
+            Usuario usuario = usuarios.get(dto.getUsuarioId());
+            Mesa mesa = mesas.get(dto.getMesaId());
+            LocalDateTime inicio = dto.getDataHoraInicio();
+            LocalDateTime fim = inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS);
+            DisponibilidadeService.AgendaMesa agenda =
+                    agendas.computeIfAbsent(dto.getMesaId(), id -> new DisponibilidadeService.AgendaMesa());
+
+            String motivo = motivoRejeicao(dto, usuario, mesa, agenda, inicio, fim, rejeicoes);
+            if (motivo != null) {
+                resultados[i] = ResultadoItemLoteDTO.rejeitado(i, motivo);
+                continue;
+            }
+
+            Reserva novaReserva = new Reserva();
+            novaReserva.setUsuario(usuario);
+            novaReserva.setMesa(mesa);
+            novaReserva.setDataHoraInicio(inicio);
+            novaReserva.setDataHoraFim(fim);
+            novaReserva.setNumeroPessoas(dto.getNumeroPessoas());
+            novaReserva.setCodigo(codigos.get(i));
+
+            agenda.adicionar(new IntervaloReserva(null, mesa.getId(), inicio, fim));
+            indicesAceitos.add(i);
+            aceitas.add(novaReserva);
+        }
+
+        // 4. Persistência: saveAll + hibernate.jdbc.batch_size agrupam os INSERTs no flush do commit.
+        return reservaRepository.saveAll(aceitas);
+    }
+
+    private String motivoRejeicao(ReservaRequestDTO dto, Usuario usuario, Mesa mesa,
+                                  DisponibilidadeService.AgendaMesa agenda,
+                                  LocalDateTime inicio, LocalDateTime fim, List<Counter> rejeicoes) {
+        if (usuario == null) {
+            return "Usuário não encontrado!";
+        }
+        if (mesa == null) {
+            return "Mesa não encontrada!";
+        }
+        if (dto.getNumeroPessoas() > mesa.getCapacidade()) {
+            rejeicoes.add(rejeicoesPorCapacidade);
+            return "Número de pessoas (" + dto.getNumeroPessoas() +
+                    ") excede a capacidade da mesa (" + mesa.getCapacidade() + ").";
+        }
+        if (agenda.possuiConflito(inicio, fim)) {
+            rejeicoes.add(rejeicoesPorConflito);
+            return ReservaService.MENSAGEM_CONFLITO;
+        }
+        return null;
+    }
+}
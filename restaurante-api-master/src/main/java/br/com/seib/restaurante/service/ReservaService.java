@@ -1,16 +1,33 @@
 package br.com.seib.restaurante.service;
 
+import br.com.seib.restaurante.dto.AlternativasReservaDTO;
+import br.com.seib.restaurante.dto.FatiaDTO;
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
+import br.com.seib.restaurante.dto.ReservaCombinadaRequestDTO;
 import br.com.seib.restaurante.dto.ReservaRequestDTO;
+import br.com.seib.restaurante.dto.ReservaResumoDTO;
+import br.com.seib.restaurante.event.ReservaCriadaEvent;
+import br.com.seib.restaurante.exception.ConflitoReservaException;
 import br.com.seib.restaurante.model.Mesa;
 import br.com.seib.restaurante.model.Reserva;
 import br.com.seib.restaurante.model.Usuario;
 import br.com.seib.restaurante.repository.MesaRepository;
 import br.com.seib.restaurante.repository.ReservaRepository;
 import br.com.seib.restaurante.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -21,59 +38,153 @@ import java.util.List;
 public class ReservaService {
 
     // Regra de Negócio: Duração padrão de 2 horas para uma reserva.
-    private static final long DURACAO_RESERVA_HORAS = 2;
+    public static final long DURACAO_RESERVA_HORAS = 2;
+
+    static final String MENSAGEM_CONFLITO =
+            "Horário indisponível. Já existe uma reserva para esta mesa neste período.";
+
+    // Alternativas (horários na mesma mesa e outras mesas) devolvidas em uma recusa por conflito.
+    static final int LIMITE_ALTERNATIVAS = 3;
+
+    // Métrica (Micrometer): reservas rejeitadas, com a tag 'motivo' (conflito ou capacidade).
+    static final String METRICA_REJEICOES = "restaurante.reservas.rejeitadas";
 
     // Injeção de Dependências (IoC): Agentes de acesso ao banco.
     private final ReservaRepository reservaRepository;
     private final UsuarioRepository usuarioRepository;
     private final MesaRepository mesaRepository;
 
+    // Índice em memória dos horários ocupados por mesa.
+    private final DisponibilidadeService disponibilidadeService;
+
+    // Código amigável por dia (blocos reservados no banco, entregues em memória).
+    private final CodigoReservaService codigoReservaService;
+
+    // Escolha de mesas (uma ou várias unidas) para grupos sem mesa definida.
+    private final CombinacaoMesasService combinacaoMesasService;
+
+    // Controle de concorrência: travas por mesa e transação programática.
+    private final TravasPorMesa travasPorMesa;
+    private final TransactionTemplate transactionTemplate;
+
+    // Notifica os interessados (estatísticas, painéis) após o commit de cada reserva.
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Contadores de rejeição por motivo (expostos em /actuator/metrics).
+    private final Counter rejeicoesPorConflito;
+    private final Counter rejeicoesPorCapacidade;
+
     @Autowired // Construtor para Injeção de Dependência (DI) dos Repositórios.
     public ReservaService(ReservaRepository reservaRepository,
                           UsuarioRepository usuarioRepository,
-                          MesaRepository mesaRepository) {
+                          MesaRepository mesaRepository,
+                          DisponibilidadeService disponibilidadeService,
+                          CodigoReservaService codigoReservaService,
+                          CombinacaoMesasService combinacaoMesasService,
+                          TravasPorMesa travasPorMesa,
+                          TransactionTemplate transactionTemplate,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry) {
         this.reservaRepository = reservaRepository;
         this.usuarioRepository = usuarioRepository;
         this.mesaRepository = mesaRepository;
+        this.disponibilidadeService = disponibilidadeService;
+        this.codigoReservaService = codigoReservaService;
+        this.combinacaoMesasService = combinacaoMesasService;
+        this.travasPorMesa = travasPorMesa;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.rejeicoesPorConflito = contadorDeRejeicoes(meterRegistry, "conflito");
+        this.rejeicoesPorCapacidade = contadorDeRejeicoes(meterRegistry, "capacidade");
+    }
+
+    static Counter contadorDeRejeicoes(MeterRegistry meterRegistry, String motivo) {
+        return Counter.builder(METRICA_REJEICOES)
+                .description("Reservas rejeitadas por regra de negócio")
+                .tag("motivo", motivo)
+                .register(meterRegistry);
     }
 
     /**
      * Processa a solicitação de reserva vinda do Controller (via DTO),
      * aplica as regras de negócio e persiste a transação.
+     * * Concorrência: a checagem de conflito e a inserção são atômicas por mesa
+     * (trava listrada + transação com SELECT ... FOR UPDATE na mesa). Reservas de
+     * mesas diferentes seguem em paralelo.
+     * * Conflito: a recusa (HTTP 409) traz os horários livres mais próximos na mesma mesa e as
+     * outras mesas livres no horário pedido, para que o cliente não precise tentar às cegas.
      */
+    @Observed(name = "restaurante.reservas.criacao", contextualName = "criar-reserva")
     public Reserva criarReserva(ReservaRequestDTO dto) {
 
+        // Regra de Negócio: Cálculo de Duração.
+        LocalDateTime inicio = dto.getDataHoraInicio();
+        LocalDateTime fim = inicio.plusHours(DURACAO_RESERVA_HORAS);
+
+        // Rejeição rápida: conflito já conhecido pelo índice em memória (sem trava e sem banco).
+        if (conflitoEmMemoria(dto.getMesaId(), inicio, fim)) {
+            rejeicoesPorConflito.increment();
+            throw conflitoComAlternativas(dto, inicio, fim);
+        }
+
+        // Antes da transação: a troca de bloco usa uma conexão própria, e pedi-la com a conexão da
+        // reserva já ocupada pode esgotar o pool sob carga. Reservas rejeitadas deixam lacunas.
+        int codigo = codigoReservaService.proximoCodigo(inicio.toLocalDate());
+
+        // Seção crítica da mesa: apenas reservas da mesma mesa aguardam aqui.
+        Reserva criada;
+        try {
+            criada = travasPorMesa.executar(dto.getMesaId(), () -> {
+                Reserva salva = transactionTemplate.execute(status -> persistir(dto, inicio, fim, codigo));
+
+                // Após o commit e ainda com a trava: o índice passa a refletir a nova reserva.
+                disponibilidadeService.registrar(salva);
+                return salva;
+            });
+        } catch (ConflitoReservaException e) {
+            // Alternativas calculadas fora da trava e da transação: não atrasam outras reservas da mesa.
+            if (!conflitoEmMemoria(dto.getMesaId(), inicio, fim)) {
+                // Recusa vinda do banco: o índice não conhece a reserva conflitante; relê o dia antes.
+                disponibilidadeService.recarregarDia(inicio, fim);
+            }
+            throw conflitoComAlternativas(dto, inicio, fim);
+        }
+
+        // Fora da trava: os ouvintes não atrasam outras reservas da mesma mesa.
+        eventPublisher.publishEvent(new ReservaCriadaEvent(criada));
+        return criada;
+    }
+
+    /**
+     * Validações e inserção, executadas dentro da transação e da trava da mesa.
+     */
+    private Reserva persistir(ReservaRequestDTO dto, LocalDateTime inicio, LocalDateTime fim, int codigo) {
+
         // 1. Validação de Integridade: Confere se as FKs (Foreign Keys) existem no banco.
         Usuario usuario = usuarioRepository.findById(dto.getUsuarioId())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado!"));
 
-        Mesa mesa = mesaRepository.findById(dto.getMesaId())
+        // SELECT ... FOR UPDATE: trava a linha da mesa até o commit (exclusão entre instâncias).
+        Mesa mesa = mesaRepository.findByIdParaReserva(dto.getMesaId())
                 .orElseThrow(() -> new RuntimeException("Mesa não encontrada!"));
 
         // 2. Regra de Negócio: Capacidade Máxima. (Requisito de Lógica/Trigger)
         if (dto.getNumeroPessoas() > mesa.getCapacidade()) {
+            rejeicoesPorCapacidade.increment();
             throw new RuntimeException("Número de pessoas (" + dto.getNumeroPessoas() +
                     ") excede a capacidade da mesa (" + mesa.getCapacidade() + ").");
         }
 
-        // 3. Regra de Negócio: Cálculo de Duração.
-        LocalDateTime inicio = dto.getDataHoraInicio();
-        LocalDateTime fim = inicio.plusHours(DURACAO_RESERVA_HORAS);
-
-        // 4. Regra de Negócio: Checagem de Conflito de Horário. (Lógica Principal)
-        List<Reserva> conflitos = reservaRepository.findReservasConflitantes(
-                dto.getMesaId(),
-                inicio,
-                fim
-        );
-
-
-        if (!conflitos.isEmpty()) {
-            // Rejeita a transação se a consulta retornar qualquer conflito.
-            throw new RuntimeException("Horário indisponível. Já existe uma reserva para esta mesa neste período.");
+        // 3. Regra de Negócio: Checagem de Conflito de Horário. (Lógica Principal)
+        // Re-checagem sob a trava: índice em memória e guarda final no banco (EXISTS).
+        if (conflitoEmMemoria(mesa.getId(), inicio, fim)
+                || reservaRepository.existeConflito(mesa.getId(), inicio, fim)) {
+            // Rejeita a transação se houver qualquer conflito.
+            rejeicoesPorConflito.increment();
+            throw new ConflitoReservaException(MENSAGEM_CONFLITO);
         }
 
-        // 5. Persistência: Construção e Salvamento.
+        // 4. Persistência: Construção e Salvamento.
         // Constrói o objeto de persistência completo com as entidades (Usuario, Mesa)
         Reserva novaReserva = new Reserva();
         novaReserva.setUsuario(usuario);
@@ -81,8 +192,138 @@ public class ReservaService {
         novaReserva.setDataHoraInicio(inicio);
         novaReserva.setDataHoraFim(fim);
         novaReserva.setNumeroPessoas(dto.getNumeroPessoas());
+        novaReserva.setCodigo(codigo);
 
         // Retorna o objeto salvo (agora com o ID gerado).
         return reservaRepository.save(novaReserva);
     }
+
+    /**
+     * Reserva para um grupo sem mesa definida: a API escolhe a combinação de mesas livres de menor
+     * custo (CombinacaoMesasService) e cria uma reserva por mesa, todas com o mesmo código.
+     * * Atomicidade: as travas de todas as mesas são adquiridas juntas e as reservas são gravadas em
+     * uma única transação; se qualquer mesa tiver sido ocupada nesse meio-tempo, nenhuma é criada.
+     */
+    @Observed(name = "restaurante.reservas.criacao-combinada", contextualName = "criar-reserva-combinada")
+    public List<Reserva> criarReservaCombinada(ReservaCombinadaRequestDTO dto) {
+        LocalDateTime inicio = dto.getDataHoraInicio();
+        LocalDateTime fim = inicio.plusHours(DURACAO_RESERVA_HORAS);
+
+        // 'numeroPessoas' ausente no JSON chega como 0: a busca aceitaria uma combinação vazia.
+        if (dto.getNumeroPessoas() < 1) {
+            throw new RuntimeException("Número de pessoas inválido (" + dto.getNumeroPessoas() + ").");
+        }
+
+        // Busca em memória, fora da trava: as mesas escolhidas são confirmadas dentro da transação.
+        List<Mesa> escolhidas = buscarCombinacao(dto, inicio, fim);
+
+        int codigo = codigoReservaService.proximoCodigo(inicio.toLocalDate());
+
+        List<Reserva> criadas;
+        try {
+            criadas = reservarCombinacao(dto, escolhidas, inicio, fim, codigo);
+        } catch (ConflitoReservaException e) {
+            // Uma das mesas foi ocupada entre a busca e a trava (nesta ou em outra instância): o índice
+            // relê o dia e a busca é refeita uma única vez, já sem a mesa ocupada.
+            disponibilidadeService.recarregarDia(inicio, fim);
+            criadas = reservarCombinacao(dto, buscarCombinacao(dto, inicio, fim), inicio, fim, codigo);
+        }
+
+        criadas.forEach(reserva -> eventPublisher.publishEvent(new ReservaCriadaEvent(reserva)));
+        return criadas;
+    }
+
+    private List<Mesa> buscarCombinacao(ReservaCombinadaRequestDTO dto, LocalDateTime inicio, LocalDateTime fim) {
+        return combinacaoMesasService
+                .buscarCombinacao(inicio, fim, dto.getNumeroPessoas(), dto.getZona())
+                .orElseThrow(() -> {
+                    rejeicoesPorCapacidade.increment();
+                    return new RuntimeException("Nenhuma combinação de mesas livres comporta "
+                            + dto.getNumeroPessoas() + " pessoas neste horário.");
+                });
+    }
+
+    private List<Reserva> reservarCombinacao(ReservaCombinadaRequestDTO dto, List<Mesa> escolhidas,
+                                             LocalDateTime inicio, LocalDateTime fim, int codigo) {
+        List<Long> mesaIds = escolhidas.stream().map(Mesa::getId).sorted().toList();
+        return travasPorMesa.executar(mesaIds, () -> {
+            List<Reserva> salvas = transactionTemplate.execute(status ->
+                    persistirCombinacao(dto, mesaIds, inicio, fim, codigo));
+            salvas.forEach(disponibilidadeService::registrar);
+            return salvas;
+        });
+    }
+
+    /**
+     * Validações e inserção das reservas de uma combinação, dentro da transação e das travas das mesas.
+     */
+    private List<Reserva> persistirCombinacao(ReservaCombinadaRequestDTO dto, List<Long> mesaIds,
+                                              LocalDateTime inicio, LocalDateTime fim, int codigo) {
+        Usuario usuario = usuarioRepository.findById(dto.getUsuarioId())
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado!"));
+
+        // SELECT ... FOR UPDATE em ordem de ID: mesma ordem de travamento do lote.
+        List<Mesa> mesas = new ArrayList<>(mesaRepository.findAllByIdParaReserva(mesaIds));
+        if (mesas.size() != mesaIds.size()) {
+            throw new RuntimeException("Mesa não encontrada!");
+        }
+        int capacidadeTotal = mesas.stream().mapToInt(Mesa::getCapacidade).sum();
+        if (dto.getNumeroPessoas() > capacidadeTotal) {
+            rejeicoesPorCapacidade.increment();
+            throw new RuntimeException("Número de pessoas (" + dto.getNumeroPessoas() +
+                    ") excede a capacidade das mesas (" + capacidadeTotal + ").");
+        }
+        for (Mesa mesa : mesas) {
+            if (conflitoEmMemoria(mesa.getId(), inicio, fim)
+                    || reservaRepository.existeConflito(mesa.getId(), inicio, fim)) {
+                rejeicoesPorConflito.increment();
+                throw new ConflitoReservaException("Horário indisponível. A mesa " + mesa.getNumeroMesa()
+                        + " foi reservada durante a alocação; tente novamente.");
+            }
+        }
+
+        // Pessoas distribuídas da maior para a menor mesa (cada reserva registra quem ocupa a sua mesa).
+        mesas.sort(Comparator.comparingInt(Mesa::getCapacidade).reversed());
+        int restantes = dto.getNumeroPessoas();
+        List<Reserva> reservas = new ArrayList<>(mesas.size());
+        for (Mesa mesa : mesas) {
+            int pessoas = Math.min(mesa.getCapacidade(), restantes);
+            restantes -= pessoas;
+
+            Reserva reserva = new Reserva();
+            reserva.setUsuario(usuario);
+            reserva.setMesa(mesa);
+            reserva.setDataHoraInicio(inicio);
+            reserva.setDataHoraFim(fim);
+            reserva.setNumeroPessoas(pessoas);
+            reserva.setCodigo(codigo);
+            reservas.add(reserva);
+        }
+        return reservaRepository.saveAll(reservas);
+    }
+
+    /**
+     * Lista as reservas que começam no dia informado (opcionalmente de uma única mesa),
+     * ordenadas pelo horário de início. Cada página é lida em uma única consulta (projeção).
+     */
+    public FatiaDTO<ReservaResumoDTO> buscarPorDia(Long mesaId, LocalDate data, int pagina, int tamanho) {
+        LocalDateTime inicioDoDia = data.atStartOfDay();
+        PageRequest pageRequest = PageRequest.of(Math.max(pagina, 0), PaginaCursorDTO.limitar(tamanho));
+        Slice<ReservaResumoDTO> fatia = mesaId == null
+                ? reservaRepository.findResumoEntre(inicioDoDia, inicioDoDia.plusDays(1), pageRequest)
+                : reservaRepository.findResumoPorMesaEntre(mesaId, inicioDoDia, inicioDoDia.plusDays(1), pageRequest);
+        return FatiaDTO.de(fatia);
+    }
+
+    private ConflitoReservaException conflitoComAlternativas(ReservaRequestDTO dto, LocalDateTime inicio,
+                                                             LocalDateTime fim) {
+        AlternativasReservaDTO alternativas = disponibilidadeService.sugerirAlternativas(
+                dto.getMesaId(), inicio, fim, dto.getNumeroPessoas(), LIMITE_ALTERNATIVAS);
+        alternativas.setMensagem(MENSAGEM_CONFLITO);
+        return new ConflitoReservaException(MENSAGEM_CONFLITO, alternativas);
+    }
+
+    private boolean conflitoEmMemoria(Long mesaId, LocalDateTime inicio, LocalDateTime fim) {
+        return disponibilidadeService.cobre(inicio) && disponibilidadeService.possuiConflito(mesaId, inicio, fim);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package br.com.seib.restaurante.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Travas listradas (striped locks) indexadas pelo ID da mesa.
+ * * Justificativa: Serializa apenas as reservas da MESMA mesa (checagem + inserção atômicas),
+ * permitindo que reservas de mesas diferentes sejam processadas em paralelo.
+ * Um número fixo de travas limita a memória, independentemente da quantidade de mesas.
+ */
+@Component
+public class TravasPorMesa {
+
+    private final ReentrantLock[] travas;
+
+    public TravasPorMesa(@Value("${reserva.travas.quantidade:64}") int quantidade) {
+        this.travas = new ReentrantLock[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            this.travas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Executa a ação segurando a trava da mesa informada.
+     */
+    public <T> T executar(Long mesaId, Supplier<T> acao) {
+        return executar(List.of(mesaId), acao);
+    }
+
+    /**
+     * Executa a ação segurando as travas de todas as mesas informadas.
+     * As travas são adquiridas sempre na mesma ordem (índice crescente), evitando deadlock.
+     */
+    public <T> T executar(Collection<Long> mesaIds, Supplier<T> acao) {
+        int[] indices = mesaIds.stream().mapToInt(this::indiceDe).distinct().sorted().toArray();
+
+        int adquiridas = 0;
+        try {
+            for (int indice : indices) {
+                travas[indice].lock();
+                adquiridas++;
+            }
+            return acao.get();
+        } finally {
+            for (int i = adquiridas - 1; i >= 0; i--) {
+                travas[indices[i]].unlock();
+            }
+        }
+    }
+
+    private int indiceDe(Long mesaId) {
+        return Math.floorMod(Long.hashCode(mesaId), travas.length);
+    }
+}
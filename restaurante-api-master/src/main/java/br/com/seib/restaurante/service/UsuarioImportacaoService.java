@@ -0,0 +1,271 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.ResultadoItemLoteDTO;
+import br.com.seib.restaurante.model.Usuario;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Camada de Serviço da importação de usuários em massa (migração do programa de fidelidade).
+ * * Justificativa: O corpo (CSV ou NDJSON) é lido linha a linha e gravado em blocos: cada bloco é
+ * 1 INSERT em lote (JDBC batching), sem SELECT por linha; a restrição UNIQUE do e-mail decide os
+ * duplicados. As senhas passam pelo mesmo pool de hash do cadastro individual. O resultado de
+ * cada linha é entregue ao final de cada bloco, e a memória usada depende apenas do tamanho do
+ * bloco, não do tamanho do arquivo.
+ */
+@Service
+@Lazy // Uso eventual (cargas em lote): criado na primeira requisição, não na subida.
+public class UsuarioImportacaoService {
+
+    /**
+     * Formatos aceitos: CSV (nome,email,senha; cabeçalho opcional; sem aspas)
+     * ou NDJSON (um objeto {"nome", "email", "senha"} por linha).
+     */
+    public enum Formato { CSV, NDJSON }
+
+    // INSERT direto: com IDENTITY, o Hibernate não agrupa INSERTs de usuários em lote.
+    private static final String SQL_INSERCAO = "INSERT INTO usuarios (nome, email, senha, grupo_id) VALUES (?, ?, ?, ?)";
+    private static final String CABECALHO_CSV = "nome,email,senha";
+
+    private final UsuarioService usuarioService;
+    private final HashSenhaService hashSenhaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Linhas por INSERT em lote (e por transação).
+    private final int tamanhoBloco;
+
+    @Autowired // Construtor para Injeção de Dependência (DI).
+    public UsuarioImportacaoService(UsuarioService usuarioService,
+                                    HashSenhaService hashSenhaService,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    ObjectMapper objectMapper,
+                                    @Value("${usuario.importacao.tamanho-bloco:500}") int tamanhoBloco) {
+        this.usuarioService = usuarioService;
+        this.hashSenhaService = hashSenhaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    /**
+     * Lê o corpo até o fim e entrega o resultado de cada linha de dados ('indice' a partir de 0),
+     * na ordem do arquivo. Linhas rejeitadas não impedem a gravação das demais.
+     */
+    @Observed(name = "restaurante.usuarios.importacao", contextualName = "importar-usuarios")
+    public void importar(InputStream corpo, Formato formato, Consumer<ResultadoItemLoteDTO> resultados) {
+        Long grupoId = usuarioService.grupoCliente().getId();
+        List<Linha> bloco = new ArrayList<>(tamanhoBloco);
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            int indice = 0;
+            boolean primeira = true;
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                texto = texto.strip();
+                if (primeira) {
+                    primeira = false;
+                    texto = texto.replace("\uFEFF", ""); // BOM de arquivos exportados por planilhas.
+                    if (formato == Formato.CSV && texto.equalsIgnoreCase(CABECALHO_CSV)) {
+                        continue;
+                    }
+                }
+                if (texto.isEmpty()) {
+                    continue;
+                }
+
+                bloco.add(ler(indice++, texto, formato));
+                if (bloco.size() == tamanhoBloco) {
+                    gravar(bloco, grupoId, resultados);
+                    bloco.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!bloco.isEmpty()) {
+            gravar(bloco, grupoId, resultados);
+        }
+    }
+
+    /**
+     * Converte uma linha do arquivo; linhas malformadas ou incompletas já saem rejeitadas.
+     */
+    private Linha ler(int indice, String texto, Formato formato) {
+        Usuario usuario;
+        if (formato == Formato.NDJSON) {
+            try {
+                usuario = objectMapper.readValue(texto, Usuario.class);
+            } catch (JsonProcessingException e) {
+                return Linha.rejeitada(indice, "JSON inválido.");
+            }
+        } else {
+            // A senha fica com o restante da linha (pode conter vírgulas).
+            String[] campos = texto.split(",", 3);
+            if (campos.length < 3) {
+                return Linha.rejeitada(indice, "Esperado: " + CABECALHO_CSV + ".");
+            }
+            usuario = new Usuario(null, campos[0].strip(), campos[1].strip(), campos[2].strip(), null);
+        }
+
+        String motivo = UsuarioService.validarCampos(usuario);
+        return motivo == null ? new Linha(indice, usuario, null) : Linha.rejeitada(indice, motivo);
+    }
+
+    /**
+     * Grava as linhas válidas do bloco e entrega os resultados do bloco inteiro, na ordem.
+     */
+    private void gravar(List<Linha> bloco, Long grupoId, Consumer<ResultadoItemLoteDTO> resultados) {
+        List<Linha> validas = new ArrayList<>(bloco.size());
+        Set<String> emailsDoBloco = new HashSet<>();
+        for (Linha linha : bloco) {
+            // E-mail repetido no próprio bloco: o banco (case-insensitive) também o recusaria.
+            if (linha.usuario != null && !emailsDoBloco.add(linha.usuario.getEmail().toLowerCase(Locale.ROOT))) {
+                linha.motivo = UsuarioService.MENSAGEM_EMAIL_DUPLICADO;
+            } else if (linha.usuario != null) {
+                validas.add(linha);
+            }
+        }
+
+        gerarHashes(validas);
+
+        if (!validas.isEmpty()) {
+            try {
+                inserirEmLote(validas, grupoId);
+            } catch (DataIntegrityViolationException e) {
+                // Algum e-mail já existia: o lote foi desfeito; as linhas são gravadas uma a uma
+                // para identificar quais foram recusadas pela restrição UNIQUE.
+                validas.forEach(linha -> inserirIndividualmente(linha, grupoId));
+            }
+        }
+
+        for (Linha linha : bloco) {
+            resultados.accept(linha.id != null
+                    ? ResultadoItemLoteDTO.criado(linha.indice, linha.id)
+                    : ResultadoItemLoteDTO.rejeitado(linha.indice, linha.motivo));
+        }
+    }
+
+    /**
+     * Substitui as senhas pelos hashes, em janelas do tamanho do pool: a importação ocupa no máximo
+     * 'paralelismo' posições da fila, deixando o restante para os cadastros individuais.
+     * Linhas recusadas pelo pool (fila cheia) saem rejeitadas e podem ser reenviadas.
+     */
+    private void gerarHashes(List<Linha> validas) {
+        int janela = hashSenhaService.paralelismo();
+        for (int inicio = 0; inicio < validas.size(); inicio += janela) {
+            List<Linha> parte = validas.subList(inicio, Math.min(inicio + janela, validas.size()));
+            List<CompletableFuture<String>> hashes = parte.stream()
+                    .map(linha -> hashSenhaService.gerarHashAsync(linha.usuario.getSenha()))
+                    .toList();
+            for (int i = 0; i < parte.size(); i++) {
+                try {
+                    parte.get(i).usuario.setSenha(hashes.get(i).join());
+                } catch (CompletionException e) {
+                    parte.get(i).motivo = e.getCause().getMessage();
+                }
+            }
+        }
+        validas.removeIf(linha -> linha.motivo != null);
+    }
+
+    /**
+     * 1 INSERT em lote (uma ida ao banco com rewriteBatchedStatements) em uma transação.
+     */
+    private void inserirEmLote(List<Linha> linhas, Long grupoId) {
+        KeyHolder chaves = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                conexao -> conexao.prepareStatement(SQL_INSERCAO, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        preencher(ps, linhas.get(i).usuario, grupoId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return linhas.size();
+                    }
+                },
+                chaves));
+
+        List<Map<String, Object>> ids = chaves.getKeyList();
+        for (int i = 0; i < linhas.size(); i++) {
+            linhas.get(i).id = ((Number) ids.get(i).values().iterator().next()).longValue();
+        }
+    }
+
+    private void inserirIndividualmente(Linha linha, Long grupoId) {
+        KeyHolder chave = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.update(conexao -> {
+                PreparedStatement ps = conexao.prepareStatement(SQL_INSERCAO, new String[]{"id"});
+                preencher(ps, linha.usuario, grupoId);
+                return ps;
+            }, chave);
+            linha.id = ((Number) chave.getKeys().values().iterator().next()).longValue();
+        } catch (DataIntegrityViolationException e) {
+            linha.motivo = UsuarioService.MENSAGEM_EMAIL_DUPLICADO;
+        }
+    }
+
+    private static void preencher(PreparedStatement ps, Usuario usuario, Long grupoId) throws SQLException {
+        ps.setString(1, usuario.getNome());
+        ps.setString(2, usuario.getEmail());
+        ps.setString(3, usuario.getSenha());
+        ps.setLong(4, grupoId);
+    }
+
+    /**
+     * Uma linha de dados do arquivo e o seu resultado (id quando gravada, motivo quando rejeitada).
+     */
+    private static class Linha {
+
+        private final int indice;
+        private final Usuario usuario;
+        private Long id;
+        private String motivo;
+
+        Linha(int indice, Usuario usuario, String motivo) {
+            this.indice = indice;
+            this.usuario = usuario;
+            this.motivo = motivo;
+        }
+
+        static Linha rejeitada(int indice, String motivo) {
+            return new Linha(indice, null, motivo);
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package br.com.seib.restaurante.service;
 
+import br.com.seib.restaurante.dto.RegistroAuditoriaDTO;
+import br.com.seib.restaurante.event.UsuarioAlteradoEvent;
 import br.com.seib.restaurante.model.GrupoUsuario;
 import br.com.seib.restaurante.model.Usuario;
 import br.com.seib.restaurante.repository.GrupoUsuarioRepository;
 import br.com.seib.restaurante.repository.UsuarioRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 
 /**
  * Camada de Serviço responsável pela aplicação da lógica de negócio e
@@ -18,44 +28,138 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final GrupoUsuarioRepository grupoUsuarioRepository;
+    private final HashSenhaService hashSenhaService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    static final String GRUPO_PADRAO = "CLIENTE";
+    static final String MENSAGEM_EMAIL_DUPLICADO = "Email já cadastrado.";
+    static final int TAMANHO_MAXIMO_SENHA = 72;
+
+    // Grupo padrão em cache (null até o primeiro cadastro).
+    private volatile GrupoUsuario grupoCliente;
 
     // Construtor para Injeção de Dependência (DI) dos Repositórios.
     @Autowired
-    public UsuarioService(UsuarioRepository usuarioRepository, GrupoUsuarioRepository grupoUsuarioRepository) {
+    public UsuarioService(UsuarioRepository usuarioRepository, GrupoUsuarioRepository grupoUsuarioRepository,
+                          HashSenhaService hashSenhaService, ApplicationEventPublisher eventPublisher) {
         this.usuarioRepository = usuarioRepository;
         this.grupoUsuarioRepository = grupoUsuarioRepository;
+        this.hashSenhaService = hashSenhaService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Processa o cadastro de um novo usuário, aplicando as regras de validação e atribuição de grupo.
+     * * Justificativa: A unicidade do e-mail é garantida pela restrição UNIQUE da tabela (o INSERT
+     * falha), sem um SELECT prévio; o grupo padrão fica em memória. Um cadastro = 1 ida ao banco.
      */
+    @Observed(name = "restaurante.usuarios.cadastro", contextualName = "cadastrar-usuario")
     public Usuario cadastrarUsuario(Usuario usuario) {
 
-        // 1. REGRA DE NEGÓCIO: Verificar unicidade do e-mail.
-        Optional<Usuario> emailExistente = usuarioRepository.findByEmail(usuario.getEmail());
+        // 1. Validação: campos obrigatórios (as demais restrições ficam com o banco).
+        String motivo = validarCampos(usuario);
+        if (motivo != null) {
+            throw new RuntimeException(motivo);
+        }
+
+        // 2. ATRIBUIÇÃO: Associa o usuário ao grupo padrão "CLIENTE" (em cache).
+        usuario.setGrupo(grupoCliente());
+
+        // REQUISITO DE SEGURANÇA: Apenas o hash bcrypt da senha é persistido.
+        // Calculado no pool dedicado (HashSenhaService); com a fila cheia, responde 503.
+        usuario.setSenha(hashSenhaService.gerarHash(usuario.getSenha()));
 
-        if (emailExistente.isPresent()) {
-            // Lança uma exceção se o e-mail já estiver em uso.
-            throw new RuntimeException("Email já cadastrado.");
+        // 3. PERSISTÊNCIA: Salva o usuário no banco e o retorna.
+        // REGRA DE NEGÓCIO: e-mail único. A violação da restrição UNIQUE vira a mensagem de negócio.
+        try {
+            return usuarioRepository.save(usuario);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException(MENSAGEM_EMAIL_DUPLICADO);
+        }
+    }
+
+    /**
+     * Altera o nome e o e-mail de um usuário (a senha não é alterada por aqui).
+     * * Justificativa: A trilha de auditoria (antes o trigger trg_after_update_usuarios) é gravada
+     * em segundo plano pelo AuditoriaUsuarioService: após o commit, apenas um evento com os campos
+     * alterados é publicado, e a resposta não espera por nenhuma escrita de auditoria.
+     */
+    @Observed(name = "restaurante.usuarios.alteracao", contextualName = "alterar-usuario")
+    public Usuario atualizarUsuario(Long id, Usuario dados, String alteradoPor) {
+        if (dados.getNome() == null || dados.getNome().isBlank()
+                || dados.getEmail() == null || dados.getEmail().isBlank()) {
+            throw new RuntimeException("Nome e email são obrigatórios.");
         }
 
-        // 2. LÓGICA DE INICIALIZAÇÃO: Encontra ou cria o grupo padrão "CLIENTE".
-        GrupoUsuario grupoCliente = grupoUsuarioRepository.findByNome("CLIENTE");
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
+        String nomeAntigo = usuario.getNome();
+        String emailAntigo = usuario.getEmail();
+        usuario.setNome(dados.getNome());
+        usuario.setEmail(dados.getEmail());
 
-        if (grupoCliente == null) {
-            // Se for o primeiro usuário, cria o grupo "CLIENTE" no banco de dados.
-            grupoCliente = new GrupoUsuario();
-            grupoCliente.setNome("CLIENTE");
-            grupoUsuarioRepository.save(grupoCliente);
+        Usuario atualizado;
+        try {
+            atualizado = usuarioRepository.save(usuario);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException(MENSAGEM_EMAIL_DUPLICADO);
         }
 
-        // 3. ATRIBUIÇÃO: Associa o usuário ao grupo padrão.
-        usuario.setGrupo(grupoCliente);
+        // Um registro por campo alterado (as mesmas condições OLD <> NEW do trigger).
+        Instant agora = Instant.now();
+        List<RegistroAuditoriaDTO> alteracoes = new ArrayList<>(2);
+        if (!Objects.equals(nomeAntigo, atualizado.getNome())) {
+            alteracoes.add(new RegistroAuditoriaDTO(agora, id, "nome", nomeAntigo, atualizado.getNome(), alteradoPor));
+        }
+        if (!Objects.equals(emailAntigo, atualizado.getEmail())) {
+            alteracoes.add(new RegistroAuditoriaDTO(agora, id, "email", emailAntigo, atualizado.getEmail(), alteradoPor));
+        }
+        if (!alteracoes.isEmpty()) {
+            eventPublisher.publishEvent(new UsuarioAlteradoEvent(alteracoes));
+        }
+        return atualizado;
+    }
 
-        // TODO: REQUISITO DE SEGURANÇA - Criptografar a senha (usando Spring Security/PasswordEncoder)
-        // O código final deve incluir criptografia antes da persistência.
+    /**
+     * Grupo padrão "CLIENTE", encontrado ou criado na primeira utilização e mantido em memória
+     * (o grupo nunca muda). Também utilizado pela importação em lote.
+     */
+    GrupoUsuario grupoCliente() {
+        GrupoUsuario grupo = grupoCliente;
+        if (grupo == null) {
+            synchronized (this) {
+                grupo = grupoCliente;
+                if (grupo == null) {
+                    grupo = grupoUsuarioRepository.findByNome(GRUPO_PADRAO);
+                    if (grupo == null) {
+                        // Se for o primeiro usuário, cria o grupo "CLIENTE" no banco de dados.
+                        try {
+                            grupo = grupoUsuarioRepository.save(new GrupoUsuario(null, GRUPO_PADRAO));
+                        } catch (DataIntegrityViolationException e) {
+                            // Criado ao mesmo tempo por outra instância da aplicação.
+                            grupo = grupoUsuarioRepository.findByNome(GRUPO_PADRAO);
+                        }
+                    }
+                    grupoCliente = grupo;
+                }
+            }
+        }
+        return grupo;
+    }
 
-        // 4. PERSISTÊNCIA: Salva o usuário no banco e o retorna.
-        return usuarioRepository.save(usuario);
+    /**
+     * Retorna o motivo da rejeição quando falta nome, e-mail ou senha (ou null se válido).
+     */
+    static String validarCampos(Usuario usuario) {
+        if (usuario.getNome() == null || usuario.getNome().isBlank()
+                || usuario.getEmail() == null || usuario.getEmail().isBlank()
+                || usuario.getSenha() == null || usuario.getSenha().isBlank()) {
+            return "Nome, email e senha são obrigatórios.";
+        }
+        if (usuario.getSenha().getBytes(StandardCharsets.UTF_8).length > TAMANHO_MAXIMO_SENHA) {
+            // O bcrypt considera apenas os primeiros 72 bytes da senha.
+            return "A senha deve ter no máximo " + TAMANHO_MAXIMO_SENHA + " bytes.";
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
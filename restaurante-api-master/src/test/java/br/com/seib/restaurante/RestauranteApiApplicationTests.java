@@ -1,11 +1,36 @@
 package br.com.seib.restaurante;
 
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
+/**
+ * Sobe o contexto completo sem servidores de banco: H2 em modo MySQL (perfil 'carga')
+ * e um servidor MongoDB em processo.
+ */
 @SpringBootTest
+@ActiveProfiles("carga")
 class RestauranteApiApplicationTests {
 
+	private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+
+	@DynamicPropertySource
+	static void mongoEmProcesso(DynamicPropertyRegistry registry) {
+		String uri = MONGO.bindAndGetConnectionString();
+		registry.add("spring.data.mongodb.uri", () -> uri);
+		registry.add("spring.data.mongodb.database", () -> "restaurante_teste");
+	}
+
+	@AfterAll
+	static void encerrarMongo() {
+		MONGO.shutdownNow();
+	}
+
 	@Test
 	void contextLoads() {
 	}
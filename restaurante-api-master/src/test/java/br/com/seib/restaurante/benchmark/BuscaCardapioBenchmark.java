@@ -0,0 +1,90 @@
+package br.com.seib.restaurante.benchmark;
+
+import br.com.seib.restaurante.dto.BuscaCardapioDTO;
+import br.com.seib.restaurante.model.ItemCardapio;
+import br.com.seib.restaurante.repository.ItemCardapioRepository;
+import br.com.seib.restaurante.service.BuscaCardapioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Latência de GET /api/cardapio/busca no índice em memória, com um cardápio sintético de
+ * 'itens' pratos: prefixo curto (muitos resultados), palavra completa e dois termos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuscaCardapioBenchmark {
+
+	private static final String[] PRATOS = {"Frango", "Filé", "Salmão", "Risoto", "Lasanha", "Pão", "Açaí",
+			"Hambúrguer", "Panqueca", "Omelete", "Strogonoff", "Feijoada", "Moqueca", "Torta", "Salada", "Suco"};
+	private static final String[] INGREDIENTES = {"Queijo", "Catupiry", "Tomate", "Cebola", "Alho", "Manjericão",
+			"Cogumelo", "Bacon", "Palmito", "Milho", "Limão", "Maracujá", "Banana", "Granola", "Chocolate",
+			"Requeijão", "Presunto", "Orégano", "Pimenta", "Abacaxi", "Coco", "Camarão", "Brócolis", "Azeitona"};
+
+	@Param({"10000"})
+	private int itens;
+
+	private BuscaCardapioService buscaService;
+
+	@Setup
+	public void preparar() {
+		Random aleatorio = new Random(42);
+		List<ItemCardapio> cardapio = new ArrayList<>(itens);
+		for (int i = 0; i < itens; i++) {
+			List<String> ingredientes = new ArrayList<>();
+			for (int k = 0; k < 3 + aleatorio.nextInt(4); k++) {
+				ingredientes.add(INGREDIENTES[aleatorio.nextInt(INGREDIENTES.length)]);
+			}
+			ItemCardapio item = new ItemCardapio();
+			item.setId(Integer.toHexString(i));
+			item.setNome(PRATOS[aleatorio.nextInt(PRATOS.length)] + " com " + ingredientes.get(0) + " nº " + i);
+			item.setDescricao("Preparado com " + String.join(", ", ingredientes).toLowerCase() + " da casa");
+			item.setIngredientes(ingredientes);
+			item.setPreco(BigDecimal.valueOf(10 + aleatorio.nextInt(90)));
+			cardapio.add(item);
+		}
+
+		ItemCardapioRepository repository = mock(ItemCardapioRepository.class, withSettings().stubOnly());
+		when(repository.streamAllBy()).thenReturn(cardapio.stream());
+		buscaService = new BuscaCardapioService(repository);
+		buscaService.carregar();
+	}
+
+	@Benchmark
+	public BuscaCardapioDTO prefixoCurto() {
+		return buscaService.buscar("ca", 10);
+	}
+
+	@Benchmark
+	public BuscaCardapioDTO palavraCompleta() {
+		return buscaService.buscar("maracuja", 10);
+	}
+
+	@Benchmark
+	public BuscaCardapioDTO doisTermos() {
+		return buscaService.buscar("frango catu", 10);
+	}
+}
@@ -0,0 +1,101 @@
+package br.com.seib.restaurante.benchmark;
+
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.service.DisponibilidadeService;
+import br.com.seib.restaurante.service.ReservaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Custo da detecção de conflitos de horário em diferentes densidades de reservas.
+ * 'varreduraLinear' reproduz a checagem antiga (todas as reservas da mesa, uma a uma)
+ * como referência para o índice em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflitoReservaBenchmark {
+
+	private static final int MESAS = 30;
+	private static final int DIAS = 60;
+	private static final int CONSULTAS = 1024;
+
+	@Param({"2", "6", "12"})
+	public int reservasPorMesaDia;
+
+	private DisponibilidadeService disponibilidade;
+	private List<List<IntervaloReserva>> reservasPorMesa;
+	private long[] mesaConsultada;
+	private LocalDateTime[] inicioConsultado;
+	private int proxima;
+
+	@Setup
+	public void preparar() {
+		DadosSimulados dados = new DadosSimulados(MESAS, DIAS, reservasPorMesaDia);
+		disponibilidade = dados.disponibilidade();
+		reservasPorMesa = dados.mesas.stream()
+				.map(mesa -> dados.ocupados.stream().filter(i -> i.getMesaId().equals(mesa.getId())).toList())
+				.collect(Collectors.toList());
+
+		// Consultas pré-sorteadas: mesa, dia e início (a cada 15 min) aleatórios.
+		Random aleatorio = new Random(42);
+		mesaConsultada = new long[CONSULTAS];
+		inicioConsultado = new LocalDateTime[CONSULTAS];
+		for (int i = 0; i < CONSULTAS; i++) {
+			mesaConsultada[i] = 1 + aleatorio.nextInt(MESAS);
+			inicioConsultado[i] = DadosSimulados.HOJE.plusDays(aleatorio.nextInt(DIAS))
+					.plusMinutes(15L * aleatorio.nextInt(96));
+		}
+	}
+
+	@Benchmark
+	public boolean indiceEmMemoria() {
+		int i = proximaConsulta();
+		LocalDateTime inicio = inicioConsultado[i];
+		return disponibilidade.possuiConflito(mesaConsultada[i], inicio,
+				inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS));
+	}
+
+	@Benchmark
+	public boolean varreduraLinear() {
+		int i = proximaConsulta();
+		LocalDateTime inicio = inicioConsultado[i];
+		LocalDateTime fim = inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS);
+		for (IntervaloReserva r : reservasPorMesa.get((int) mesaConsultada[i] - 1)) {
+			if (r.getInicio().isBefore(fim) && r.getFim().isAfter(inicio)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Benchmark
+	public List<Mesa> buscarMesasLivres() {
+		int i = proximaConsulta();
+		LocalDateTime inicio = inicioConsultado[i];
+		return disponibilidade.buscarMesasLivres(inicio, inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS), 4);
+	}
+
+	private int proximaConsulta() {
+		return proxima = (proxima + 1) & (CONSULTAS - 1);
+	}
+}
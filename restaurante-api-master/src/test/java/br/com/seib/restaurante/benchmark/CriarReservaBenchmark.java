@@ -0,0 +1,117 @@
+package br.com.seib.restaurante.benchmark;
+
+import br.com.seib.restaurante.dto.ReservaRequestDTO;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.service.CombinacaoMesasService;
+import br.com.seib.restaurante.service.DisponibilidadeService;
+import br.com.seib.restaurante.service.ReservaService;
+import br.com.seib.restaurante.service.TravasPorMesa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Custo de ReservaService.criarReserva fora do banco: validações, travas, transação
+ * e atualização do índice, com repositórios em memória (o custo dos stubs está incluído).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CriarReservaBenchmark {
+
+	private static final int MESAS = 30;
+
+	private ReservaService reservaService;
+	private ReservaRequestDTO conflitante;
+	private final AtomicLong sequencia = new AtomicLong();
+
+	// Recriado a cada iteração para que o índice em memória não cresça indefinidamente.
+	@Setup(Level.Iteration)
+	public void preparar() {
+		DadosSimulados dados = new DadosSimulados(MESAS, 30, 6);
+		when(dados.reservaRepository.existeConflito(anyLong(), any(), any())).thenReturn(false);
+		when(dados.reservaRepository.save(any(Reserva.class))).thenAnswer(inv -> {
+			Reserva reserva = inv.getArgument(0);
+			reserva.setId(sequencia.incrementAndGet());
+			return reserva;
+		});
+
+		DisponibilidadeService disponibilidade = dados.disponibilidade();
+		reservaService = new ReservaService(dados.reservaRepository, dados.usuarioRepository, dados.mesaRepository,
+				disponibilidade, DadosSimulados.codigos(new TransacaoSimulada()),
+				new CombinacaoMesasService(disponibilidade, 4, 100_000), new TravasPorMesa(64),
+				new TransactionTemplate(new TransacaoSimulada()), evento -> { }, new SimpleMeterRegistry());
+
+		conflitante = requisicao(1L, dados.ocupados.get(0).getInicio().plusDays(1));
+		sequencia.set(0);
+	}
+
+	@Benchmark
+	public Reserva reservaAceita() {
+		// Horários livres: a partir de 1 ano à frente, 2h por reserva em cada mesa.
+		long n = sequencia.get();
+		return reservaService.criarReserva(requisicao(1 + n % MESAS,
+				DadosSimulados.HOJE.plusYears(1).plusHours(2 * (n / MESAS))));
+	}
+
+	@Benchmark
+	public RuntimeException reservaRejeitadaPorConflito() {
+		try {
+			reservaService.criarReserva(conflitante);
+			throw new IllegalStateException("Conflito não detectado.");
+		} catch (RuntimeException e) {
+			return e;
+		}
+	}
+
+	private static ReservaRequestDTO requisicao(long mesaId, LocalDateTime inicio) {
+		ReservaRequestDTO dto = new ReservaRequestDTO();
+		dto.setUsuarioId(1L);
+		dto.setMesaId(mesaId);
+		dto.setDataHoraInicio(inicio);
+		dto.setNumeroPessoas(2);
+		return dto;
+	}
+
+	// Transação sem recursos: mede apenas o custo do TransactionTemplate.
+	private static class TransacaoSimulada implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package br.com.seib.restaurante.benchmark;
+
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.model.ContadorCodigoReserva;
+import br.com.seib.restaurante.model.GrupoUsuario;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.ContadorCodigoReservaRepository;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import br.com.seib.restaurante.repository.UsuarioRepository;
+import br.com.seib.restaurante.service.CodigoReservaService;
+import br.com.seib.restaurante.service.DisponibilidadeService;
+import br.com.seib.restaurante.service.ReservaService;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Dados e repositórios em memória usados pelos benchmarks (sem MySQL/MongoDB).
+ * As reservas são distribuídas em horários fixos por dia, sem sobreposição na mesma mesa.
+ */
+final class DadosSimulados {
+
+	static final LocalDateTime HOJE = LocalDate.now().atStartOfDay();
+
+	final List<Mesa> mesas = new ArrayList<>();
+	final List<IntervaloReserva> ocupados = new ArrayList<>();
+	final Usuario usuario = new Usuario(1L, "Cliente", "cliente@exemplo.com", "senha", new GrupoUsuario(3L, "CLIENTE"));
+
+	final ReservaRepository reservaRepository = mock(ReservaRepository.class, withSettings().stubOnly());
+	final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class, withSettings().stubOnly());
+	final MesaRepository mesaRepository = mock(MesaRepository.class, withSettings().stubOnly());
+
+	/**
+	 * @param quantidadeMesas   mesas do salão
+	 * @param dias              dias à frente com reservas
+	 * @param reservasPorMesaDia densidade: reservas de cada mesa em cada dia (máx. 12, de 2h)
+	 */
+	DadosSimulados(int quantidadeMesas, int dias, int reservasPorMesaDia) {
+		for (long id = 1; id <= quantidadeMesas; id++) {
+			Mesa mesa = new Mesa();
+			mesa.setId(id);
+			mesa.setNumeroMesa((int) id);
+			mesa.setCapacidade(2 + (int) (id % 4) * 2);
+			mesas.add(mesa);
+		}
+
+		long minutosEntreReservas = 24 * 60 / reservasPorMesaDia;
+		long reservaId = 1;
+		for (int dia = 0; dia < dias; dia++) {
+			for (Mesa mesa : mesas) {
+				for (int k = 0; k < reservasPorMesaDia; k++) {
+					LocalDateTime inicio = HOJE.plusDays(dia).plusMinutes(k * minutosEntreReservas);
+					ocupados.add(new IntervaloReserva(reservaId++, mesa.getId(), inicio,
+							inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS)));
+				}
+			}
+		}
+
+		Map<Long, Mesa> mesasPorId = mesas.stream().collect(Collectors.toMap(Mesa::getId, m -> m));
+		when(mesaRepository.findAll()).thenReturn(mesas);
+		when(mesaRepository.findByIdParaReserva(anyLong()))
+				.thenAnswer(inv -> Optional.ofNullable(mesasPorId.get(inv.<Long>getArgument(0))));
+		when(usuarioRepository.findById(anyLong())).thenReturn(Optional.of(usuario));
+		when(reservaRepository.findIntervalosTerminandoApos(any())).thenReturn(ocupados);
+	}
+
+	/**
+	 * Índice de disponibilidade já aquecido com as reservas simuladas.
+	 */
+	DisponibilidadeService disponibilidade() {
+		DisponibilidadeService disponibilidade = new DisponibilidadeService(reservaRepository, mesaRepository);
+		disponibilidade.aquecer();
+		return disponibilidade;
+	}
+
+	/**
+	 * Gerador de códigos com os contadores por dia em memória.
+	 */
+	static CodigoReservaService codigos(PlatformTransactionManager transacoes) {
+		Map<LocalDate, ContadorCodigoReserva> contadores = new ConcurrentHashMap<>();
+		ContadorCodigoReservaRepository repository = mock(ContadorCodigoReservaRepository.class, withSettings().stubOnly());
+		when(repository.findParaAlocacao(any()))
+				.thenAnswer(inv -> Optional.ofNullable(contadores.get(inv.<LocalDate>getArgument(0))));
+		doAnswer(inv -> contadores.putIfAbsent(inv.getArgument(0), new ContadorCodigoReserva(inv.getArgument(0), 1)))
+				.when(repository).criar(any());
+		return new CodigoReservaService(repository, transacoes, 20);
+	}
+}
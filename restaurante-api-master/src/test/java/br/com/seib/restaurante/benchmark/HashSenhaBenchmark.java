@@ -0,0 +1,79 @@
+package br.com.seib.restaurante.benchmark;
+
+import br.com.seib.restaurante.model.GrupoUsuario;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.GrupoUsuarioRepository;
+import br.com.seib.restaurante.repository.UsuarioRepository;
+import br.com.seib.restaurante.service.HashSenhaService;
+import br.com.seib.restaurante.service.UsuarioService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Custo do bcrypt por fator de custo: vazão do pool de hash (hashes/s, com várias threads
+ * solicitando ao mesmo tempo) e latência de um cadastro (UsuarioService, repositórios em memória).
+ * Útil para escolher 'senha.hash.custo' conforme os núcleos disponíveis.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class HashSenhaBenchmark {
+
+	@Param({"8", "10", "12"})
+	public int custo;
+
+	private HashSenhaService hashSenhaService;
+	private UsuarioService usuarioService;
+
+	@Setup
+	public void preparar() {
+		// Fila grande: aqui mede-se o custo do hash, não a rejeição por sobrecarga.
+		hashSenhaService = new HashSenhaService(custo, 0, 1024, new SimpleMeterRegistry());
+
+		UsuarioRepository usuarioRepository = mock(UsuarioRepository.class, withSettings().stubOnly());
+		when(usuarioRepository.save(any(Usuario.class))).thenAnswer(inv -> inv.getArgument(0));
+		GrupoUsuarioRepository grupoUsuarioRepository = mock(GrupoUsuarioRepository.class, withSettings().stubOnly());
+		when(grupoUsuarioRepository.findByNome("CLIENTE")).thenReturn(new GrupoUsuario(3L, "CLIENTE"));
+		usuarioService = new UsuarioService(usuarioRepository, grupoUsuarioRepository, hashSenhaService, evento -> { });
+	}
+
+	@TearDown
+	public void encerrar() {
+		hashSenhaService.encerrar();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@Threads(Threads.MAX)
+	public String hashesPorSegundo() {
+		return hashSenhaService.gerarHash("senhaforte123");
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public Usuario latenciaDoCadastro() {
+		return usuarioService.cadastrarUsuario(new Usuario(null, "Cliente", "cliente@exemplo.com", "senhaforte123", null));
+	}
+}
@@ -0,0 +1,92 @@
+package br.com.seib.restaurante.benchmark;
+
+import br.com.seib.restaurante.dto.ReservaRequestDTO;
+import br.com.seib.restaurante.dto.ReservaResumoDTO;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.service.ReservaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da (des)serialização JSON nas bordas da API de reservas, com um ObjectMapper
+ * configurado como o do Spring Boot: resposta de POST /api/reservas (ReservaResumoDTO),
+ * uma página de GET /api/reservas e o corpo ReservaRequestDTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonReservaBenchmark {
+
+	private static final byte[] REQUISICAO = """
+			{"usuarioId": 1, "mesaId": 5, "dataHoraInicio": "2025-11-17T19:00:00", "numeroPessoas": 4}
+			""".getBytes(StandardCharsets.UTF_8);
+
+	private ObjectWriter escritorReserva;
+	private ObjectWriter escritorLista;
+	private ObjectReader leitorRequisicao;
+	private ReservaResumoDTO reserva;
+	private List<ReservaResumoDTO> reservas;
+
+	@Setup
+	public void preparar() {
+		ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		escritorReserva = mapper.writerFor(ReservaResumoDTO.class);
+		escritorLista = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ReservaResumoDTO.class));
+		leitorRequisicao = mapper.readerFor(ReservaRequestDTO.class);
+
+		DadosSimulados dados = new DadosSimulados(30, 1, 2);
+		reservas = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			Mesa mesa = dados.mesas.get(i % dados.mesas.size());
+			Reserva r = new Reserva();
+			r.setId((long) i + 1);
+			r.setUsuario(dados.usuario);
+			r.setMesa(mesa);
+			r.setDataHoraInicio(DadosSimulados.HOJE.plusHours(18).plusDays(i / dados.mesas.size()));
+			r.setDataHoraFim(r.getDataHoraInicio().plusHours(ReservaService.DURACAO_RESERVA_HORAS));
+			r.setNumeroPessoas(2);
+			reservas.add(ReservaResumoDTO.de(r));
+		}
+		reserva = reservas.get(0);
+	}
+
+	@Benchmark
+	public byte[] serializarReserva() throws IOException {
+		return escritorReserva.writeValueAsBytes(reserva);
+	}
+
+	@Benchmark
+	public byte[] serializarListaDe50Reservas() throws IOException {
+		return escritorLista.writeValueAsBytes(reservas);
+	}
+
+	@Benchmark
+	public ReservaRequestDTO parsearRequisicao() throws IOException {
+		return leitorRequisicao.readValue(REQUISICAO);
+	}
+}
@@ -0,0 +1,157 @@
+package br.com.seib.restaurante.benchmark;
+
+import br.com.seib.restaurante.RestauranteApiApplication;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo até a primeira resposta (GET /api/mesas, com consulta ao banco) de uma nova instância,
+ * medido do início do processo java até o primeiro 200:
+ * padrão (ddl-auto=update) x perfil 'prod' x 'prod' com Spring AOT x 'prod' com AOT e AppCDS.
+ * Sobe o pacote gerado por 'mvn -Pprod package' (target/app) contra H2 em arquivo e o MongoDB em processo.
+ * Executar com: mvn -Pprod package -DskipTests && mvn test -Pjmh -Djmh.filtro=TempoInicializacao
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TempoInicializacaoBenchmark {
+
+	private static final Path APP = Paths.get("target", "app").toAbsolutePath();
+	private static final Path DADOS = Paths.get("target", "inicializacao").toAbsolutePath();
+	private static final Duration LIMITE_SUBIDA = Duration.ofMinutes(2);
+
+	@Param({"padrao", "prod", "prod-aot", "prod-aot-cds"})
+	public String variante;
+
+	private MongoServer mongo;
+	private String uriMongo;
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+	@Setup
+	public void preparar() throws Exception {
+		if (!Files.exists(APP.resolve("restaurante-api.jsa"))) {
+			throw new IllegalStateException("Pacote ausente em " + APP + ": execute 'mvn -Pprod package -DskipTests' antes.");
+		}
+		Files.createDirectories(DADOS);
+		mongo = new MongoServer(new MemoryBackend());
+		uriMongo = mongo.bindAndGetConnectionString() + "/restaurante_inicializacao";
+
+		// No perfil 'prod' o esquema não é criado pelo Hibernate: uma subida padrão o cria no H2 antes das medições.
+		Process esquema = iniciar(List.of("-Dspring.context.exit=onRefresh"), portaLivre());
+		if (esquema.waitFor() != 0) {
+			throw new IllegalStateException("Falha ao criar o esquema; veja " + DADOS.resolve(variante + ".log"));
+		}
+	}
+
+	@TearDown
+	public void encerrar() {
+		mongo.shutdownNow();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int primeiraRequisicao() throws Exception {
+		List<String> opcoes = new ArrayList<>();
+		if (!variante.equals("padrao")) {
+			opcoes.add("-Dspring.profiles.active=prod");
+		}
+		if (variante.startsWith("prod-aot")) {
+			opcoes.add("-Dspring.aot.enabled=true");
+		}
+		if (variante.endsWith("cds")) {
+			opcoes.add("-XX:SharedArchiveFile=restaurante-api.jsa");
+		}
+		int porta = portaLivre();
+		Process processo = iniciar(opcoes, porta);
+		try {
+			return aguardarPrimeiraResposta(processo, URI.create("http://localhost:" + porta + "/api/mesas?limite=10"));
+		} finally {
+			processo.destroy();
+			processo.waitFor(30, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Sobe o pacote extraído (mesmo classpath da execução de treino do CDS) com o driver H2 acrescentado.
+	 */
+	private Process iniciar(List<String> opcoes, int porta) throws Exception {
+		List<String> comando = new ArrayList<>();
+		comando.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		comando.addAll(opcoes);
+		comando.add("-cp");
+		comando.add("restaurante-api.jar" + File.pathSeparator + jarDoDriverH2());
+		comando.add("-Dserver.port=" + porta);
+		comando.add("-Dspring.datasource.url=jdbc:h2:file:" + DADOS.resolve("restaurante_db")
+				+ ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE");
+		comando.add("-Dspring.datasource.username=sa");
+		comando.add("-Dspring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+		comando.add("-Dspring.data.mongodb.uri=" + uriMongo);
+		comando.add("-Dauditoria.diretorio=" + DADOS.resolve("auditoria"));
+		comando.add(RestauranteApiApplication.class.getName());
+
+		return new ProcessBuilder(comando)
+				.directory(APP.toFile())
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.appendTo(DADOS.resolve(variante + ".log").toFile()))
+				.start();
+	}
+
+	private int aguardarPrimeiraResposta(Process processo, URI uri) throws Exception {
+		long limite = System.nanoTime() + LIMITE_SUBIDA.toNanos();
+		while (System.nanoTime() < limite) {
+			if (!processo.isAlive()) {
+				throw new IllegalStateException("A aplicação encerrou na subida; veja " + DADOS.resolve(variante + ".log"));
+			}
+			try {
+				HttpResponse<Void> resposta = http.send(HttpRequest.newBuilder(uri).build(),
+						HttpResponse.BodyHandlers.discarding());
+				if (resposta.statusCode() == 200) {
+					return resposta.statusCode();
+				}
+			} catch (IOException e) {
+				// Servidor ainda não aceita conexões.
+			}
+			Thread.sleep(5);
+		}
+		throw new IllegalStateException("Sem resposta em " + LIMITE_SUBIDA);
+	}
+
+	private static String jarDoDriverH2() throws Exception {
+		return Paths.get(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+	}
+
+	private static int portaLivre() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
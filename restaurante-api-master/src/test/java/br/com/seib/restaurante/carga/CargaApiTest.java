@@ -0,0 +1,293 @@
+package br.com.seib.restaurante.carga;
+
+import br.com.seib.restaurante.model.GrupoUsuario;
+import br.com.seib.restaurante.model.ItemCardapio;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.GrupoUsuarioRepository;
+import br.com.seib.restaurante.repository.ItemCardapioRepository;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.UsuarioRepository;
+import br.com.seib.restaurante.service.DisponibilidadeService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga ponta a ponta: a API completa (Tomcat, Spring MVC, JPA, Spring Data MongoDB)
+ * sobre H2 em modo MySQL e um servidor MongoDB em processo, com milhares de registros
+ * e tráfego concorrente misto. Relata vazão e latências p50/p95/p99 por endpoint.
+ * Executar com: mvn test -Pcarga
+ */
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("carga")
+class CargaApiTest {
+
+	private static final int MESAS = 2000;
+	private static final int USUARIOS = 5000;
+	private static final int ITENS_CARDAPIO = 3000;
+	private static final int CATEGORIAS = 20;
+
+	private static final int CLIENTES_SIMULTANEOS = 32;
+	private static final int OPERACOES = 8000;
+
+	private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+
+	@DynamicPropertySource
+	static void mongoEmProcesso(DynamicPropertyRegistry registry) {
+		String uri = MONGO.bindAndGetConnectionString();
+		registry.add("spring.data.mongodb.uri", () -> uri);
+		registry.add("spring.data.mongodb.database", () -> "restaurante_carga");
+	}
+
+	@AfterAll
+	static void encerrarMongo() {
+		MONGO.shutdownNow();
+	}
+
+	@LocalServerPort
+	private int porta;
+
+	@Autowired
+	private MesaRepository mesaRepository;
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+	@Autowired
+	private GrupoUsuarioRepository grupoUsuarioRepository;
+	@Autowired
+	private ItemCardapioRepository itemCardapioRepository;
+	@Autowired
+	private DisponibilidadeService disponibilidadeService;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+	private final Map<String, Medicao> medicoes = new ConcurrentHashMap<>();
+	private final AtomicInteger novosUsuarios = new AtomicInteger();
+
+	private List<Long> mesaIds;
+	private List<Long> usuarioIds;
+
+	@Test
+	void trafegoMistoSobCarga() throws Exception {
+		semear();
+
+		// Aquecimento descartado (JIT, pool de conexões, cache do cardápio).
+		executar(OPERACOES / 10);
+		medicoes.clear();
+
+		long duracao = executar(OPERACOES);
+		relatar(duracao);
+
+		medicoes.forEach((endpoint, medicao) -> {
+			assertThat(medicao.falhasDeRede.get()).as(endpoint).isZero();
+			if (!endpoint.equals("POST /api/reservas")) {
+				// Reservas podem ser rejeitadas por conflito de horário; os demais endpoints não.
+				assertThat(medicao.rejeitadas.get()).as(endpoint).isZero();
+			}
+		});
+		Medicao reservas = medicoes.get("POST /api/reservas");
+		assertThat(reservas.aceitas.get()).isGreaterThan(reservas.total() * 9 / 10);
+
+		// A mesma carga vista pelas métricas da própria API.
+		for (String metrica : List.of("restaurante.reservas.criacao", "restaurante.cardapio.leitura",
+				"restaurante.usuarios.cadastro", "spring.data.repository.invocations", "hikaricp.connections.pending")) {
+			HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(uri("/actuator/metrics/" + metrica)).build(),
+					HttpResponse.BodyHandlers.ofString());
+			assertThat(resposta.statusCode()).as(metrica).isEqualTo(200);
+			System.out.println(resposta.body());
+		}
+	}
+
+	private void semear() {
+		GrupoUsuario cliente = new GrupoUsuario();
+		cliente.setNome("CLIENTE");
+		grupoUsuarioRepository.save(cliente);
+
+		List<Usuario> usuarios = new ArrayList<>();
+		for (int i = 0; i < USUARIOS; i++) {
+			usuarios.add(new Usuario(null, "Cliente " + i, "cliente" + i + "@carga.com", "senha" + i, cliente));
+		}
+		usuarioIds = usuarioRepository.saveAll(usuarios).stream().map(Usuario::getId).toList();
+
+		List<Mesa> mesas = new ArrayList<>();
+		for (int i = 1; i <= MESAS; i++) {
+			Mesa mesa = new Mesa();
+			mesa.setNumeroMesa(i);
+			mesa.setCapacidade(2 + (i % 4) * 2);
+			mesas.add(mesa);
+		}
+		mesaIds = mesaRepository.saveAll(mesas).stream().map(Mesa::getId).toList();
+		disponibilidadeService.aquecer(); // Mesas gravadas direto no repositório entram no índice.
+
+		List<ItemCardapio> itens = new ArrayList<>();
+		for (int i = 0; i < ITENS_CARDAPIO; i++) {
+			ItemCardapio item = new ItemCardapio();
+			item.setNome("Prato " + i);
+			item.setDescricao("Descrição do prato " + i);
+			item.setCategoria("Categoria" + (i % CATEGORIAS));
+			item.setPreco(BigDecimal.valueOf(20 + i % 80));
+			item.setIngredientes(List.of("ingrediente" + i % 7, "ingrediente" + i % 11));
+			itens.add(item);
+		}
+		itemCardapioRepository.saveAll(itens);
+	}
+
+	/**
+	 * Dispara o total de operações com CLIENTES_SIMULTANEOS clientes e retorna a duração em ms.
+	 */
+	private long executar(int operacoes) throws Exception {
+		ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES_SIMULTANEOS);
+		AtomicInteger proxima = new AtomicInteger();
+		long inicio = System.nanoTime();
+		List<Future<?>> futuros = new ArrayList<>();
+		for (int c = 0; c < CLIENTES_SIMULTANEOS; c++) {
+			futuros.add(clientes.submit(() -> {
+				while (proxima.getAndIncrement() < operacoes) {
+					operacaoAleatoria();
+				}
+				return null;
+			}));
+		}
+		for (Future<?> futuro : futuros) {
+			futuro.get(10, TimeUnit.MINUTES);
+		}
+		long duracao = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+		clientes.shutdown();
+		return Math.max(duracao, 1);
+	}
+
+	// Mistura de tráfego: reservas, leituras do cardápio, consultas de mesas e cadastros.
+	private void operacaoAleatoria() {
+		ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+		int sorteio = aleatorio.nextInt(100);
+		if (sorteio < 35) {
+			LocalDateTime inicio = LocalDate.now().plusDays(1 + aleatorio.nextInt(60))
+					.atTime(11, 0).plusMinutes(15L * aleatorio.nextInt(40));
+			post("POST /api/reservas", "/api/reservas", """
+					{"usuarioId": %d, "mesaId": %d, "dataHoraInicio": "%s", "numeroPessoas": 2}"""
+					.formatted(sortear(usuarioIds), sortear(mesaIds), inicio));
+		} else if (sorteio < 60) {
+			get("GET /api/cardapio/categoria/{}", "/api/cardapio/categoria/Categoria" + aleatorio.nextInt(CATEGORIAS));
+		} else if (sorteio < 65) {
+			get("GET /api/cardapio", "/api/cardapio");
+		} else if (sorteio < 75) {
+			get("GET /api/mesas?limite", "/api/mesas?limite=100&apos=" + aleatorio.nextInt(MESAS));
+		} else if (sorteio < 85) {
+			LocalDateTime inicio = LocalDate.now().plusDays(1 + aleatorio.nextInt(60)).atTime(19, 0);
+			get("GET /api/mesas/disponiveis", "/api/mesas/disponiveis?inicio=" + inicio + "&pessoas=6");
+		} else {
+			int n = novosUsuarios.incrementAndGet();
+			post("POST /api/usuarios", "/api/usuarios", """
+					{"nome": "Novo %d", "email": "novo%d@carga.com", "senha": "segredo%d"}""".formatted(n, n, n));
+		}
+	}
+
+	private void get(String endpoint, String caminho) {
+		enviar(endpoint, HttpRequest.newBuilder(uri(caminho)).GET().build());
+	}
+
+	private void post(String endpoint, String caminho, String json) {
+		enviar(endpoint, HttpRequest.newBuilder(uri(caminho))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build());
+	}
+
+	private void enviar(String endpoint, HttpRequest requisicao) {
+		Medicao medicao = medicoes.computeIfAbsent(endpoint, e -> new Medicao());
+		long inicio = System.nanoTime();
+		try {
+			HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+			medicao.registrar(System.nanoTime() - inicio, resposta.statusCode() < 300);
+		} catch (Exception e) {
+			medicao.falhasDeRede.incrementAndGet();
+		}
+	}
+
+	private URI uri(String caminho) {
+		return URI.create("http://localhost:" + porta + caminho);
+	}
+
+	private static long sortear(List<Long> ids) {
+		return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+	}
+
+	private void relatar(long duracaoMs) {
+		System.out.printf("%nCarga: %d operações, %d clientes, %d ms (%.0f req/s)%n",
+				OPERACOES, CLIENTES_SIMULTANEOS, duracaoMs, OPERACOES * 1000.0 / duracaoMs);
+		System.out.printf("%-34s %7s %7s %9s %9s %9s %9s%n",
+				"Endpoint", "total", "rejeit.", "req/s", "p50 ms", "p95 ms", "p99 ms");
+		new TreeMap<>(medicoes).forEach((endpoint, m) -> {
+			long[] ordenadas = m.latenciasOrdenadas();
+			System.out.printf("%-34s %7d %7d %9.1f %9.2f %9.2f %9.2f%n", endpoint, m.total(), m.rejeitadas.get(),
+					m.total() * 1000.0 / duracaoMs,
+					percentil(ordenadas, 50), percentil(ordenadas, 95), percentil(ordenadas, 99));
+		});
+	}
+
+	private static double percentil(long[] ordenadas, int p) {
+		if (ordenadas.length == 0) {
+			return 0;
+		}
+		int indice = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+		return ordenadas[Math.max(indice, 0)] / 1e6;
+	}
+
+	private static class Medicao {
+
+		private final List<Long> latencias = new ArrayList<>();
+		private final AtomicInteger aceitas = new AtomicInteger();
+		private final AtomicInteger rejeitadas = new AtomicInteger();
+		private final AtomicInteger falhasDeRede = new AtomicInteger();
+
+		void registrar(long nanos, boolean sucesso) {
+			(sucesso ? aceitas : rejeitadas).incrementAndGet();
+			synchronized (latencias) {
+				latencias.add(nanos);
+			}
+		}
+
+		int total() {
+			return aceitas.get() + rejeitadas.get();
+		}
+
+		long[] latenciasOrdenadas() {
+			long[] ordenadas;
+			synchronized (latencias) {
+				ordenadas = latencias.stream().mapToLong(Long::longValue).toArray();
+			}
+			Arrays.sort(ordenadas);
+			return ordenadas;
+		}
+	}
+}
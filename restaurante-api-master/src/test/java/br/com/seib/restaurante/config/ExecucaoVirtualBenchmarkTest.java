@@ -0,0 +1,160 @@
+package br.com.seib.restaurante.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark do modelo de execução: o mesmo servidor (Tomcat + Spring MVC, com a configuração
+ * de 'ExecucaoVirtualConfig') sob a mesma carga, com threads de plataforma e com threads virtuais.
+ * O endpoint simula uma ida bloqueante ao banco (LATENCIA_IO_MS) através de um "pool" do mesmo tamanho
+ * do HikariCP da API: o teto de vazão (CONEXOES / latência) é o mesmo nos dois modos, como em produção.
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class ExecucaoVirtualBenchmarkTest {
+
+	private static final long LATENCIA_IO_MS = 50;
+	private static final int CONEXOES = 20; // spring.datasource.hikari.maximum-pool-size
+	private static final long ESPERA_CONEXAO_MS = 5000; // spring.datasource.hikari.connection-timeout
+	private static final int REQUISICOES = 4000;
+	private static final int CLIENTES_SIMULTANEOS = 200;
+
+	@Test
+	void comparaThreadsDePlataformaEVirtuais() throws Exception {
+		// Aquecimento (JIT, conexões HTTP) descartado; depois uma medição por modo.
+		medir(false, REQUISICOES / 4);
+		medir(true, REQUISICOES / 4);
+		Resultado plataforma = medir(false, REQUISICOES);
+		Resultado virtuais = medir(true, REQUISICOES);
+
+		System.out.printf("%-22s %10s %8s %8s %8s %6s%n", "Modo", "req/s", "p50 ms", "p95 ms", "p99 ms", "erros");
+		System.out.println(plataforma.formatar("Plataforma (200 thr)"));
+		System.out.println(virtuais.formatar("Virtuais"));
+
+		// Com o pool como gargalo, threads virtuais não aumentam a vazão; o limite derivado do pool
+		// não pode reduzi-la nem recusar requisições dentro da espera máxima.
+		double teto = CONEXOES * 1000.0 / LATENCIA_IO_MS;
+		assertThat(plataforma.erros()).isZero();
+		assertThat(virtuais.erros()).isZero();
+		assertThat(plataforma.vazao()).isLessThanOrEqualTo(teto * 1.05);
+		assertThat(virtuais.vazao()).isLessThanOrEqualTo(teto * 1.05).isGreaterThan(plataforma.vazao() * 0.9);
+	}
+
+	private Resultado medir(boolean threadsVirtuais, int requisicoes) throws Exception {
+		try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ServidorSimulado.class)
+				.properties(Map.of(
+						"server.port", "0",
+						"server.tomcat.threads.max", "200",
+						"spring.datasource.hikari.maximum-pool-size", String.valueOf(CONEXOES),
+						"spring.threads.virtual.enabled", String.valueOf(threadsVirtuais),
+						"spring.main.banner-mode", "off",
+						"logging.level.root", "warn"))
+				.run();
+			 ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+
+			int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+			URI uri = URI.create("http://localhost:" + porta + "/api/simulado");
+			HttpClient http = HttpClient.newBuilder().executor(clientes).build();
+			Semaphore emVoo = new Semaphore(CLIENTES_SIMULTANEOS);
+
+			long[] latencias = new long[requisicoes];
+			AtomicInteger erros = new AtomicInteger();
+			List<CompletableFuture<Void>> pendentes = new ArrayList<>(requisicoes);
+			long inicio = System.nanoTime();
+			for (int i = 0; i < requisicoes; i++) {
+				int indice = i;
+				emVoo.acquire();
+				long enviada = System.nanoTime();
+				pendentes.add(http.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding())
+						.handle((resposta, falha) -> {
+							latencias[indice] = System.nanoTime() - enviada;
+							if (falha != null || resposta.statusCode() != 200) {
+								erros.incrementAndGet();
+							}
+							emVoo.release();
+							return null;
+						}));
+			}
+			CompletableFuture.allOf(pendentes.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+			long duracao = System.nanoTime() - inicio;
+
+			Arrays.sort(latencias);
+			return new Resultado(requisicoes * 1e9 / duracao,
+					percentil(latencias, 50), percentil(latencias, 95), percentil(latencias, 99), erros.get());
+		}
+	}
+
+	private static double percentil(long[] ordenadas, int p) {
+		int indice = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+		return ordenadas[Math.max(indice, 0)] / 1e6;
+	}
+
+	private record Resultado(double vazao, double p50, double p95, double p99, int erros) {
+
+		String formatar(String modo) {
+			return String.format("%-22s %10.0f %8.1f %8.1f %8.1f %6d", modo, vazao, p50, p95, p99, erros);
+		}
+	}
+
+	// Servidor mínimo: apenas a camada web, sem MySQL/MongoDB.
+	@SpringBootConfiguration
+	@ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+			WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+			JacksonAutoConfiguration.class, TaskExecutionAutoConfiguration.class})
+	@Import({ExecucaoVirtualConfig.class, ControladorSimulado.class})
+	static class ServidorSimulado {
+	}
+
+	@RestController
+	static class ControladorSimulado {
+
+		// Conexões do "pool" (como o HikariCP: espera limitada por uma conexão livre).
+		private final Semaphore conexoes = new Semaphore(CONEXOES, true);
+
+		@GetMapping("/api/simulado")
+		ResponseEntity<String> consultar() throws InterruptedException {
+			if (!conexoes.tryAcquire(ESPERA_CONEXAO_MS, TimeUnit.MILLISECONDS)) {
+				return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("sem conexão");
+			}
+			try {
+				Thread.sleep(LATENCIA_IO_MS); // Ida ao banco bloqueante.
+				return ResponseEntity.ok("ok");
+			} finally {
+				conexoes.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package br.com.seib.restaurante.controller;
+
+import br.com.seib.restaurante.model.ItemCardapio;
+import br.com.seib.restaurante.repository.ItemCardapioRepository;
+import br.com.seib.restaurante.service.BuscaCardapioService;
+import br.com.seib.restaurante.service.CardapioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Endpoints de leitura do cardápio (cursor e GET condicional) sobre o servidor MongoDB em processo (MockMvc sem servidor HTTP).
+ */
+@DataMongoTest
+class CardapioControllerTest {
+
+	private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+
+	@DynamicPropertySource
+	static void mongo(DynamicPropertyRegistry registry) {
+		String uri = MONGO.bindAndGetConnectionString() + "/restaurante_teste";
+		registry.add("spring.data.mongodb.uri", () -> uri);
+	}
+
+	@AfterAll
+	static void encerrarMongo() {
+		MONGO.shutdownNow();
+	}
+
+	@Autowired
+	private ItemCardapioRepository repository;
+
+	private CardapioService service;
+	private MockMvc mockMvc;
+	private List<String> ids;
+
+	@BeforeEach
+	void setUp() {
+		repository.deleteAll();
+		List<ItemCardapio> itens = new ArrayList<>();
+		for (String nome : List.of("Suco", "Refrigerante", "X-Burger", "X-Salada", "Pudim")) {
+			ItemCardapio item = new ItemCardapio();
+			item.setNome(nome);
+			item.setCategoria("Geral");
+			item.setPreco(new BigDecimal("10.00"));
+			itens.add(item);
+		}
+		ids = repository.saveAll(itens).stream().map(ItemCardapio::getId).sorted(Comparator.naturalOrder()).toList();
+
+		service = new CardapioService(repository, new BuscaCardapioService(repository), 200, Duration.ofMinutes(10),
+				new SimpleMeterRegistry());
+		mockMvc = MockMvcBuilders.standaloneSetup(new CardapioController(service, new ObjectMapper())).build();
+	}
+
+	@Test
+	void paginasPorCursorSeguemOId() throws Exception {
+		mockMvc.perform(get("/api/cardapio").param("limite", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.itens[*].id", contains(ids.get(0), ids.get(1))))
+				.andExpect(jsonPath("$.proximoCursor").value(ids.get(1)));
+
+		mockMvc.perform(get("/api/cardapio").param("limite", "2").param("apos", ids.get(1)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.itens[*].id", contains(ids.get(2), ids.get(3))))
+				.andExpect(jsonPath("$.proximoCursor").value(ids.get(3)));
+
+		// Última página incompleta: sem próximo cursor.
+		mockMvc.perform(get("/api/cardapio").param("limite", "2").param("apos", ids.get(3)))
+				.andExpect(jsonPath("$.itens[*].id", contains(ids.get(4))))
+				.andExpect(jsonPath("$.proximoCursor").value(nullValue()));
+	}
+
+	@Test
+	void getCondicionalRespondeNaoModificadoAteONovoItem() throws Exception {
+		String etag = mockMvc.perform(get("/api/cardapio"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(5)))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isNotBlank();
+
+		mockMvc.perform(get("/api/cardapio").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+
+		// adicionarItem invalida o cache: o ETag antigo deixa de valer.
+		mockMvc.perform(post("/api/cardapio").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"nome\":\"Café\",\"categoria\":\"Geral\",\"preco\":5.00}"))
+				.andExpect(status().isCreated());
+
+		String novoEtag = mockMvc.perform(get("/api/cardapio").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(6)))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(novoEtag).isNotBlank().isNotEqualTo(etag);
+	}
+}
@@ -0,0 +1,252 @@
+package br.com.seib.restaurante.controller;
+
+import br.com.seib.restaurante.model.ItemCardapio;
+import br.com.seib.restaurante.repository.ItemCardapioRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark da leitura do cardápio: CardapioController (driver bloqueante, uma thread do Tomcat por
+ * requisição) x CardapioReativoController (driver reativo), com o mesmo pool de poucas threads e
+ * muitos leitores simultâneos. O MongoDB em processo fica atrás de um proxy que atrasa cada pacote
+ * (LATENCIA_REDE_MS), como a ida pela rede a um servidor real. O cache do cardápio é desligado para
+ * que as duas variantes consultem o banco a cada requisição.
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"server.tomcat.threads.max=" + CardapioReativoBenchmarkTest.THREADS_TOMCAT,
+		"cardapio.cache.tamanho-maximo=0",
+		"cardapio.cache.ttl=0s"})
+@ActiveProfiles("carga")
+class CardapioReativoBenchmarkTest {
+
+	static final int THREADS_TOMCAT = 8;
+	private static final long LATENCIA_REDE_MS = 5;
+	private static final int ITENS_POR_CATEGORIA = 20;
+	private static final int REQUISICOES = 2000;
+	private static final int CLIENTES_SIMULTANEOS = 200;
+
+	private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+	private static final ProxyComLatencia PROXY = new ProxyComLatencia(MONGO.bind(), LATENCIA_REDE_MS);
+
+	@DynamicPropertySource
+	static void mongoComLatencia(DynamicPropertyRegistry registry) {
+		registry.add("spring.data.mongodb.uri", () -> "mongodb://localhost:" + PROXY.porta());
+		registry.add("spring.data.mongodb.database", () -> "restaurante_benchmark");
+	}
+
+	@AfterAll
+	static void encerrar() throws IOException {
+		PROXY.close();
+		MONGO.shutdownNow();
+	}
+
+	@LocalServerPort
+	private int porta;
+
+	@Autowired
+	private ItemCardapioRepository itemCardapioRepository;
+
+	@Test
+	void comparaLeituraBloqueanteEReativa() throws Exception {
+		List<ItemCardapio> itens = new ArrayList<>();
+		for (int i = 0; i < ITENS_POR_CATEGORIA * 5; i++) {
+			ItemCardapio item = new ItemCardapio();
+			item.setNome("Item " + i);
+			item.setCategoria("Categoria " + i % 5);
+			item.setPreco(BigDecimal.valueOf(10 + i));
+			item.setIngredientes(List.of("Ingrediente " + i));
+			itens.add(item);
+		}
+		itemCardapioRepository.saveAll(itens);
+
+		String bloqueante = "/api/cardapio/categoria/Categoria%201";
+		String reativo = "/api/cardapio/reativo/categoria/Categoria%201";
+		HttpResponse<String> ndjson = HttpClient.newHttpClient().send(HttpRequest.newBuilder(uri(reativo)).build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertThat(ndjson.body().lines()).hasSize(ITENS_POR_CATEGORIA);
+
+		// Aquecimento (JIT, pools de conexões) descartado; depois uma medição por variante.
+		medir(bloqueante, REQUISICOES / 4);
+		medir(reativo, REQUISICOES / 4);
+		Resultado resultadoBloqueante = medir(bloqueante, REQUISICOES);
+		Resultado resultadoReativo = medir(reativo, REQUISICOES);
+
+		System.out.printf("%-26s %10s %8s %8s %8s %6s%n", "Leitura", "req/s", "p50 ms", "p95 ms", "p99 ms", "erros");
+		System.out.println(resultadoBloqueante.formatar("Bloqueante (" + THREADS_TOMCAT + " thr)"));
+		System.out.println(resultadoReativo.formatar("Reativa (" + THREADS_TOMCAT + " thr)"));
+
+		assertThat(resultadoBloqueante.erros()).isZero();
+		assertThat(resultadoReativo.erros()).isZero();
+		assertThat(resultadoReativo.vazao()).isGreaterThan(resultadoBloqueante.vazao());
+	}
+
+	private Resultado medir(String caminho, int requisicoes) throws Exception {
+		try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+			HttpClient http = HttpClient.newBuilder().executor(clientes).build();
+			URI uri = uri(caminho);
+			Semaphore emVoo = new Semaphore(CLIENTES_SIMULTANEOS);
+
+			long[] latencias = new long[requisicoes];
+			AtomicInteger erros = new AtomicInteger();
+			List<CompletableFuture<Void>> pendentes = new ArrayList<>(requisicoes);
+			long inicio = System.nanoTime();
+			for (int i = 0; i < requisicoes; i++) {
+				int indice = i;
+				emVoo.acquire();
+				long enviada = System.nanoTime();
+				pendentes.add(http.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding())
+						.handle((resposta, falha) -> {
+							latencias[indice] = System.nanoTime() - enviada;
+							if (falha != null || resposta.statusCode() != 200) {
+								erros.incrementAndGet();
+							}
+							emVoo.release();
+							return null;
+						}));
+			}
+			CompletableFuture.allOf(pendentes.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+			long duracao = System.nanoTime() - inicio;
+
+			Arrays.sort(latencias);
+			return new Resultado(requisicoes * 1e9 / duracao,
+					percentil(latencias, 50), percentil(latencias, 95), percentil(latencias, 99), erros.get());
+		}
+	}
+
+	private URI uri(String caminho) {
+		return URI.create("http://localhost:" + porta + caminho);
+	}
+
+	private static double percentil(long[] ordenadas, int p) {
+		int indice = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+		return ordenadas[Math.max(indice, 0)] / 1e6;
+	}
+
+	private record Resultado(double vazao, double p50, double p95, double p99, int erros) {
+
+		String formatar(String leitura) {
+			return String.format("%-26s %10.0f %8.1f %8.1f %8.1f %6d", leitura, vazao, p50, p95, p99, erros);
+		}
+	}
+
+	/**
+	 * Proxy TCP que entrega cada bloco de bytes 'latencia' depois de recebê-lo, nos dois sentidos.
+	 * Os atrasos não se somam: blocos em sequência seguem com o mesmo atraso, como em um link de rede.
+	 */
+	static final class ProxyComLatencia implements AutoCloseable {
+
+		private static final byte[] FIM = new byte[0];
+
+		private final ServerSocket servidor;
+		private final InetSocketAddress destino;
+		private final long latenciaNs;
+
+		ProxyComLatencia(InetSocketAddress destino, long latenciaMs) {
+			try {
+				this.servidor = new ServerSocket(0);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			this.destino = destino;
+			this.latenciaNs = TimeUnit.MILLISECONDS.toNanos(latenciaMs);
+			Thread.ofVirtual().name("proxy-latencia").start(this::aceitar);
+		}
+
+		int porta() {
+			return servidor.getLocalPort();
+		}
+
+		@Override
+		public void close() throws IOException {
+			servidor.close();
+		}
+
+		private void aceitar() {
+			while (!servidor.isClosed()) {
+				try {
+					Socket cliente = servidor.accept();
+					Socket mongo = new Socket(destino.getAddress(), destino.getPort());
+					cliente.setTcpNoDelay(true);
+					mongo.setTcpNoDelay(true);
+					encaminhar(cliente, mongo);
+					encaminhar(mongo, cliente);
+				} catch (IOException e) {
+					// Proxy encerrado.
+				}
+			}
+		}
+
+		private void encaminhar(Socket origem, Socket alvo) {
+			BlockingQueue<Bloco> blocos = new LinkedBlockingQueue<>();
+			Thread.ofVirtual().start(() -> {
+				byte[] buffer = new byte[64 * 1024];
+				try (InputStream entrada = origem.getInputStream()) {
+					int lidos;
+					while ((lidos = entrada.read(buffer)) > 0) {
+						blocos.add(new Bloco(System.nanoTime() + latenciaNs, Arrays.copyOf(buffer, lidos)));
+					}
+				} catch (IOException e) {
+					// Conexão encerrada.
+				}
+				blocos.add(new Bloco(0, FIM));
+			});
+			Thread.ofVirtual().start(() -> {
+				try (OutputStream saida = alvo.getOutputStream()) {
+					while (true) {
+						Bloco bloco = blocos.take();
+						if (bloco.dados() == FIM) {
+							break;
+						}
+						long espera = bloco.entrega() - System.nanoTime();
+						if (espera > 0) {
+							TimeUnit.NANOSECONDS.sleep(espera);
+						}
+						saida.write(bloco.dados());
+					}
+				} catch (IOException | InterruptedException e) {
+					// Conexão encerrada.
+				}
+			});
+		}
+
+		private record Bloco(long entrega, byte[] dados) {
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package br.com.seib.restaurante.repository;
+
+import br.com.seib.restaurante.dto.FiltroCardapioDTO;
+import br.com.seib.restaurante.dto.ItemCardapioResumoDTO;
+import br.com.seib.restaurante.model.ItemCardapio;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filtro do cardápio (ItemCardapioFiltroRepository). Roda no servidor MongoDB em processo;
+ * os testes com a tag 'mongodb' (colação e plano de consulta) exigem um MongoDB real e rodam no perfil
+ * correspondente, que define 'mongodb.uri': mvn test -Pmongodb [-Dmongodb.uri=mongodb://host:27017/base]
+ */
+@DataMongoTest
+class ItemCardapioRepositoryTest {
+
+	private static final String URI_MONGODB_REAL = System.getProperty("mongodb.uri");
+	private static final MongoServer MONGO = URI_MONGODB_REAL == null ? new MongoServer(new MemoryBackend()) : null;
+
+	@DynamicPropertySource
+	static void mongo(DynamicPropertyRegistry registry) {
+		String uri = MONGO == null ? URI_MONGODB_REAL : MONGO.bindAndGetConnectionString() + "/restaurante_teste";
+		registry.add("spring.data.mongodb.uri", () -> uri);
+	}
+
+	@AfterAll
+	static void encerrarMongo() {
+		if (MONGO != null) {
+			MONGO.shutdownNow();
+		}
+	}
+
+	@Autowired
+	private ItemCardapioRepository repository;
+
+	@Autowired
+	private ItemCardapioReativoRepository reativoRepository;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void setUp() {
+		repository.deleteAll();
+		repository.saveAll(List.of(
+				item("Suco de Laranja", "Bebida", "9.90", "Laranja"),
+				item("Milkshake de Paçoca", "Bebida", "18.00", "Leite", "Amendoim"),
+				item("Refrigerante", "Bebida", "8.00"),
+				item("Vinho Tinto", "Bebida", "89.00", "Uva"),
+				item("X-Burger", "Lanche", "25.50", "Pão", "Bife", "Queijo"),
+				item("X-Salada", "Lanche", "19.90", "Pão", "Bife", "Alface")));
+	}
+
+	@Test
+	void filtraPorCategoriaPrecoEIngredientesOrdenandoPorPreco() {
+		// "Bebidas até R$ 20 sem amendoim".
+		Slice<ItemCardapioResumoDTO> bebidas = repository.filtrar(
+				new FiltroCardapioDTO("Bebida", null, new BigDecimal("20"), null, List.of("Amendoim")),
+				PageRequest.of(0, 10));
+
+		assertThat(bebidas.getContent()).extracting(ItemCardapioResumoDTO::getNome)
+				.containsExactly("Refrigerante", "Suco de Laranja");
+		assertThat(bebidas.getContent().get(0).getPreco()).isEqualByComparingTo("8.00");
+		assertThat(bebidas.hasNext()).isFalse();
+
+		Slice<ItemCardapioResumoDTO> comPaoEBife = repository.filtrar(
+				new FiltroCardapioDTO(null, new BigDecimal("20"), null, List.of("Pão", "Bife"), List.of(" ")),
+				PageRequest.of(0, 10));
+		assertThat(comPaoEBife.getContent()).extracting(ItemCardapioResumoDTO::getNome)
+				.containsExactly("X-Burger");
+	}
+
+	@Test
+	void paginaSemContagemEProjetaApenasOsCamposDoResumo() {
+		FiltroCardapioDTO todos = new FiltroCardapioDTO();
+
+		Slice<ItemCardapioResumoDTO> primeira = repository.filtrar(todos, PageRequest.of(0, 4));
+		Slice<ItemCardapioResumoDTO> segunda = repository.filtrar(todos, PageRequest.of(1, 4));
+
+		assertThat(primeira.getContent()).extracting(ItemCardapioResumoDTO::getNome)
+				.containsExactly("Refrigerante", "Suco de Laranja", "Milkshake de Paçoca", "X-Salada");
+		assertThat(primeira.hasNext()).isTrue();
+		assertThat(segunda.getContent()).extracting(ItemCardapioResumoDTO::getNome)
+				.containsExactly("X-Burger", "Vinho Tinto");
+		assertThat(segunda.hasNext()).isFalse();
+
+		Query consulta = ItemCardapioFiltroRepositoryImpl.consulta(todos);
+		consulta.fields().include("nome", "categoria", "preco");
+		Document documento = mongoTemplate.findOne(consulta, Document.class, "cardapio");
+		assertThat(documento).containsOnlyKeys("_id", "nome", "categoria", "preco");
+	}
+
+	@Test
+	void convertePrecosGravadosComoTexto() {
+		mongoTemplate.getCollection("cardapio").insertOne(new Document("nome", "Água").append("categoria", "Bebida")
+				.append("preco", "5.00"));
+
+		assertThat(repository.converterPrecosEmTexto()).isEqualTo(1);
+		assertThat(repository.converterPrecosEmTexto()).isZero();
+		assertThat(repository.filtrar(new FiltroCardapioDTO("Bebida", null, new BigDecimal("6"), null, null),
+				PageRequest.of(0, 10)).getContent()).extracting(ItemCardapioResumoDTO::getNome).containsExactly("Água");
+	}
+
+	@Test
+	void repositorioReativoLeOsMesmosDocumentos() {
+		assertThat(reativoRepository.findByCategoria("Lanche").map(ItemCardapio::getNome).collectList().block())
+				.containsExactlyInAnyOrder("X-Burger", "X-Salada");
+
+		String id = repository.findByCategoria("Bebida").get(0).getId();
+		assertThat(reativoRepository.findById(id).map(ItemCardapio::getCategoria).block()).isEqualTo("Bebida");
+		assertThat(reativoRepository.findById("000000000000000000000000").blockOptional()).isEmpty();
+	}
+
+	@Test
+	@Tag("mongodb")
+	void colacaoIgnoraMaiusculasNaCategoriaENosIngredientes() {
+		assertThat(repository.filtrar(new FiltroCardapioDTO("bebida", null, new BigDecimal("20"), null, List.of("amendoim")),
+				PageRequest.of(0, 10)).getContent()).extracting(ItemCardapioResumoDTO::getNome)
+				.containsExactly("Refrigerante", "Suco de Laranja");
+	}
+
+	@Test
+	@Tag("mongodb")
+	void planosDeConsultaUsamOsIndicesCompostosSemOrdenarEmMemoria() {
+		// Volume suficiente para o otimizador preferir os índices à varredura da coleção.
+		List<ItemCardapio> itens = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			itens.add(item("Item " + i, "Categoria " + i % 10, String.valueOf(5 + i % 90), "Ingrediente " + i % 50));
+		}
+		repository.saveAll(itens);
+
+		assertThat(indicesDoPlano(new FiltroCardapioDTO("Bebida", null, new BigDecimal("20"), null, List.of("Amendoim"))))
+				.containsExactly("cardapio_categoria_preco");
+		assertThat(indicesDoPlano(new FiltroCardapioDTO(null, null, new BigDecimal("20"), List.of("Ingrediente 7"), null)))
+				.containsExactly("cardapio_ingredientes_preco");
+		assertThat(indicesDoPlano(new FiltroCardapioDTO(null, new BigDecimal("10"), new BigDecimal("20"), null, null)))
+				.containsExactly("cardapio_preco");
+		assertThat(indicesDoPlano(new FiltroCardapioDTO())).containsExactly("cardapio_preco");
+	}
+
+	/**
+	 * Executa o explain da consulta do filtro (com a ordenação da paginação) e retorna os índices
+	 * do plano vencedor; falha se o plano varrer a coleção ou ordenar em memória.
+	 */
+	private List<String> indicesDoPlano(FiltroCardapioDTO filtro) {
+		Query consulta = ItemCardapioFiltroRepositoryImpl.consulta(filtro);
+		Document filtroMapeado = new QueryMapper(mongoTemplate.getConverter()).getMappedObject(consulta.getQueryObject(),
+				mongoTemplate.getConverter().getMappingContext().getPersistentEntity(ItemCardapio.class));
+
+		Document explain = mongoTemplate.executeCommand(new Document("explain", new Document("find", "cardapio")
+				.append("filter", filtroMapeado)
+				.append("sort", new Document("preco", 1).append("_id", 1))
+				.append("projection", new Document("nome", 1).append("categoria", 1).append("preco", 1))
+				.append("collation", Collation.parse(ItemCardapio.COLACAO).toDocument()))
+				.append("verbosity", "queryPlanner"));
+
+		Document plano = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+		// Motor de execução baseado em slots (MongoDB 7+): o plano clássico fica em 'queryPlan'.
+		if (plano.containsKey("queryPlan")) {
+			plano = plano.get("queryPlan", Document.class);
+		}
+		List<Document> estagios = new ArrayList<>();
+		coletarEstagios(plano, estagios);
+
+		assertThat(estagios).extracting(estagio -> estagio.getString("stage"))
+				.doesNotContain("COLLSCAN", "SORT")
+				.contains("IXSCAN");
+		return estagios.stream()
+				.filter(estagio -> "IXSCAN".equals(estagio.getString("stage")))
+				.map(estagio -> estagio.getString("indexName"))
+				.toList();
+	}
+
+	private static void coletarEstagios(Document estagio, List<Document> estagios) {
+		estagios.add(estagio);
+		if (estagio.containsKey("inputStage")) {
+			coletarEstagios(estagio.get("inputStage", Document.class), estagios);
+		}
+		if (estagio.containsKey("inputStages")) {
+			estagio.getList("inputStages", Document.class).forEach(filho -> coletarEstagios(filho, estagios));
+		}
+	}
+
+	private static ItemCardapio item(String nome, String categoria, String preco, String... ingredientes) {
+		ItemCardapio item = new ItemCardapio();
+		item.setNome(nome);
+		item.setDescricao("Descrição de " + nome);
+		item.setCategoria(categoria);
+		item.setPreco(new BigDecimal(preco));
+		item.setIngredientes(List.of(ingredientes));
+		return item;
+	}
+}
@@ -0,0 +1,125 @@
+package br.com.seib.restaurante.repository;
+
+import br.com.seib.restaurante.dto.ReservaResumoDTO;
+import br.com.seib.restaurante.model.GrupoUsuario;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.model.Usuario;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leitura de reservas no H2: cada página da listagem deve custar exatamente uma instrução SQL,
+ * independentemente do número de linhas, e as associações da entidade não são carregadas antecipadamente.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReservaRepositoryTest {
+
+	private static final LocalDateTime DIA = LocalDate.of(2025, 11, 17).atStartOfDay();
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	private Statistics estatisticas;
+	private final List<Mesa> mesas = new ArrayList<>();
+	private Long primeiraReservaId;
+
+	@BeforeEach
+	void setUp() {
+		GrupoUsuario grupo = entityManager.persist(new GrupoUsuario(null, "CLIENTE"));
+		List<Usuario> usuarios = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			usuarios.add(entityManager.persist(new Usuario(null, "Cliente " + i, "cliente" + i + "@email.com", "senha", grupo)));
+		}
+		for (int i = 1; i <= 5; i++) {
+			Mesa mesa = new Mesa();
+			mesa.setNumeroMesa(i);
+			mesa.setCapacidade(4);
+			mesas.add(entityManager.persist(mesa));
+		}
+		// 40 reservas no dia (8 por mesa, de hora em hora) e uma no dia seguinte.
+		for (int i = 0; i < 40; i++) {
+			Reserva reserva = reserva(usuarios.get(i % usuarios.size()), mesas.get(i % mesas.size()),
+					DIA.plusHours(10 + i / mesas.size()));
+			if (primeiraReservaId == null) {
+				primeiraReservaId = reserva.getId();
+			}
+		}
+		reserva(usuarios.get(0), mesas.get(0), DIA.plusDays(1).plusHours(12));
+		entityManager.flush();
+		entityManager.clear();
+
+		estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+	}
+
+	@Test
+	void listagemDoDiaUsaUmaInstrucaoPorPagina() {
+		Slice<ReservaResumoDTO> primeira = reservaRepository.findResumoEntre(DIA, DIA.plusDays(1), PageRequest.of(0, 30));
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(primeira.getContent()).hasSize(30);
+		assertThat(primeira.hasNext()).isTrue();
+		assertThat(primeira.getContent()).isSortedAccordingTo(
+				(a, b) -> a.getDataHoraInicio().compareTo(b.getDataHoraInicio()));
+		assertThat(primeira.getContent().get(0).getNomeCliente()).startsWith("Cliente ");
+
+		Slice<ReservaResumoDTO> segunda = reservaRepository.findResumoEntre(DIA, DIA.plusDays(1), PageRequest.of(1, 30));
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(segunda.getContent()).hasSize(10);
+		assertThat(segunda.hasNext()).isFalse();
+	}
+
+	@Test
+	void listagemPorMesaUsaUmaInstrucao() {
+		Mesa mesa = mesas.get(2);
+
+		Slice<ReservaResumoDTO> fatia = reservaRepository.findResumoPorMesaEntre(mesa.getId(), DIA, DIA.plusDays(1),
+				PageRequest.of(0, 50));
+
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(fatia.getContent()).hasSize(8).allSatisfy(linha -> {
+			assertThat(linha.getMesaId()).isEqualTo(mesa.getId());
+			assertThat(linha.getNumeroMesa()).isEqualTo(3);
+		});
+	}
+
+	@Test
+	void associacoesDaReservaSaoCarregadasSobDemanda() {
+		Reserva reserva = reservaRepository.findById(primeiraReservaId).orElseThrow();
+
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(Hibernate.isInitialized(reserva.getUsuario())).isFalse();
+		assertThat(Hibernate.isInitialized(reserva.getMesa())).isFalse();
+		assertThat(reserva.getMesa().getId()).isEqualTo(mesas.get(0).getId());
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	private Reserva reserva(Usuario usuario, Mesa mesa, LocalDateTime inicio) {
+		Reserva reserva = new Reserva();
+		reserva.setUsuario(usuario);
+		reserva.setMesa(mesa);
+		reserva.setDataHoraInicio(inicio);
+		reserva.setDataHoraFim(inicio.plusHours(2));
+		reserva.setNumeroPessoas(2);
+		return entityManager.persist(reserva);
+	}
+}
@@ -0,0 +1,157 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
+import br.com.seib.restaurante.dto.ReservaResumoDTO;
+import br.com.seib.restaurante.model.GrupoUsuario;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.GrupoUsuarioRepository;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaArquivadaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import br.com.seib.restaurante.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arquivamento no H2: reservas antigas saem de 'reservas' em lotes e o histórico continua
+ * completo, em uma única ordem, somando as duas tabelas.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada lote confirma a sua própria transação.
+class ArquivamentoReservaServiceTest {
+
+	private static final LocalDateTime ANTIGA = LocalDate.now().minusDays(200).atTime(19, 0);
+	private static final LocalDateTime FUTURA = LocalDate.now().plusDays(1).atTime(19, 0);
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private ReservaArquivadaRepository arquivoRepository;
+
+	@Autowired
+	private MesaRepository mesaRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private GrupoUsuarioRepository grupoRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final List<Mesa> mesas = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		GrupoUsuario grupo = grupoRepository.save(new GrupoUsuario(null, "CLIENTE"));
+		Usuario usuario = usuarioRepository.save(new Usuario(null, "Cliente", "cliente@email.com", "senha", grupo));
+		for (int i = 1; i <= 2; i++) {
+			Mesa mesa = new Mesa();
+			mesa.setNumeroMesa(i);
+			mesa.setCapacidade(4);
+			mesas.add(mesaRepository.save(mesa));
+		}
+		// 7 reservas antigas (5 na mesa 1, 2 na mesa 2) e 3 futuras.
+		for (int i = 0; i < 7; i++) {
+			reserva(usuario, mesas.get(i < 5 ? 0 : 1), ANTIGA.plusDays(i % 3).plusHours(i));
+		}
+		for (int i = 0; i < 3; i++) {
+			reserva(usuario, mesas.get(i % 2), FUTURA.plusHours(i));
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		arquivoRepository.deleteAllInBatch();
+		reservaRepository.deleteAllInBatch();
+		mesaRepository.deleteAllInBatch();
+		usuarioRepository.deleteAllInBatch();
+		grupoRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void arquivaEmLotesApenasAsReservasAnterioresAoHorizonte() {
+		// Uma execução limitada a 2 lotes de 2: o restante fica para a próxima.
+		assertThat(servico(2).arquivar()).isEqualTo(4);
+		assertThat(reservaRepository.count()).isEqualTo(6);
+
+		assertThat(servico(100).arquivar()).isEqualTo(3);
+		assertThat(reservaRepository.count()).isEqualTo(3);
+		assertThat(arquivoRepository.count()).isEqualTo(7);
+		assertThat(reservaRepository.findAll()).allMatch(reserva -> reserva.getDataHoraInicio().isAfter(LocalDateTime.now()));
+		assertThat(arquivoRepository.findAll()).allMatch(arquivada -> arquivada.getArquivadaEm() != null);
+
+		// Nada mais a arquivar.
+		assertThat(servico(100).arquivar()).isZero();
+	}
+
+	@Test
+	void historicoPercorreAsDuasTabelasEmOrdemPorCursor() {
+		List<ReservaResumoDTO> antes = historicoCompleto(servico(100), null, 100);
+		servico(100).arquivar();
+		ArquivamentoReservaService servico = servico(100);
+
+		// Páginas de 3 itens misturando arquivo e tabela quente: mesma sequência de antes do arquivamento.
+		List<ReservaResumoDTO> depois = historicoCompleto(servico, null, 3);
+		assertThat(depois).extracting(ReservaResumoDTO::getId)
+				.containsExactlyElementsOf(antes.stream().map(ReservaResumoDTO::getId).toList());
+		assertThat(depois).hasSize(10);
+		assertThat(depois).filteredOn(reserva -> reserva.getId().equals(antes.get(0).getId()))
+				.singleElement().satisfies(reserva -> {
+					assertThat(reserva.getNumeroMesa()).isEqualTo(antes.get(0).getNumeroMesa());
+					assertThat(reserva.getNomeCliente()).isEqualTo("Cliente");
+				});
+
+		// Filtro por mesa: 2 arquivadas e 1 futura na mesa 2.
+		assertThat(historicoCompleto(servico, mesas.get(1).getId(), 2)).hasSize(3)
+				.allMatch(reserva -> reserva.getMesaId().equals(mesas.get(1).getId()));
+	}
+
+	private List<ReservaResumoDTO> historicoCompleto(ArquivamentoReservaService servico, Long mesaId, int limite) {
+		List<ReservaResumoDTO> todas = new ArrayList<>();
+		String cursor = null;
+		do {
+			PaginaCursorDTO<ReservaResumoDTO> pagina = servico.buscarHistorico(mesaId, ANTIGA.toLocalDate(),
+					FUTURA.toLocalDate().plusDays(1), cursor, limite);
+			assertThat(pagina.getItens()).hasSizeLessThanOrEqualTo(limite);
+			todas.addAll(pagina.getItens());
+			cursor = pagina.getProximoCursor();
+		} while (cursor != null);
+		return todas;
+	}
+
+	private ArquivamentoReservaService servico(int maximoLotes) {
+		DisponibilidadeService disponibilidadeService = new DisponibilidadeService(reservaRepository, mesaRepository);
+		return new ArquivamentoReservaService(reservaRepository, arquivoRepository, disponibilidadeService,
+				transactionManager, new SimpleMeterRegistry(), Duration.ofDays(90), 2, Duration.ZERO, maximoLotes, true);
+	}
+
+	private void reserva(Usuario usuario, Mesa mesa, LocalDateTime inicio) {
+		Reserva reserva = new Reserva();
+		reserva.setUsuario(usuario);
+		reserva.setMesa(mesa);
+		reserva.setDataHoraInicio(inicio);
+		reserva.setDataHoraFim(inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS));
+		reserva.setNumeroPessoas(2);
+		reservaRepository.save(reserva);
+	}
+}
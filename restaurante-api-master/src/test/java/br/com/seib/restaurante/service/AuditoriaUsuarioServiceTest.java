@@ -0,0 +1,119 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.RegistroAuditoriaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditoriaUsuarioServiceTest {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@TempDir
+	private Path diretorio;
+
+	@Test
+	void gravaEmSegundoPlanoELeDeVoltaPorUsuario() throws Exception {
+		AuditoriaUsuarioService auditoria = novaAuditoria(DataSize.ofMegabytes(16), 100_000);
+		Instant inicio = Instant.now();
+		for (int i = 0; i < 10; i++) {
+			assertThat(auditoria.registrar(registro(inicio.plusMillis(i), i % 2 == 0 ? 1L : 2L, "Nome " + i))).isTrue();
+		}
+
+		// Gravado pela thread de auditoria em até 'intervalo-gravacao'.
+		assertThat(aguardar(() -> auditoria.consultar(null, null, 100), 10)).hasSize(10);
+		assertThat(auditoria.consultar(1L, null, 100)).extracting(RegistroAuditoriaDTO::getValorNovo)
+				.containsExactly("Nome 0", "Nome 2", "Nome 4", "Nome 6", "Nome 8");
+
+		// Os mais recentes, em ordem cronológica; 'desde' filtra pelo momento da alteração.
+		assertThat(auditoria.consultar(null, null, 3)).extracting(RegistroAuditoriaDTO::getValorNovo)
+				.containsExactly("Nome 7", "Nome 8", "Nome 9");
+		assertThat(auditoria.consultar(2L, inicio.plusMillis(6), 100)).extracting(RegistroAuditoriaDTO::getValorNovo)
+				.containsExactly("Nome 7", "Nome 9");
+		auditoria.encerrar();
+	}
+
+	@Test
+	void divideEmSegmentosEApagaOsForaDaRetencao() throws Exception {
+		// Segmento antigo de uma execução anterior (com uma linha parcial no fim) e um recente.
+		Path antigo = Files.writeString(diretorio.resolve("auditoria-00000000000000000001.log"), "{\"usuarioId\":9");
+		Files.setLastModifiedTime(antigo, FileTime.from(Instant.now().minus(Duration.ofDays(91))));
+		Path recente = diretorio.resolve("auditoria-00000000000000000002.log");
+		Files.writeString(recente, objectMapper.writeValueAsString(registro(Instant.now(), 3L, "Anterior"))
+				+ "\n{\"usuarioId\":3,\"ca");
+
+		// Segmentos de ~1 KB: cada lote de registros abre um novo arquivo.
+		AuditoriaUsuarioService auditoria = novaAuditoria(DataSize.ofBytes(1024), 100_000);
+		assertThat(antigo).doesNotExist();
+		assertThat(recente).exists();
+
+		for (int i = 0; i < 30; i++) {
+			auditoria.registrar(registro(Instant.now(), 3L, "Nome " + i));
+			Thread.sleep(5);
+		}
+		auditoria.encerrar();
+
+		assertThat(segmentos()).hasSizeGreaterThan(3);
+		List<RegistroAuditoriaDTO> registros = auditoria.consultar(3L, null, 100);
+		assertThat(registros).hasSize(31);
+		assertThat(registros.get(0).getValorNovo()).isEqualTo("Anterior");
+		assertThat(registros.get(30).getValorNovo()).isEqualTo("Nome 29");
+	}
+
+	@Test
+	void encerrarGravaOsPendentesEFilaCheiaDescarta() throws Exception {
+		AuditoriaUsuarioService auditoria = novaAuditoria(DataSize.ofMegabytes(16), 1000);
+		int aceitos = 0;
+		for (int i = 0; i < 5000; i++) {
+			if (auditoria.registrar(registro(Instant.now(), 4L, "Nome " + i))) {
+				aceitos++;
+			}
+		}
+		auditoria.encerrar();
+
+		// Tudo o que foi aceito está no log ao encerrar; o excedente foi descartado sem bloquear.
+		assertThat(aceitos).isBetween(1000, 4999);
+		assertThat(auditoria.consultar(4L, null, 10_000)).hasSize(aceitos);
+	}
+
+	private AuditoriaUsuarioService novaAuditoria(DataSize tamanhoSegmento, int filaMaxima) {
+		return new AuditoriaUsuarioService(objectMapper, new SimpleMeterRegistry(), diretorio, tamanhoSegmento,
+				AuditoriaUsuarioService.Sincronizacao.SEMPRE, Duration.ofSeconds(1), Duration.ofDays(90),
+				8, Duration.ofMillis(20), filaMaxima);
+	}
+
+	private List<Path> segmentos() throws Exception {
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			return arquivos.toList();
+		}
+	}
+
+	private static RegistroAuditoriaDTO registro(Instant alteradoEm, Long usuarioId, String valorNovo) {
+		return new RegistroAuditoriaDTO(alteradoEm, usuarioId, "nome", "Antigo", valorNovo, "teste");
+	}
+
+	private static <T extends List<?>> T aguardar(Supplier<T> consulta, int esperado)
+			throws InterruptedException {
+		long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		T resultado = consulta.get();
+		while (resultado.size() < esperado && System.nanoTime() < limite) {
+			Thread.sleep(10);
+			resultado = consulta.get();
+		}
+		return resultado;
+	}
+}
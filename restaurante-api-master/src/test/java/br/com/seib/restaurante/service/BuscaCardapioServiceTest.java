@@ -0,0 +1,76 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.BuscaCardapioDTO;
+import br.com.seib.restaurante.model.ItemCardapio;
+import br.com.seib.restaurante.repository.ItemCardapioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BuscaCardapioServiceTest {
+
+	private final ItemCardapioRepository repository = mock(ItemCardapioRepository.class);
+	private BuscaCardapioService buscaService;
+
+	@BeforeEach
+	void setUp() {
+		when(repository.streamAllBy()).thenReturn(Stream.of(
+				item("1", "X-Burger", "Pão, bife de 150g e queijo", "Pão", "Bife", "Queijo Cheddar"),
+				item("2", "Pão de Queijo", "Porção com 10 unidades", "Polvilho", "Queijo"),
+				item("3", "Açaí na Tigela", "Com granola e banana", "Açaí", "Granola", "Banana"),
+				item("4", "Refrigerante", null)));
+		buscaService = new BuscaCardapioService(repository);
+		buscaService.carregar();
+	}
+
+	@Test
+	void ignoraAcentosEMaiusculasEAceitaPrefixo() {
+		assertThat(nomes(buscaService.buscar("ACAI", 10))).containsExactly("Açaí na Tigela");
+		assertThat(nomes(buscaService.buscar("refri", 10))).containsExactly("Refrigerante");
+
+		BuscaCardapioDTO resultado = buscaService.buscar("pao qu", 10);
+		assertThat(resultado.getTotal()).isEqualTo(2);
+		assertThat(resultado.getSugestoes()).containsExactly("queijo");
+	}
+
+	@Test
+	void exigeTodosOsTermosEOrdenaPorRelevancia() {
+		// "queijo" no nome (item 2) vale mais do que nos ingredientes e na descrição (item 1).
+		assertThat(nomes(buscaService.buscar("queijo", 10))).containsExactly("Pão de Queijo", "X-Burger");
+		assertThat(nomes(buscaService.buscar("queijo banana", 10))).isEmpty();
+		assertThat(nomes(buscaService.buscar("queijo", 1))).containsExactly("Pão de Queijo");
+		assertThat(buscaService.buscar("queijo", 1).getTotal()).isEqualTo(2);
+		assertThat(nomes(buscaService.buscar(" , ", 10))).isEmpty();
+	}
+
+	@Test
+	void itemAdicionadoOuAlteradoEntraNaBusca() {
+		buscaService.indexar(item("5", "Suco de Maracujá", "Natural", "Maracujá"));
+		assertThat(nomes(buscaService.buscar("maracuja", 10))).containsExactly("Suco de Maracujá");
+
+		// Mesmo id: a versão anterior deixa de ser encontrada.
+		buscaService.indexar(item("4", "Refrigerante Zero", null));
+		assertThat(nomes(buscaService.buscar("refrigerante", 10))).containsExactly("Refrigerante Zero");
+	}
+
+	private static List<String> nomes(BuscaCardapioDTO resultado) {
+		return resultado.getItens().stream().map(ItemCardapio::getNome).toList();
+	}
+
+	private static ItemCardapio item(String id, String nome, String descricao, String... ingredientes) {
+		ItemCardapio item = new ItemCardapio();
+		item.setId(id);
+		item.setNome(nome);
+		item.setDescricao(descricao);
+		item.setPreco(BigDecimal.TEN);
+		item.setIngredientes(List.of(ingredientes));
+		return item;
+	}
+}
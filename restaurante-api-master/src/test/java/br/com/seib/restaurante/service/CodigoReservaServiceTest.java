@@ -0,0 +1,99 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.repository.ContadorCodigoReservaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Códigos de reserva no H2: duas "instâncias" da API, com blocos pequenos, disputando
+ * os mesmos contadores a partir de várias threads.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada bloco confirma a sua própria transação.
+class CodigoReservaServiceTest {
+
+	private static final int THREADS = 16;
+	private static final int CODIGOS_POR_THREAD = 200;
+	private static final int TAMANHO_BLOCO = 7;
+
+	@Autowired
+	private ContadorCodigoReservaRepository contadorRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void tearDown() {
+		contadorRepository.deleteAll();
+	}
+
+	@Test
+	void naoRepeteCodigosEntreThreadsEInstancias() throws Exception {
+		List<CodigoReservaService> instancias = List.of(
+				new CodigoReservaService(contadorRepository, transactionManager, TAMANHO_BLOCO),
+				new CodigoReservaService(contadorRepository, transactionManager, TAMANHO_BLOCO));
+		List<LocalDate> dias = List.of(LocalDate.now(), LocalDate.now().plusDays(1), LocalDate.now().plusDays(2));
+		Map<LocalDate, ConcurrentLinkedQueue<Integer>> codigosPorDia = new ConcurrentHashMap<>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> tarefas = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				CodigoReservaService instancia = instancias.get(t % instancias.size());
+				int deslocamento = t;
+				tarefas.add(executor.submit(() -> {
+					for (int i = 0; i < CODIGOS_POR_THREAD; i++) {
+						LocalDate dia = dias.get((deslocamento + i) % dias.size());
+						codigosPorDia.computeIfAbsent(dia, d -> new ConcurrentLinkedQueue<>())
+								.add(instancia.proximoCodigo(dia));
+					}
+				}));
+			}
+			for (Future<?> tarefa : tarefas) {
+				tarefa.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(codigosPorDia.values().stream().mapToInt(ConcurrentLinkedQueue::size).sum())
+				.isEqualTo(THREADS * CODIGOS_POR_THREAD);
+		codigosPorDia.forEach((dia, codigos) -> {
+			assertThat(codigos).doesNotHaveDuplicates().allMatch(codigo -> codigo >= 1);
+			// Cada instância deixa no máximo um bloco parcialmente usado por dia.
+			assertThat(contadorRepository.findById(dia).orElseThrow().getProximo())
+					.isLessThanOrEqualTo(codigos.size() + 1 + instancias.size() * TAMANHO_BLOCO);
+		});
+	}
+
+	@Test
+	void sequenciaDeUmaInstanciaComecaEmUmECresce() {
+		CodigoReservaService instancia = new CodigoReservaService(contadorRepository, transactionManager, TAMANHO_BLOCO);
+		LocalDate dia = LocalDate.now();
+
+		List<Integer> codigos = IntStream.range(0, 2 * TAMANHO_BLOCO + 1)
+				.mapToObj(i -> instancia.proximoCodigo(dia))
+				.toList();
+
+		assertThat(codigos).containsExactlyElementsOf(IntStream.rangeClosed(1, 2 * TAMANHO_BLOCO + 1).boxed().toList());
+		assertThat(contadorRepository.findById(dia).orElseThrow().getProximo()).isEqualTo(3 * TAMANHO_BLOCO + 1);
+	}
+}
@@ -0,0 +1,86 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CombinacaoMesasServiceTest {
+
+	private static final LocalDateTime NOITE = LocalDate.now().plusDays(1).atTime(19, 0);
+
+	@Test
+	void escolheAMenorSobraEDepoisAMenorQuantidadeDeMesas() {
+		List<Mesa> livres = List.of(mesa(1, 6, "Salão"), mesa(2, 4, "Salão"), mesa(3, 4, "Salão"),
+				mesa(4, 2, "Salão"), mesa(5, 2, "Salão"));
+
+		// 8 pessoas: 6+2 e 4+4 não deixam sobra; 6+4 deixaria 2 lugares vazios.
+		assertThat(CombinacaoMesasService.combinar(livres, 8, 4, 100_000).melhorCombinacao())
+				.extracting(Mesa::getCapacidade).containsExactly(6, 2);
+		// Cabe em uma mesa: nenhuma união.
+		assertThat(CombinacaoMesasService.combinar(livres, 5, 4, 100_000).melhorCombinacao())
+				.extracting(Mesa::getNumeroMesa).containsExactly(1);
+		// Acima do limite de mesas por combinação (6+4+4 = 14 < 15): sem solução.
+		assertThat(CombinacaoMesasService.combinar(livres, 15, 3, 100_000).melhorCombinacao()).isNull();
+	}
+
+	@Test
+	void uneApenasMesasLivresDaMesmaZona() {
+		List<Mesa> mesas = List.of(mesa(1, 4, "Salão"), mesa(2, 4, "Salão"), mesa(3, 6, "Varanda"),
+				mesa(4, 6, "Varanda"), mesa(5, 10, null));
+		ReservaRepository reservaRepository = mock(ReservaRepository.class);
+		MesaRepository mesaRepository = mock(MesaRepository.class);
+		when(mesaRepository.findAll()).thenReturn(mesas);
+		when(reservaRepository.findIntervalosTerminandoApos(any())).thenReturn(List.of(
+				new IntervaloReserva(1L, 3L, NOITE.minusHours(1), NOITE.plusHours(1))));
+		DisponibilidadeService disponibilidadeService = new DisponibilidadeService(reservaRepository, mesaRepository);
+		disponibilidadeService.aquecer();
+		CombinacaoMesasService combinacao = new CombinacaoMesasService(disponibilidadeService, 4, 100_000);
+
+		// A mesa 5 (sem zona) não é unida; a Varanda tem só uma mesa livre às 19h.
+		assertThat(combinacao.buscarCombinacao(NOITE, NOITE.plusHours(2), 8, null).orElseThrow())
+				.extracting(Mesa::getNumeroMesa).containsExactlyInAnyOrder(1, 2);
+		assertThat(combinacao.buscarCombinacao(NOITE, NOITE.plusHours(2), 8, "varanda")).isEmpty();
+		assertThat(combinacao.buscarCombinacao(NOITE.plusHours(1), NOITE.plusHours(3), 12, "Varanda").orElseThrow())
+				.extracting(Mesa::getNumeroMesa).containsExactlyInAnyOrder(3, 4);
+	}
+
+	@Test
+	void buscaLimitadaComCentenasDeMesas() {
+		Random aleatorio = new Random(42);
+		List<Mesa> livres = new ArrayList<>();
+		int[] capacidades = {2, 4, 6, 8};
+		for (int i = 1; i <= 400; i++) {
+			livres.add(mesa(i, capacidades[aleatorio.nextInt(capacidades.length)] + aleatorio.nextInt(2), "Salão"));
+		}
+
+		long inicio = System.nanoTime();
+		CombinacaoMesasService.Busca busca = CombinacaoMesasService.combinar(livres, 27, 4, 100_000);
+		long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+		assertThat(busca.melhorCombinacao().stream().mapToInt(Mesa::getCapacidade).sum()).isEqualTo(27);
+		assertThat(busca.nosVisitados()).isLessThanOrEqualTo(100_000);
+		assertThat(duracaoMs).isLessThan(200);
+	}
+
+	private static Mesa mesa(int numero, int capacidade, String zona) {
+		Mesa mesa = new Mesa();
+		mesa.setId((long) numero);
+		mesa.setNumeroMesa(numero);
+		mesa.setCapacidade(capacidade);
+		mesa.setZona(zona);
+		return mesa;
+	}
+}
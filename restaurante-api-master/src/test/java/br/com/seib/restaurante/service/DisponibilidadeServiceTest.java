@@ -0,0 +1,97 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.AlternativasReservaDTO;
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DisponibilidadeServiceTest {
+
+	private static final LocalDateTime AMANHA = LocalDate.now().plusDays(1).atStartOfDay();
+	private static final LocalDateTime ANTEONTEM = LocalDate.now().minusDays(2).atStartOfDay();
+
+	private final ReservaRepository reservaRepository = mock(ReservaRepository.class);
+	private final MesaRepository mesaRepository = mock(MesaRepository.class);
+	private DisponibilidadeService disponibilidadeService;
+
+	@BeforeEach
+	void setUp() {
+		when(mesaRepository.findAll()).thenReturn(List.of(mesa(1, 4), mesa(2, 2), mesa(3, 6), mesa(4, 4)));
+		disponibilidadeService = new DisponibilidadeService(reservaRepository, mesaRepository);
+	}
+
+	@Test
+	void sugereHorariosProximosNaMesmaMesaEMesasLivresNoHorario() {
+		when(reservaRepository.findIntervalosTerminandoApos(any())).thenReturn(ocupacaoDoDia(AMANHA));
+		disponibilidadeService.aquecer();
+
+		AlternativasReservaDTO alternativas = disponibilidadeService.sugerirAlternativas(1L,
+				AMANHA.plusHours(19), AMANHA.plusHours(21), 3, 3);
+
+		// Mesa 1 livre até 16h (18h-20h ocupada) e a partir de 22h15 (20h10-22h10 ocupada).
+		// 16h está a 3h do pedido; 22h15 e 15h45 a 3h15 (empate: o posterior primeiro).
+		assertThat(alternativas.getHorariosLivres()).containsExactly(
+				AMANHA.plusHours(15).plusMinutes(45), AMANHA.plusHours(16), AMANHA.plusHours(22).plusMinutes(15));
+		// Mesa 2 pequena demais; mesa 4 ocupada às 19h30.
+		assertThat(alternativas.getMesasLivres()).extracting(Mesa::getNumeroMesa).containsExactly(3);
+	}
+
+	@Test
+	void diaAnteriorAoHorizonteUsaUmaConsultaAoBanco() {
+		when(reservaRepository.findIntervalosTerminandoApos(any())).thenReturn(List.of());
+		when(reservaRepository.findIntervalosConflitantes(anyCollection(), any(), any()))
+				.thenReturn(ocupacaoDoDia(ANTEONTEM));
+		disponibilidadeService.aquecer();
+
+		AlternativasReservaDTO alternativas = disponibilidadeService.sugerirAlternativas(1L,
+				ANTEONTEM.plusHours(19), ANTEONTEM.plusHours(21), 3, 3);
+
+		// Dia já passado: nenhum horário a partir de agora; as mesas vêm da mesma leitura.
+		assertThat(alternativas.getHorariosLivres()).isEmpty();
+		assertThat(alternativas.getMesasLivres()).extracting(Mesa::getNumeroMesa).containsExactly(3);
+	}
+
+	@Test
+	void primeiroRegistroDoDiaDescartaAsReservasDosDiasAnteriores() {
+		when(reservaRepository.findIntervalosTerminandoApos(any())).thenReturn(ocupacaoDoDia(AMANHA));
+		disponibilidadeService.aquecer();
+		LocalDateTime depoisDeAmanha = AMANHA.plusDays(1);
+
+		// Sem arquivamento agendado: a virada do dia é percebida no registro seguinte.
+		disponibilidadeService.registrar(new IntervaloReserva(4L, 2L, depoisDeAmanha.plusHours(19),
+				depoisDeAmanha.plusHours(21)), depoisDeAmanha.toLocalDate());
+
+		assertThat(disponibilidadeService.cobre(AMANHA.plusHours(19))).isFalse();
+		assertThat(disponibilidadeService.possuiConflito(1L, AMANHA.plusHours(19), AMANHA.plusHours(21))).isFalse();
+		assertThat(disponibilidadeService.possuiConflito(2L, depoisDeAmanha.plusHours(20),
+				depoisDeAmanha.plusHours(22))).isTrue();
+	}
+
+	private static List<IntervaloReserva> ocupacaoDoDia(LocalDateTime dia) {
+		return List.of(
+				new IntervaloReserva(1L, 1L, dia.plusHours(18), dia.plusHours(20)),
+				new IntervaloReserva(2L, 1L, dia.plusHours(20).plusMinutes(10), dia.plusHours(22).plusMinutes(10)),
+				new IntervaloReserva(3L, 4L, dia.plusHours(19).plusMinutes(30), dia.plusHours(21).plusMinutes(30)));
+	}
+
+	private static Mesa mesa(int numero, int capacidade) {
+		Mesa mesa = new Mesa();
+		mesa.setId((long) numero);
+		mesa.setNumeroMesa(numero);
+		mesa.setCapacidade(capacidade);
+		return mesa;
+	}
+}
@@ -0,0 +1,70 @@
+package br.com.seib.restaurante.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Máscaras de bits do GradeHorarios nas bordas: virada do dia, troca de palavra (slot 63 -> 64)
+ * e horários exatamente no limite de uma faixa.
+ */
+class GradeHorariosTest {
+
+	private static final LocalDateTime DIA = LocalDate.now().plusDays(1).atStartOfDay();
+
+	private final GradeHorarios grade = new GradeHorarios();
+
+	@Test
+	void intervaloQueAtravessaAMeiaNoiteMarcaOsDoisDias() {
+		grade.marcar(DIA.plusHours(23), DIA.plusDays(1).plusHours(1));
+
+		// Último slot do dia (95, bit 31 da segunda palavra) e primeiros do dia seguinte.
+		assertThat(grade.livre(DIA.plusHours(23).plusMinutes(45), DIA.plusDays(1))).isFalse();
+		assertThat(grade.livre(DIA.plusDays(1).plusMinutes(30), DIA.plusDays(1).plusMinutes(45))).isFalse();
+		assertThat(grade.livre(DIA.plusHours(22), DIA.plusHours(23))).isTrue();
+		assertThat(grade.livre(DIA.plusDays(1).plusHours(1), DIA.plusDays(1).plusHours(2))).isTrue();
+	}
+
+	@Test
+	void intervaloQueAtravessaAsDuasPalavrasDoDia() {
+		// Slots 62 a 65: 15h30 a 16h30 (o slot 64, 16h, é o primeiro bit da segunda palavra).
+		grade.marcar(DIA.plusHours(15).plusMinutes(30), DIA.plusHours(16).plusMinutes(30));
+
+		assertThat(grade.livre(DIA.plusHours(15).plusMinutes(45), DIA.plusHours(16))).isFalse();
+		assertThat(grade.livre(DIA.plusHours(16), DIA.plusHours(16).plusMinutes(15))).isFalse();
+		assertThat(grade.livre(DIA.plusHours(15).plusMinutes(15), DIA.plusHours(15).plusMinutes(30))).isTrue();
+		assertThat(grade.livre(DIA.plusHours(16).plusMinutes(30), DIA.plusHours(16).plusMinutes(45))).isTrue();
+	}
+
+	@Test
+	void slot63NaoMarcaOSlot64() {
+		grade.marcar(DIA.plusHours(15).plusMinutes(45), DIA.plusHours(16));
+
+		assertThat(grade.livre(DIA.plusHours(16), DIA.plusHours(16).plusMinutes(15))).isTrue();
+		assertThat(grade.livre(DIA.plusHours(15).plusMinutes(30), DIA.plusHours(15).plusMinutes(45))).isTrue();
+		assertThat(grade.livre(DIA.plusHours(15).plusMinutes(50), DIA.plusHours(16).plusMinutes(10))).isFalse();
+	}
+
+	@Test
+	void fimNoLimiteDaFaixaNaoOcupaAFaixaSeguinte() {
+		grade.marcar(DIA.plusHours(19), DIA.plusHours(21));
+
+		assertThat(grade.livre(DIA.plusHours(21), DIA.plusHours(23))).isTrue();
+		assertThat(grade.livre(DIA.plusHours(17), DIA.plusHours(19))).isTrue();
+		assertThat(grade.livre(DIA.plusHours(20).plusMinutes(45), DIA.plusHours(21))).isFalse();
+	}
+
+	@Test
+	void horariosForaDoLimiteArredondamParaFora() {
+		grade.marcar(DIA.plusHours(19).plusMinutes(10), DIA.plusHours(21).plusMinutes(5));
+
+		// Superconjunto: 19h00-19h15 e 21h00-21h15 ficam marcadas inteiras.
+		assertThat(grade.livre(DIA.plusHours(19), DIA.plusHours(19).plusMinutes(5))).isFalse();
+		assertThat(grade.livre(DIA.plusHours(21).plusMinutes(10), DIA.plusHours(21).plusMinutes(15))).isFalse();
+		assertThat(grade.livre(DIA.plusHours(21).plusMinutes(15), DIA.plusHours(22))).isTrue();
+		assertThat(grade.livre(DIA.plusHours(18).plusMinutes(45), DIA.plusHours(19))).isTrue();
+	}
+}
@@ -0,0 +1,42 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashSenhaServiceTest {
+
+	// 1 thread e 1 posição na fila: o terceiro pedido simultâneo é recusado.
+	private final HashSenhaService hashSenhaService = new HashSenhaService(12, 1, 1, new SimpleMeterRegistry());
+
+	@AfterEach
+	void tearDown() {
+		hashSenhaService.encerrar();
+	}
+
+	@Test
+	void geraHashBcryptComOCustoConfigurado() {
+		String hash = hashSenhaService.gerarHash("senhaforte123");
+
+		assertThat(hash).startsWith("$2a$12$");
+		assertThat(BCrypt.checkpw("senhaforte123", hash)).isTrue();
+	}
+
+	@Test
+	void recusaComFilaCheiaEmVezDeAcumularEspera() {
+		CompletableFuture<String> emExecucao = hashSenhaService.gerarHashAsync("a");
+		CompletableFuture<String> naFila = hashSenhaService.gerarHashAsync("b");
+
+		assertThatThrownBy(() -> hashSenhaService.gerarHash("c"))
+				.isInstanceOf(ServicoSobrecarregadoException.class);
+		assertThat(emExecucao.join()).isNotBlank();
+		assertThat(naFila.join()).isNotBlank();
+	}
+}
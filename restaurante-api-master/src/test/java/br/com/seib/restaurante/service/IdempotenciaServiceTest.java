@@ -0,0 +1,105 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.exception.ChaveIdempotenciaException;
+import br.com.seib.restaurante.exception.RequisicaoEmAndamentoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotenciaServiceTest {
+
+	private final SimpleMeterRegistry metricas = new SimpleMeterRegistry();
+	private final IdempotenciaService idempotenciaService =
+			new IdempotenciaService(1000, Duration.ofMinutes(5), Duration.ofSeconds(5), metricas);
+
+	@Test
+	void repeticaoRecebeOResultadoOriginalSemExecutarDeNovo() {
+		AtomicInteger execucoes = new AtomicInteger();
+
+		String primeira = idempotenciaService.executar("chave-1", "corpo", () -> "reserva " + execucoes.incrementAndGet());
+		String repetida = idempotenciaService.executar("chave-1", "corpo", () -> "reserva " + execucoes.incrementAndGet());
+
+		assertThat(repetida).isEqualTo(primeira).isEqualTo("reserva 1");
+		assertThat(execucoes).hasValue(1);
+		assertThatThrownBy(() -> idempotenciaService.executar("chave-1", "outro corpo", () -> "reserva 2"))
+				.isInstanceOf(ChaveIdempotenciaException.class);
+
+		// Com recordStats, o cache publica mais que o tamanho (ex.: remoções).
+		assertThat(metricas.find("cache.evictions").tag("cache", "idempotencia").functionCounter()).isNotNull();
+	}
+
+	@Test
+	void repeticaoEmAndamentoAguardaAPrimeira() throws Exception {
+		CountDownLatch emExecucao = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		AtomicInteger execucoes = new AtomicInteger();
+
+		CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() ->
+				idempotenciaService.executar("chave-2", "corpo", () -> {
+					execucoes.incrementAndGet();
+					emExecucao.countDown();
+					aguardar(liberar);
+					return "reserva";
+				}));
+		assertThat(emExecucao.await(5, TimeUnit.SECONDS)).isTrue();
+
+		CompletableFuture<String> repetida = CompletableFuture.supplyAsync(() ->
+				idempotenciaService.executar("chave-2", "corpo", () -> "executada de novo"));
+		Thread.sleep(100);
+		assertThat(repetida).isNotDone();
+
+		liberar.countDown();
+		assertThat(repetida.get(5, TimeUnit.SECONDS)).isEqualTo(primeira.get(5, TimeUnit.SECONDS)).isEqualTo("reserva");
+		assertThat(execucoes).hasValue(1);
+	}
+
+	@Test
+	void repeticaoDesisteAposAEsperaMaximaSemInterromperAPrimeira() throws Exception {
+		IdempotenciaService servico =
+				new IdempotenciaService(1000, Duration.ofMinutes(5), Duration.ofMillis(100), new SimpleMeterRegistry());
+		CountDownLatch emExecucao = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+
+		CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() ->
+				servico.executar("chave-4", "corpo", () -> {
+					emExecucao.countDown();
+					aguardar(liberar);
+					return "reserva";
+				}));
+		assertThat(emExecucao.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> servico.executar("chave-4", "corpo", () -> "executada de novo"))
+				.isInstanceOfSatisfying(RequisicaoEmAndamentoException.class,
+						e -> assertThat(e.getTenteNovamenteEm()).isEqualTo(Duration.ofMillis(100)));
+
+		// A original conclui normalmente e a nova tentativa recebe o seu resultado.
+		liberar.countDown();
+		assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo("reserva");
+		assertThat(servico.executar("chave-4", "corpo", () -> "executada de novo")).isEqualTo("reserva");
+	}
+
+	@Test
+	void falhaLiberaAChaveParaUmaNovaTentativa() {
+		assertThatThrownBy(() -> idempotenciaService.executar("chave-3", "corpo", () -> {
+			throw new RuntimeException("Horário indisponível.");
+		})).hasMessage("Horário indisponível.");
+
+		assertThat(idempotenciaService.executar("chave-3", "corpo", () -> "reserva")).isEqualTo("reserva");
+	}
+
+	private static void aguardar(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
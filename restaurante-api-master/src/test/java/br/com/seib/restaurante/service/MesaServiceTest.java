@@ -0,0 +1,75 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.PaginaCursorDTO;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listagem de mesas no H2: páginas por cursor (keyset sobre o ID) e leitura em streaming.
+ */
+@DataJpaTest
+class MesaServiceTest {
+
+	@Autowired
+	private MesaRepository mesaRepository;
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private MesaService mesaService;
+	private final List<Long> ids = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		for (int numero = 1; numero <= 5; numero++) {
+			Mesa mesa = new Mesa();
+			mesa.setNumeroMesa(numero);
+			mesa.setCapacidade(4);
+			ids.add(mesaRepository.save(mesa).getId());
+		}
+		mesaService = new MesaService(mesaRepository, new DisponibilidadeService(reservaRepository, mesaRepository),
+				entityManager, transactionManager);
+	}
+
+	@Test
+	void paginasPorCursorSeguemOIdSemRepetirMesas() {
+		PaginaCursorDTO<Mesa> primeira = mesaService.buscarPagina(null, 2);
+		assertThat(primeira.getItens()).extracting(Mesa::getId).containsExactly(ids.get(0), ids.get(1));
+		assertThat(primeira.getProximoCursor()).isEqualTo(String.valueOf(ids.get(1)));
+
+		PaginaCursorDTO<Mesa> segunda = mesaService.buscarPagina(Long.valueOf(primeira.getProximoCursor()), 2);
+		assertThat(segunda.getItens()).extracting(Mesa::getId).containsExactly(ids.get(2), ids.get(3));
+		assertThat(segunda.getProximoCursor()).isEqualTo(String.valueOf(ids.get(3)));
+
+		// Última página incompleta: sem próximo cursor.
+		PaginaCursorDTO<Mesa> ultima = mesaService.buscarPagina(Long.valueOf(segunda.getProximoCursor()), 2);
+		assertThat(ultima.getItens()).extracting(Mesa::getId).containsExactly(ids.get(4));
+		assertThat(ultima.getProximoCursor()).isNull();
+	}
+
+	@Test
+	void percorreTodasAsMesasEmOrdemDeId() {
+		List<Long> lidas = new ArrayList<>();
+		mesaService.percorrerTodas(mesa -> lidas.add(mesa.getId()));
+
+		assertThat(lidas).containsExactlyElementsOf(ids);
+	}
+}
@@ -0,0 +1,111 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.OcupacaoMesaDTO;
+import br.com.seib.restaurante.dto.RelatorioOcupacaoDTO;
+import br.com.seib.restaurante.dto.ReservaOcupacao;
+import br.com.seib.restaurante.event.ReservaCriadaEvent;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaArquivadaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OcupacaoServiceTest {
+
+	private static final LocalDateTime DIA = LocalDate.of(2025, 11, 17).atStartOfDay();
+
+	private final ReservaRepository reservaRepository = mock(ReservaRepository.class);
+	private final ReservaArquivadaRepository arquivoRepository = mock(ReservaArquivadaRepository.class);
+	private final Mesa mesa = new Mesa();
+	private OcupacaoService ocupacaoService;
+
+	@BeforeEach
+	void setUp() {
+		mesa.setId(1L);
+		mesa.setNumeroMesa(10);
+		mesa.setCapacidade(4);
+
+		MesaRepository mesaRepository = mock(MesaRepository.class);
+		when(mesaRepository.findAll()).thenReturn(List.of(mesa));
+		DisponibilidadeService disponibilidadeService = new DisponibilidadeService(reservaRepository, mesaRepository);
+		disponibilidadeService.aquecer();
+
+		ocupacaoService = new OcupacaoService(reservaRepository, arquivoRepository, disponibilidadeService,
+				mock(PlatformTransactionManager.class));
+	}
+
+	@Test
+	void agregaReservasPorMesaEFaixaHoraria() {
+		// 23h-01h (atravessa a meia-noite) e, no dia seguinte, 19h30-21h30.
+		ocupacaoService.aoCriarReserva(evento(1L, DIA.plusHours(23), 3));
+		ocupacaoService.aoCriarReserva(evento(2L, DIA.plusDays(1).plusHours(19).plusMinutes(30), 2));
+
+		RelatorioOcupacaoDTO relatorio = ocupacaoService.gerarRelatorio();
+		OcupacaoMesaDTO linha = relatorio.getMesas().get(0);
+
+		assertThat(relatorio.getPrimeiroDia()).isEqualTo(DIA.toLocalDate());
+		assertThat(relatorio.getUltimoDia()).isEqualTo(DIA.toLocalDate().plusDays(1));
+		assertThat(linha.getTotalReservas()).isEqualTo(2);
+		assertThat(linha.getTotalPessoas()).isEqualTo(5);
+		// Dois dias observados: 60 min ocupados em uma faixa = 50%.
+		assertThat(linha.getOcupacaoPorHora().get(23)).isEqualTo(0.5);
+		assertThat(linha.getOcupacaoPorHora().get(0)).isEqualTo(0.5);
+		assertThat(linha.getOcupacaoPorHora().get(19)).isEqualTo(0.25);
+		assertThat(linha.getOcupacaoPorHora().get(20)).isEqualTo(0.5);
+		assertThat(linha.getOcupacaoPorHora().get(21)).isEqualTo(0.25);
+		assertThat(linha.getOcupacaoPorHora().get(12)).isZero();
+	}
+
+	@Test
+	void reconstrucaoReconciliaSemPerderNemDuplicarEventosConcorrentes() {
+		// Reserva que não existe na tabela base: some após a reconstrução.
+		ocupacaoService.aoCriarReserva(evento(99L, DIA.plusHours(12), 4));
+
+		ReservaOcupacao primeira = ocupacao(1L, DIA.plusHours(19));
+		ReservaOcupacao segunda = ocupacao(2L, DIA.plusHours(21));
+		when(reservaRepository.streamOcupacao()).thenReturn(Stream.of(primeira, segunda).peek(lida -> {
+			if (lida == primeira) {
+				// Durante a leitura: um evento de reserva que a leitura ainda vai encontrar (2)
+				// e um de reserva criada depois do início da leitura (3).
+				ocupacaoService.aoCriarReserva(evento(2L, DIA.plusHours(21), 2));
+				ocupacaoService.aoCriarReserva(evento(3L, DIA.plusHours(17), 2));
+			}
+		}));
+		// Arquivo: uma reserva antiga (4) e a 2, arquivada entre as duas leituras (contada uma vez).
+		when(arquivoRepository.streamOcupacao()).thenReturn(Stream.of(ocupacao(4L, DIA.minusDays(1).plusHours(20)),
+				segunda));
+
+		OcupacaoMesaDTO linha = ocupacaoService.reconstruir().getMesas().get(0);
+
+		assertThat(linha.getTotalReservas()).isEqualTo(4);
+		assertThat(linha.getTotalPessoas()).isEqualTo(8);
+		assertThat(linha.getOcupacaoPorHora().get(12)).isZero();
+		assertThat(ocupacaoService.gerarRelatorio().getMesas().get(0).getTotalReservas()).isEqualTo(4);
+	}
+
+	private ReservaCriadaEvent evento(Long id, LocalDateTime inicio, int pessoas) {
+		Reserva reserva = new Reserva();
+		reserva.setId(id);
+		reserva.setMesa(mesa);
+		reserva.setDataHoraInicio(inicio);
+		reserva.setDataHoraFim(inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS));
+		reserva.setNumeroPessoas(pessoas);
+		return new ReservaCriadaEvent(reserva);
+	}
+
+	private static ReservaOcupacao ocupacao(Long id, LocalDateTime inicio) {
+		return new ReservaOcupacao(id, 1L, inicio, inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS), 2);
+	}
+}
@@ -0,0 +1,85 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.event.ReservaCriadaEvent;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PainelReservasServiceTest {
+
+	private final ReservaRepository reservaRepository = mock(ReservaRepository.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CountDownLatch liberarSnapshot = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		liberarSnapshot.countDown();
+	}
+
+	@Test
+	void assinanteLentoEDesconectadoSemBloquearQuemPublica() throws Exception {
+		// Snapshot travado: o assinante não consome a fila (capacidade 2).
+		when(reservaRepository.findPainelEntre(any(), any())).thenAnswer(invocacao -> {
+			liberarSnapshot.await();
+			return List.of();
+		});
+		PainelReservasService painel = new PainelReservasService(reservaRepository, meterRegistry, Duration.ofMinutes(1), 2);
+		painel.assinar();
+
+		for (long id = 1; id <= 3; id++) {
+			painel.aoCriarReserva(evento(id, LocalDate.now().atTime(20, 0)));
+		}
+
+		assertThat(meterRegistry.get("restaurante.painel.descartados").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("restaurante.painel.assinantes").gauge().value()).isZero();
+	}
+
+	@Test
+	void ignoraReservasDeOutrosDias() {
+		when(reservaRepository.findPainelEntre(any(), any())).thenAnswer(invocacao -> {
+			liberarSnapshot.await();
+			return List.of();
+		});
+		PainelReservasService painel = new PainelReservasService(reservaRepository, meterRegistry, Duration.ofMinutes(1), 1);
+		painel.assinar();
+
+		for (long id = 1; id <= 3; id++) {
+			painel.aoCriarReserva(evento(id, LocalDate.now().plusDays(1).atTime(20, 0)));
+		}
+
+		assertThat(meterRegistry.get("restaurante.painel.descartados").counter().count()).isZero();
+		assertThat(meterRegistry.get("restaurante.painel.assinantes").gauge().value()).isEqualTo(1);
+	}
+
+	private static ReservaCriadaEvent evento(Long id, LocalDateTime inicio) {
+		Usuario usuario = new Usuario();
+		usuario.setNome("Cliente " + id);
+		usuario.setEmail("cliente" + id + "@email.com");
+		Mesa mesa = new Mesa();
+		mesa.setNumeroMesa(10);
+
+		Reserva reserva = new Reserva();
+		reserva.setId(id);
+		reserva.setUsuario(usuario);
+		reserva.setMesa(mesa);
+		reserva.setDataHoraInicio(inicio);
+		reserva.setDataHoraFim(inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS));
+		reserva.setNumeroPessoas(2);
+		return new ReservaCriadaEvent(reserva);
+	}
+}
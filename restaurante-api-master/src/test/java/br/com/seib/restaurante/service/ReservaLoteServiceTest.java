@@ -0,0 +1,180 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.dto.ReservaRequestDTO;
+import br.com.seib.restaurante.dto.ResultadoItemLoteDTO;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import br.com.seib.restaurante.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Importação em lote contra repositórios simulados: ordem dos resultados, rejeições
+ * (campos, capacidade, conflitos com o banco e dentro do próprio lote) e IDs gerados.
+ */
+class ReservaLoteServiceTest {
+
+	private static final LocalDateTime NOITE = LocalDate.now().plusDays(1).atTime(19, 0);
+
+	private final ReservaRepository reservaRepository = mock(ReservaRepository.class);
+	private final SimpleMeterRegistry metricas = new SimpleMeterRegistry();
+	private final AtomicLong sequencia = new AtomicLong(100);
+	private final List<Reserva> salvas = new ArrayList<>();
+	private ReservaLoteService reservaLoteService;
+
+	@BeforeEach
+	void setUp() {
+		Map<Long, Mesa> mesas = List.of(mesa(1, 4), mesa(2, 4), mesa(3, 2)).stream()
+				.collect(Collectors.toMap(Mesa::getId, Function.identity()));
+		Usuario usuario = new Usuario();
+		usuario.setId(1L);
+
+		UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+		when(usuarioRepository.findAllById(any())).thenAnswer(inv -> {
+			List<Usuario> encontrados = new ArrayList<>();
+			inv.<Iterable<Long>>getArgument(0).forEach(id -> {
+				if (id.equals(1L)) {
+					encontrados.add(usuario);
+				}
+			});
+			return encontrados;
+		});
+		MesaRepository mesaRepository = mock(MesaRepository.class);
+		when(mesaRepository.findAllByIdParaReserva(any())).thenAnswer(inv ->
+				inv.<Collection<Long>>getArgument(0).stream().map(mesas::get).toList());
+
+		// Já gravada no banco: mesa 2 das 18h às 20h.
+		when(reservaRepository.findIntervalosConflitantes(any(), any(), any()))
+				.thenReturn(List.of(new IntervaloReserva(1L, 2L, NOITE.minusHours(1), NOITE.plusHours(1))));
+		when(reservaRepository.saveAll(any())).thenAnswer(inv -> {
+			List<Reserva> reservas = new ArrayList<>(inv.<Collection<Reserva>>getArgument(0));
+			reservas.forEach(reserva -> reserva.setId(sequencia.incrementAndGet()));
+			salvas.addAll(reservas);
+			return reservas;
+		});
+
+		AtomicInteger codigos = new AtomicInteger();
+		CodigoReservaService codigoReservaService = mock(CodigoReservaService.class);
+		when(codigoReservaService.proximoCodigo(any())).thenAnswer(inv -> codigos.incrementAndGet());
+
+		reservaLoteService = new ReservaLoteService(reservaRepository, usuarioRepository, mesaRepository,
+				new DisponibilidadeService(reservaRepository, mesaRepository), codigoReservaService,
+				new TravasPorMesa(64), new TransactionTemplate(new TransacaoSimulada()), evento -> { }, 1000, metricas);
+	}
+
+	@Test
+	void resultadosSeguemAOrdemDaEntradaComOsIdsGerados() {
+		List<ResultadoItemLoteDTO> resultados = reservaLoteService.criarReservas(Arrays.asList(
+				requisicao(1L, 1L, NOITE, 2),
+				requisicao(1L, null, NOITE, 2),                  // sem mesa
+				requisicao(1L, 1L, NOITE.plusHours(1), 2),       // conflita com o item 0
+				requisicao(1L, 2L, NOITE, 2),                    // conflita com a reserva do banco
+				requisicao(1L, 3L, NOITE, 3),                    // acima da capacidade
+				requisicao(9L, 3L, NOITE, 2),                    // usuário inexistente
+				requisicao(1L, 3L, NOITE.plusHours(3), 2),
+				null));
+
+		assertThat(resultados).extracting(ResultadoItemLoteDTO::getIndice).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+		assertThat(resultados).extracting(ResultadoItemLoteDTO::getStatus).containsExactly(
+				ResultadoItemLoteDTO.CRIADO, ResultadoItemLoteDTO.REJEITADO, ResultadoItemLoteDTO.REJEITADO,
+				ResultadoItemLoteDTO.REJEITADO, ResultadoItemLoteDTO.REJEITADO, ResultadoItemLoteDTO.REJEITADO,
+				ResultadoItemLoteDTO.CRIADO, ResultadoItemLoteDTO.REJEITADO);
+		assertThat(resultados.get(1).getMotivo()).isEqualTo("Campos obrigatórios ausentes.");
+		assertThat(resultados.get(2).getMotivo()).isEqualTo(ReservaService.MENSAGEM_CONFLITO);
+		assertThat(resultados.get(3).getMotivo()).isEqualTo(ReservaService.MENSAGEM_CONFLITO);
+		assertThat(resultados.get(4).getMotivo()).contains("excede a capacidade");
+		assertThat(resultados.get(5).getMotivo()).isEqualTo("Usuário não encontrado!");
+		assertThat(resultados.get(7).getMotivo()).isEqualTo("Campos obrigatórios ausentes.");
+
+		// Cada ID devolvido é o da reserva gravada para aquele item.
+		assertThat(salvas).extracting(reserva -> reserva.getMesa().getId(), Reserva::getDataHoraInicio)
+				.containsExactly(tuple(1L, NOITE), tuple(3L, NOITE.plusHours(3)));
+		assertThat(resultados.get(0).getId()).isEqualTo(salvas.get(0).getId());
+		assertThat(resultados.get(6).getId()).isEqualTo(salvas.get(1).getId());
+		assertThat(salvas).extracting(Reserva::getCodigo).doesNotHaveDuplicates().doesNotContainNull();
+
+		assertThat(rejeicoes("conflito")).isEqualTo(2);
+		assertThat(rejeicoes("capacidade")).isEqualTo(1);
+	}
+
+	@Test
+	void loteDesfeitoNaoContaRejeicoes() {
+		doThrow(new RuntimeException("Falha na gravação.")).when(reservaRepository).saveAll(any());
+
+		assertThatThrownBy(() -> reservaLoteService.criarReservas(List.of(
+				requisicao(1L, 1L, NOITE, 2),
+				requisicao(1L, 1L, NOITE.plusHours(1), 2),
+				requisicao(1L, 3L, NOITE, 3)))).hasMessage("Falha na gravação.");
+
+		assertThat(rejeicoes("conflito")).isZero();
+		assertThat(rejeicoes("capacidade")).isZero();
+	}
+
+	private double rejeicoes(String motivo) {
+		return metricas.counter(ReservaService.METRICA_REJEICOES, "motivo", motivo).count();
+	}
+
+	private static ReservaRequestDTO requisicao(Long usuarioId, Long mesaId, LocalDateTime inicio, int pessoas) {
+		ReservaRequestDTO dto = new ReservaRequestDTO();
+		dto.setUsuarioId(usuarioId);
+		dto.setMesaId(mesaId);
+		dto.setDataHoraInicio(inicio);
+		dto.setNumeroPessoas(pessoas);
+		return dto;
+	}
+
+	private static Mesa mesa(int numero, int capacidade) {
+		Mesa mesa = new Mesa();
+		mesa.setId((long) numero);
+		mesa.setNumeroMesa(numero);
+		mesa.setCapacidade(capacidade);
+		return mesa;
+	}
+
+	// Gerenciador de transação sem recursos: commit e rollback não fazem nada.
+	private static class TransacaoSimulada implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
@@ -0,0 +1,385 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.AlternativasReservaDTO;
+import br.com.seib.restaurante.dto.IntervaloReserva;
+import br.com.seib.restaurante.dto.ReservaCombinadaRequestDTO;
+import br.com.seib.restaurante.dto.ReservaRequestDTO;
+import br.com.seib.restaurante.exception.ConflitoReservaException;
+import br.com.seib.restaurante.model.ContadorCodigoReserva;
+import br.com.seib.restaurante.model.Mesa;
+import br.com.seib.restaurante.model.Reserva;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.ContadorCodigoReservaRepository;
+import br.com.seib.restaurante.repository.MesaRepository;
+import br.com.seib.restaurante.repository.ReservaRepository;
+import br.com.seib.restaurante.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Teste de estresse do caminho de reserva: várias threads disputando as mesmas mesas
+ * contra um "banco" em memória com latência simulada entre a checagem e a inserção.
+ * A comparação de vazão (tempo de relógio) tem a tag 'benchmark' e roda apenas com mvn test -Pbenchmark.
+ */
+class ReservaServiceConcorrenciaTest {
+
+	private static final int THREADS = 32;
+	private static final long LATENCIA_BANCO_MS = 1;
+	private static final LocalDateTime NOITE = LocalDate.now().plusDays(1).atTime(18, 0);
+
+	private final List<Reserva> tabelaReservas = new ArrayList<>();
+	private final AtomicLong sequencia = new AtomicLong();
+	private final MeterRegistry metricas = new SimpleMeterRegistry();
+	private List<Mesa> mesas;
+	private ReservaService reservaService;
+
+	@BeforeEach
+	void setUp() {
+		mesas = new ArrayList<>();
+		for (long id = 1; id <= 8; id++) {
+			Mesa mesa = new Mesa();
+			mesa.setId(id);
+			mesa.setNumeroMesa((int) id);
+			mesa.setCapacidade(4);
+			mesa.setZona(id <= 4 ? "Salão" : "Varanda");
+			mesas.add(mesa);
+		}
+		Map<Long, Mesa> mesasPorId = mesas.stream().collect(Collectors.toMap(Mesa::getId, m -> m));
+
+		Usuario usuario = new Usuario();
+		usuario.setId(1L);
+
+		UsuarioRepository usuarioRepository = mock(UsuarioRepository.class, withSettings().stubOnly());
+		when(usuarioRepository.findById(anyLong())).thenReturn(Optional.of(usuario));
+
+		MesaRepository mesaRepository = mock(MesaRepository.class, withSettings().stubOnly());
+		when(mesaRepository.findAll()).thenReturn(mesas);
+		when(mesaRepository.findByIdParaReserva(anyLong()))
+				.thenAnswer(inv -> Optional.ofNullable(mesasPorId.get(inv.<Long>getArgument(0))));
+		when(mesaRepository.findAllByIdParaReserva(any()))
+				.thenAnswer(inv -> inv.<Collection<Long>>getArgument(0).stream().map(mesasPorId::get).toList());
+
+		// "Banco" sem isolamento: sem as travas da aplicação, a janela entre EXISTS e INSERT gera duplicatas.
+		ReservaRepository reservaRepository = mock(ReservaRepository.class, withSettings().stubOnly());
+		when(reservaRepository.findIntervalosTerminandoApos(any())).thenReturn(List.of());
+		when(reservaRepository.existeConflito(anyLong(), any(), any())).thenAnswer(inv -> {
+			Long mesaId = inv.getArgument(0);
+			LocalDateTime inicio = inv.getArgument(1);
+			LocalDateTime fim = inv.getArgument(2);
+			List<Reserva> copia;
+			synchronized (tabelaReservas) {
+				copia = List.copyOf(tabelaReservas);
+			}
+			Thread.sleep(LATENCIA_BANCO_MS);
+			return copia.stream().anyMatch(r -> r.getMesa().getId().equals(mesaId)
+					&& r.getDataHoraInicio().isBefore(fim) && r.getDataHoraFim().isAfter(inicio));
+		});
+		when(reservaRepository.findIntervalosConflitantes(any(), any(), any())).thenAnswer(inv -> {
+			Collection<Long> mesaIds = inv.getArgument(0);
+			LocalDateTime inicio = inv.getArgument(1);
+			LocalDateTime fim = inv.getArgument(2);
+			synchronized (tabelaReservas) {
+				return tabelaReservas.stream()
+						.filter(r -> mesaIds.contains(r.getMesa().getId())
+								&& r.getDataHoraInicio().isBefore(fim) && r.getDataHoraFim().isAfter(inicio))
+						.map(r -> new IntervaloReserva(r.getId(), r.getMesa().getId(), r.getDataHoraInicio(), r.getDataHoraFim()))
+						.toList();
+			}
+		});
+		when(reservaRepository.save(any(Reserva.class))).thenAnswer(inv -> {
+			Reserva reserva = inv.getArgument(0);
+			Thread.sleep(LATENCIA_BANCO_MS);
+			reserva.setId(sequencia.incrementAndGet());
+			synchronized (tabelaReservas) {
+				tabelaReservas.add(reserva);
+			}
+			return reserva;
+		});
+		when(reservaRepository.saveAll(any())).thenAnswer(inv -> {
+			List<Reserva> reservas = new ArrayList<>(inv.<Collection<Reserva>>getArgument(0));
+			Thread.sleep(LATENCIA_BANCO_MS);
+			synchronized (tabelaReservas) {
+				reservas.forEach(reserva -> {
+					reserva.setId(sequencia.incrementAndGet());
+					tabelaReservas.add(reserva);
+				});
+			}
+			return reservas;
+		});
+
+		DisponibilidadeService disponibilidadeService = new DisponibilidadeService(reservaRepository, mesaRepository);
+		disponibilidadeService.aquecer();
+
+		// Contadores de código em memória (a disputa pelo contador é testada em CodigoReservaServiceTest).
+		Map<LocalDate, ContadorCodigoReserva> contadores = new ConcurrentHashMap<>();
+		ContadorCodigoReservaRepository contadorRepository = mock(ContadorCodigoReservaRepository.class, withSettings().stubOnly());
+		when(contadorRepository.findParaAlocacao(any()))
+				.thenAnswer(inv -> Optional.ofNullable(contadores.get(inv.<LocalDate>getArgument(0))));
+		doAnswer(inv -> contadores.putIfAbsent(inv.getArgument(0), new ContadorCodigoReserva(inv.getArgument(0), 1)))
+				.when(contadorRepository).criar(any());
+		CodigoReservaService codigoReservaService =
+				new CodigoReservaService(contadorRepository, new TransacaoSimulada(), 20);
+
+		reservaService = new ReservaService(reservaRepository, usuarioRepository, mesaRepository,
+				disponibilidadeService, codigoReservaService,
+				new CombinacaoMesasService(disponibilidadeService, 4, 100_000), new TravasPorMesa(64),
+				new TransactionTemplate(new TransacaoSimulada()), evento -> { }, metricas);
+	}
+
+	@Test
+	void naoPermiteReservaDuplaSobDisputa() throws Exception {
+		int tentativas = 4000;
+		AtomicInteger aceitas = new AtomicInteger();
+		AtomicInteger rejeitadas = new AtomicInteger();
+
+		executarEmParalelo(tentativas, i -> {
+			ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+			// Início a cada 15 min entre 18h e 22h: reservas de 2h se sobrepõem intensamente.
+			ReservaRequestDTO dto = requisicao(1L + aleatorio.nextInt(mesas.size()),
+					NOITE.plusMinutes(15L * aleatorio.nextInt(17)));
+			try {
+				reservaService.criarReserva(dto);
+				aceitas.incrementAndGet();
+			} catch (ConflitoReservaException e) {
+				// Toda recusa é um conflito com alternativas (nunca a própria mesa).
+				assertThat(e.getAlternativas().getMesasLivres()).noneMatch(mesa -> mesa.getId().equals(dto.getMesaId()));
+				rejeitadas.incrementAndGet();
+			}
+		});
+
+		assertThat(aceitas.get()).isEqualTo(tabelaReservas.size()).isPositive();
+		assertThat(aceitas.get() + rejeitadas.get()).isEqualTo(tentativas);
+		assertThat(reservasSobrepostas()).isEmpty();
+		assertThat(tabelaReservas).extracting(Reserva::getCodigo).doesNotHaveDuplicates().doesNotContainNull();
+		assertThat(metricas.counter(ReservaService.METRICA_REJEICOES, "motivo", "conflito").count())
+				.isEqualTo(rejeitadas.get());
+	}
+
+	@Test
+	void reservasSemConflitoSaoTodasGravadasComCodigosDistintos() throws Exception {
+		int reservas = 400;
+
+		// Todas na mesma mesa e espalhadas entre as 8 mesas, em paralelo.
+		executarEmParalelo(reservas, i -> reservaService.criarReserva(requisicao(1L, NOITE.plusHours(2L * i))));
+		executarEmParalelo(reservas, i -> reservaService.criarReserva(requisicao(1L + i % mesas.size(),
+				NOITE.plusDays(1000).plusHours(2L * (i / mesas.size())))));
+
+		assertThat(tabelaReservas).hasSize(2 * reservas);
+		assertThat(reservasSobrepostas()).isEmpty();
+		// O código é sequencial por dia da reserva.
+		assertThat(tabelaReservas).extracting(Reserva::getCodigo).doesNotContainNull();
+		assertThat(tabelaReservas).extracting(r -> r.getDataHoraInicio().toLocalDate(), Reserva::getCodigo)
+				.doesNotHaveDuplicates();
+	}
+
+	@Test
+	@Tag("benchmark")
+	void reservasDeMesasDiferentesSeguemEmParalelo() throws Exception {
+		int reservas = 400;
+
+		// Mesmo volume de reservas sem conflito: todas na mesma mesa x espalhadas entre as 8 mesas.
+		long umaMesa = executarEmParalelo(reservas,
+				i -> reservaService.criarReserva(requisicao(1L, NOITE.plusHours(2L * i))));
+		long variasMesas = executarEmParalelo(reservas,
+				i -> reservaService.criarReserva(requisicao(1L + i % mesas.size(),
+						NOITE.plusDays(1000).plusHours(2L * (i / mesas.size())))));
+
+		assertThat(tabelaReservas).hasSize(2 * reservas);
+		assertThat(reservasSobrepostas()).isEmpty();
+		assertThat(variasMesas * 2).isLessThan(umaMesa);
+
+		System.out.printf("Vazão: 1 mesa = %.0f req/s, %d mesas = %.0f req/s%n",
+				reservas * 1000.0 / umaMesa, mesas.size(), reservas * 1000.0 / variasMesas);
+	}
+
+	@Test
+	void gruposGrandesOcupamMesasUnidasSemReservaDupla() throws Exception {
+		int tentativas = 1000;
+		AtomicInteger aceitas = new AtomicInteger();
+
+		// Grupos de 10 (três mesas de 4 da mesma zona) disputando os mesmos horários com reservas comuns.
+		executarEmParalelo(tentativas, i -> {
+			ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+			LocalDateTime inicio = NOITE.plusMinutes(30L * aleatorio.nextInt(9));
+			try {
+				if (i % 2 == 0) {
+					ReservaCombinadaRequestDTO dto = new ReservaCombinadaRequestDTO();
+					dto.setUsuarioId(1L);
+					dto.setDataHoraInicio(inicio);
+					dto.setNumeroPessoas(10);
+					assertThat(reservaService.criarReservaCombinada(dto)).hasSize(3);
+				} else {
+					reservaService.criarReserva(requisicao(1L + aleatorio.nextInt(mesas.size()), inicio));
+				}
+				aceitas.incrementAndGet();
+			} catch (RuntimeException e) {
+				// Sem combinação livre ou conflito: nada foi gravado.
+			}
+		});
+
+		assertThat(reservasSobrepostas()).isEmpty();
+		Map<Integer, List<Reserva>> porCodigo = tabelaReservas.stream().collect(Collectors.groupingBy(Reserva::getCodigo));
+		assertThat(porCodigo).hasSize(aceitas.get());
+		porCodigo.values().stream().filter(grupo -> grupo.size() > 1).forEach(grupo -> {
+			assertThat(grupo).hasSize(3);
+			assertThat(grupo).extracting(Reserva::getNumeroPessoas).containsExactly(4, 4, 2);
+			assertThat(grupo).extracting(r -> r.getMesa().getZona()).containsOnly(grupo.get(0).getMesa().getZona());
+		});
+	}
+
+	@Test
+	void grupoSemPessoasERecusadoSemReservarMesas() {
+		ReservaCombinadaRequestDTO dto = new ReservaCombinadaRequestDTO();
+		dto.setUsuarioId(1L);
+		dto.setDataHoraInicio(NOITE);
+
+		assertThatThrownBy(() -> reservaService.criarReservaCombinada(dto)).hasMessageContaining("inválido");
+		assertThat(tabelaReservas).isEmpty();
+	}
+
+	@Test
+	void conflitoGravadoPorOutraInstanciaNaoReapareceNasAlternativas() {
+		// Reservas gravadas direto no banco (outra instância): o índice em memória não as conhece.
+		reservaExterna(1L, NOITE.plusHours(1));
+		reservaExterna(2L, NOITE.plusHours(1));
+
+		ConflitoReservaException conflito = catchThrowableOfType(ConflitoReservaException.class,
+				() -> reservaService.criarReserva(requisicao(1L, NOITE.plusHours(1))));
+
+		AlternativasReservaDTO alternativas = conflito.getAlternativas();
+		assertThat(alternativas.getHorariosLivres()).isNotEmpty().allMatch(horario ->
+				!horario.isBefore(NOITE.plusHours(3)) || !horario.plusHours(ReservaService.DURACAO_RESERVA_HORAS).isAfter(NOITE.plusHours(1)));
+		assertThat(alternativas.getMesasLivres()).extracting(Mesa::getId).doesNotContain(1L, 2L).isNotEmpty();
+	}
+
+	@Test
+	void combinacaoComMesaOcupadaPorOutraInstanciaETentadaNovamenteSemEla() {
+		// Desconhecidas do índice: a mesa 1 e toda a Varanda (5 a 8) já reservadas no banco.
+		reservaExterna(1L, NOITE);
+		for (long mesaId = 5; mesaId <= 8; mesaId++) {
+			reservaExterna(mesaId, NOITE);
+		}
+		ReservaCombinadaRequestDTO dto = new ReservaCombinadaRequestDTO();
+		dto.setUsuarioId(1L);
+		dto.setDataHoraInicio(NOITE);
+		dto.setNumeroPessoas(10);
+
+		assertThat(reservaService.criarReservaCombinada(dto)).extracting(r -> r.getMesa().getId())
+				.containsExactlyInAnyOrder(2L, 3L, 4L);
+		assertThat(reservasSobrepostas()).isEmpty();
+	}
+
+	private void reservaExterna(Long mesaId, LocalDateTime inicio) {
+		Reserva reserva = new Reserva();
+		reserva.setId(sequencia.incrementAndGet());
+		reserva.setMesa(mesas.get((int) (mesaId - 1)));
+		reserva.setDataHoraInicio(inicio);
+		reserva.setDataHoraFim(inicio.plusHours(ReservaService.DURACAO_RESERVA_HORAS));
+		reserva.setNumeroPessoas(2);
+		tabelaReservas.add(reserva);
+	}
+
+	private long executarEmParalelo(int total, TarefaIndexada tarefa) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		AtomicInteger proxima = new AtomicInteger();
+		long inicio = System.nanoTime();
+		List<Future<?>> futuros = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			futuros.add(executor.submit(() -> {
+				for (int i = proxima.getAndIncrement(); i < total; i = proxima.getAndIncrement()) {
+					tarefa.executar(i);
+				}
+				return null;
+			}));
+		}
+		for (Future<?> futuro : futuros) {
+			futuro.get();
+		}
+		long duracao = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+		executor.shutdown();
+		return Math.max(duracao, 1);
+	}
+
+	private List<Reserva> reservasSobrepostas() {
+		List<Reserva> sobrepostas = new ArrayList<>();
+		tabelaReservas.stream()
+				.collect(Collectors.groupingBy(r -> r.getMesa().getId()))
+				.values()
+				.forEach(daMesa -> {
+					daMesa.sort(Comparator.comparing(Reserva::getDataHoraInicio));
+					for (int i = 1; i < daMesa.size(); i++) {
+						if (daMesa.get(i).getDataHoraInicio().isBefore(daMesa.get(i - 1).getDataHoraFim())) {
+							sobrepostas.add(daMesa.get(i));
+						}
+					}
+				});
+		return sobrepostas;
+	}
+
+	private static ReservaRequestDTO requisicao(Long mesaId, LocalDateTime inicio) {
+		ReservaRequestDTO dto = new ReservaRequestDTO();
+		dto.setUsuarioId(1L);
+		dto.setMesaId(mesaId);
+		dto.setDataHoraInicio(inicio);
+		dto.setNumeroPessoas(2);
+		return dto;
+	}
+
+	@FunctionalInterface
+	private interface TarefaIndexada {
+		void executar(int indice);
+	}
+
+	// Gerenciador de transação sem recursos: o isolamento vem apenas das travas da aplicação.
+	private static class TransacaoSimulada implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
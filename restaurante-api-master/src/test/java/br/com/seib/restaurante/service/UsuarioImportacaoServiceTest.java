@@ -0,0 +1,116 @@
+package br.com.seib.restaurante.service;
+
+import br.com.seib.restaurante.dto.ResultadoItemLoteDTO;
+import br.com.seib.restaurante.model.Usuario;
+import br.com.seib.restaurante.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Importação de usuários no H2, em blocos de 3 linhas: duplicados no arquivo e no banco,
+ * linhas inválidas e a ordem dos resultados.
+ */
+@DataJpaTest(properties = {"usuario.importacao.tamanho-bloco=3", "senha.hash.custo=4"})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({UsuarioService.class, UsuarioImportacaoService.class, HashSenhaService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada bloco confirma a sua própria transação.
+class UsuarioImportacaoServiceTest {
+
+	@Autowired
+	private UsuarioImportacaoService importacaoService;
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM usuarios");
+	}
+
+	@Test
+	void importaCsvRejeitandoDuplicadosELinhasInvalidas() {
+		usuarioService.cadastrarUsuario(new Usuario(null, "Existente", "existente@email.com", "senha", null));
+
+		List<ResultadoItemLoteDTO> resultados = importar(UsuarioImportacaoService.Formato.CSV, """
+				nome,email,senha
+				Ana,ana@email.com,senha,com,virgulas
+				Bruno,bruno@email.com,senha
+				Ana de Novo,ana@email.com,senha
+
+				Sem Senha,sem.senha@email.com
+				Existente,existente@email.com,senha
+				Carla,carla@email.com,senha
+				""");
+
+		assertThat(resultados).extracting(ResultadoItemLoteDTO::getIndice, ResultadoItemLoteDTO::getStatus)
+				.containsExactly(
+						tuple(0, ResultadoItemLoteDTO.CRIADO),
+						tuple(1, ResultadoItemLoteDTO.CRIADO),
+						tuple(2, ResultadoItemLoteDTO.REJEITADO),
+						tuple(3, ResultadoItemLoteDTO.REJEITADO),
+						tuple(4, ResultadoItemLoteDTO.REJEITADO),
+						tuple(5, ResultadoItemLoteDTO.CRIADO));
+		assertThat(resultados.get(2).getMotivo()).isEqualTo(UsuarioService.MENSAGEM_EMAIL_DUPLICADO);
+		assertThat(resultados.get(4).getMotivo()).isEqualTo(UsuarioService.MENSAGEM_EMAIL_DUPLICADO);
+
+		Usuario ana = usuarioRepository.findById(resultados.get(0).getId()).orElseThrow();
+		assertThat(ana.getEmail()).isEqualTo("ana@email.com");
+		assertThat(BCrypt.checkpw("senha,com,virgulas", ana.getSenha())).isTrue();
+		assertThat(usuarioRepository.count()).isEqualTo(4);
+	}
+
+	@Test
+	void importaNdjson() {
+		List<ResultadoItemLoteDTO> resultados = importar(UsuarioImportacaoService.Formato.NDJSON, """
+				{"nome": "Diego", "email": "diego@email.com", "senha": "senha"}
+				{"nome": "Elisa", "email": "elisa@email.com"
+				{"nome": "Fabio", "email": "fabio@email.com", "senha": "senha"}
+				""");
+
+		assertThat(resultados).extracting(ResultadoItemLoteDTO::getStatus)
+				.containsExactly(ResultadoItemLoteDTO.CRIADO, ResultadoItemLoteDTO.REJEITADO, ResultadoItemLoteDTO.CRIADO);
+		assertThat(resultados.get(0).getId()).isNotNull();
+		assertThat(usuarioRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void cadastroIndividualRejeitaEmailDuplicadoPelaRestricaoUnique() {
+		usuarioService.cadastrarUsuario(new Usuario(null, "Gabi", "gabi@email.com", "senha", null));
+
+		assertThatThrownBy(() ->
+						usuarioService.cadastrarUsuario(new Usuario(null, "Gabi 2", "gabi@email.com", "senha", null)))
+				.hasMessage(UsuarioService.MENSAGEM_EMAIL_DUPLICADO);
+	}
+
+	private List<ResultadoItemLoteDTO> importar(UsuarioImportacaoService.Formato formato, String corpo) {
+		List<ResultadoItemLoteDTO> resultados = new ArrayList<>();
+		importacaoService.importar(new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8)), formato,
+				resultados::add);
+		return resultados;
+	}
+}